@@ -7,13 +7,16 @@ import org.springframework.stereotype.Component;
 @ConfigurationProperties(prefix = "inventory.ml")
 public class MLConfig {
     
-    private double smoothingFactor = 0.3;
+    private double smoothingFactor = 0.3; // Holt-Winters level
+    private double trendSmoothingFactor = 0.1;
+    private double seasonalSmoothingFactor = 0.1;
     private int minHistoryDays = 7;
     private double serviceLevel = 0.95; // 95% service level
     private double leadTimeDays = 7.0;
     private double orderingCost = 100.0;
     private double holdingCostRate = 0.25;
     private int defaultPredictionDays = 30;
+    private double ridgeLambda = 1.0; // Penalty on the multiple regression's feature coefficients
     
     // Getters and setters
     public double getSmoothingFactor() {
@@ -24,6 +27,22 @@ public class MLConfig {
         this.smoothingFactor = smoothingFactor;
     }
     
+    public double getTrendSmoothingFactor() {
+        return trendSmoothingFactor;
+    }
+    
+    public void setTrendSmoothingFactor(double trendSmoothingFactor) {
+        this.trendSmoothingFactor = trendSmoothingFactor;
+    }
+    
+    public double getSeasonalSmoothingFactor() {
+        return seasonalSmoothingFactor;
+    }
+    
+    public void setSeasonalSmoothingFactor(double seasonalSmoothingFactor) {
+        this.seasonalSmoothingFactor = seasonalSmoothingFactor;
+    }
+    
     public int getMinHistoryDays() {
         return minHistoryDays;
     }
@@ -72,6 +91,14 @@ public class MLConfig {
         this.defaultPredictionDays = defaultPredictionDays;
     }
     
+    public double getRidgeLambda() {
+        return ridgeLambda;
+    }
+    
+    public void setRidgeLambda(double ridgeLambda) {
+        this.ridgeLambda = ridgeLambda;
+    }
+    
     public double getZScore() {
         // Convert service level to Z-score
         if (serviceLevel >= 0.99) return 2.33;
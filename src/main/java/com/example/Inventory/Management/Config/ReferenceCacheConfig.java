@@ -0,0 +1,64 @@
+package com.example.Inventory.Management.Config;
+
+import com.example.Inventory.Management.DTO.CategoryDto;
+import com.example.Inventory.Management.DTO.SupplierDto;
+import com.example.Inventory.Management.Util.ReferenceCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Caching of the category and supplier tables. {@code inventory.reference-cache.backend}
+ * selects where:
+ * <ul>
+ *   <li>{@code memory} (default): the services' read-through caches of
+ *   category and supplier rows, bounded by
+ *   {@code inventory.reference-cache.maximum-size} and {@code .ttl}.</li>
+ *   <li>{@code hibernate}: the Hibernate second-level cache (JCache on
+ *   Caffeine, bounds in {@code application.conf}) for the Category and
+ *   Supplier entities, which also serves the categories loaded with
+ *   products. The service caches are then pass-through.</li>
+ * </ul>
+ */
+@Configuration
+public class ReferenceCacheConfig {
+
+    public static final String MEMORY = "memory";
+    public static final String HIBERNATE = "hibernate";
+
+    @Value("${inventory.reference-cache.backend:memory}")
+    private String backend;
+
+    @Value("${inventory.reference-cache.maximum-size:1000}")
+    private long maximumSize;
+
+    @Value("${inventory.reference-cache.ttl:10m}")
+    private Duration ttl;
+
+    @Bean
+    public ReferenceCache<CategoryDto> categoryCache() {
+        return new ReferenceCache<>(MEMORY.equals(backend), maximumSize, ttl, CategoryDto::getId, CategoryDto::getName);
+    }
+
+    @Bean
+    public ReferenceCache<SupplierDto> supplierCache() {
+        return new ReferenceCache<>(MEMORY.equals(backend), maximumSize, ttl, SupplierDto::getId, SupplierDto::getName);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            boolean secondLevel = HIBERNATE.equals(backend);
+            properties.put("hibernate.cache.use_second_level_cache", secondLevel);
+            if (secondLevel) {
+                properties.put("hibernate.cache.region.factory_class", "jcache");
+                properties.put("hibernate.javax.cache.provider",
+                        "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+                properties.put("hibernate.javax.cache.missing_cache_strategy", "create");
+            }
+        };
+    }
+}
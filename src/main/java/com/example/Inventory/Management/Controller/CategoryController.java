@@ -1,6 +1,8 @@
 package com.example.Inventory.Management.Controller;
 
 
+import com.example.Inventory.Management.DTO.CategoryDto;
+import com.example.Inventory.Management.DTO.ReferenceCacheStats;
 import com.example.Inventory.Management.Entity.Category;
 import com.example.Inventory.Management.Service.CategoryService;
 import lombok.RequiredArgsConstructor;
@@ -17,23 +19,33 @@ public class CategoryController {
     private final CategoryService categoryService;
 
     @GetMapping
-    public List<Category> getAllCategories() {
-        return categoryService.getAllCategories();
+    public List<CategoryDto> getAllCategories() {
+        return categoryService.getAllCategoryDtos();
     }
 
     @GetMapping("/{id}")
-    public Category getCategoryById(@PathVariable Long id) {
-        return categoryService.getCategoryById(id);
+    public CategoryDto getCategoryById(@PathVariable Long id) {
+        return categoryService.getCategoryDtoById(id);
+    }
+
+    @GetMapping("/name/{name}")
+    public CategoryDto getCategoryByName(@PathVariable String name) {
+        return categoryService.getCategoryDtoByName(name);
+    }
+
+    @GetMapping("/cache-stats")
+    public ReferenceCacheStats getCacheStats() {
+        return categoryService.getCacheStats();
     }
 
     @PostMapping
-    public Category saveCategory(@Valid @RequestBody Category category) {
-        return categoryService.saveCategory(category);
+    public CategoryDto saveCategory(@Valid @RequestBody Category category) {
+        return CategoryDto.from(categoryService.saveCategory(category));
     }
 
     @PutMapping("/{id}")
-    public Category updateCategory(@PathVariable Long id, @Valid @RequestBody Category category) {
-        return categoryService.updateCategory(id, category);
+    public CategoryDto updateCategory(@PathVariable Long id, @Valid @RequestBody Category category) {
+        return CategoryDto.from(categoryService.updateCategory(id, category));
     }
 
     @DeleteMapping("/{id}")
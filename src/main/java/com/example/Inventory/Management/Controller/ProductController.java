@@ -1,18 +1,39 @@
 package com.example.Inventory.Management.Controller;
 
-import com.example.Inventory.Management.Service.ML.LinearRegressionPredictionService;
+import com.example.Inventory.Management.Service.ML.BacktestService;
+import com.example.Inventory.Management.Service.ML.ForecastService;
+import com.example.Inventory.Management.Service.ML.ForecastSnapshotService;
 import com.example.Inventory.Management.Service.ML.PredictionValidationService;
 import com.example.Inventory.Management.Service.ML.InventoryPrediction;
+import com.example.Inventory.Management.Service.ML.PredictionCache;
+import com.example.Inventory.Management.Service.ML.PredictionJobService;
+import com.example.Inventory.Management.Service.ML.RestockRecommendationService;
 import org.springframework.beans.factory.annotation.Autowired;
-import java.util.ArrayList;
 
+import com.example.Inventory.Management.DTO.BacktestResult;
+import com.example.Inventory.Management.DTO.BulkPredictionRequest;
+import com.example.Inventory.Management.DTO.KeysetPage;
+import com.example.Inventory.Management.DTO.NameIndexStats;
+import com.example.Inventory.Management.DTO.PredictionCacheStats;
+import com.example.Inventory.Management.DTO.PredictionJobRequest;
+import com.example.Inventory.Management.DTO.PredictionJobStatus;
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.Entity.ForecastSnapshotRun;
 import com.example.Inventory.Management.Entity.Product;
 import com.example.Inventory.Management.Service.ProductService;
+import com.example.Inventory.Management.Service.StockAlertService;
+import com.example.Inventory.Management.Util.ProductNameIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/products")
@@ -22,29 +43,65 @@ public class ProductController {
     private final ProductService productService;
 
     @Autowired
-    private LinearRegressionPredictionService linearRegressionService;
+    private ForecastService forecastService;
 
     @Autowired
     private PredictionValidationService validationService;
 
+    @Autowired
+    private BacktestService backtestService;
+
+    @Autowired
+    private RestockRecommendationService restockRecommendationService;
+
+    @Autowired
+    private PredictionCache predictionCache;
+
+    @Autowired
+    private ForecastSnapshotService forecastSnapshotService;
+
+    @Autowired
+    private PredictionJobService predictionJobService;
+
+    @Autowired
+    private StockAlertService stockAlertService;
+
+    @Autowired
+    private ProductNameIndex productNameIndex;
+
     @GetMapping
-    public List<Product> getAllProducts() {
-        return productService.getAllProducts();
+    public List<ProductDto> getAllProducts(@RequestParam(defaultValue = "false") boolean includeSuppliers) {
+        return productService.getAllProductDtos(includeSuppliers);
+    }
+
+    @GetMapping("/page")
+    public KeysetPage<ProductDto> getProductsPage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int size) {
+        return productService.getProductsPage(afterId, size);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(productService::exportProducts);
     }
 
     @GetMapping("/{id}")
-    public Product getProductById(@PathVariable Long id) {
-        return productService.getProductById(id);
+    public ProductDto getProductById(@PathVariable Long id,
+                                     @RequestParam(defaultValue = "false") boolean includeSuppliers) {
+        return productService.getProductDtoById(id, includeSuppliers);
     }
 
     @PostMapping
-    public Product createProduct(@Valid @RequestBody Product product) {
-        return productService.saveProduct(product);
+    public ProductDto createProduct(@Valid @RequestBody Product product) {
+        return ProductDto.from(productService.saveProduct(product));
     }
 
     @PutMapping("/{id}")
-    public Product updateProduct(@PathVariable Long id, @Valid @RequestBody Product product) {
-        return productService.updateProduct(id, product);
+    public ProductDto updateProduct(@PathVariable Long id, @Valid @RequestBody Product product) {
+        return ProductDto.from(productService.updateProduct(id, product));
     }
 
     @DeleteMapping("/{id}")
@@ -54,32 +111,111 @@ public class ProductController {
     }
 
     @GetMapping("/search")
-    public List<Product> searchProducts(@RequestParam String name) {
-        return productService.searchProductsByName(name);
+    public List<ProductDto> searchProducts(@RequestParam String name,
+                                           @RequestParam(defaultValue = "false") boolean prefix,
+                                           @RequestParam(defaultValue = "0") int offset,
+                                           @RequestParam(defaultValue = "0") int size,
+                                           @RequestParam(defaultValue = "false") boolean includeSuppliers) {
+        return productService.searchProductDtosByName(name, prefix, offset, size, includeSuppliers);
+    }
+
+    @GetMapping("/search/index-stats")
+    public NameIndexStats getSearchIndexStats() {
+        return productNameIndex.getStats();
     }
 
     @GetMapping("/category/{categoryName}")
-    public List<Product> getProductsByCategory(@PathVariable String categoryName) {
-        return productService.getProductsByCategory(categoryName);
+    public List<ProductDto> getProductsByCategory(@PathVariable String categoryName,
+                                                  @RequestParam(defaultValue = "false") boolean includeSuppliers) {
+        return productService.getProductDtosByCategory(categoryName, includeSuppliers);
     }
 
     @GetMapping("/low-stock")
-    public List<Product> getLowStockProducts(@RequestParam Integer threshold) {
-        return productService.getLowStockProducts(threshold);
+    public List<ProductDto> getLowStockProducts(@RequestParam Integer threshold,
+                                                @RequestParam(defaultValue = "false") boolean includeSuppliers) {
+        return productService.getLowStockProductDtos(threshold, includeSuppliers);
+    }
+
+    @GetMapping("/low-stock/lowest")
+    public List<ProductDto> getLowestStockProducts(@RequestParam(defaultValue = "20") int limit,
+                                                   @RequestParam(defaultValue = "false") boolean includeSuppliers) {
+        return productService.getLowestStockProductDtos(limit, includeSuppliers);
+    }
+
+    @GetMapping("/low-stock/count")
+    public long countLowStockProducts(@RequestParam Integer threshold) {
+        return productService.countLowStockProducts(threshold);
+    }
+
+    @GetMapping(value = "/low-stock/alerts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockAlerts(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return stockAlertService.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}/prediction")
     public InventoryPrediction getInventoryPrediction(
             @PathVariable Long id,
-            @RequestParam(defaultValue = "30") int days) {
-        return linearRegressionService.predictInventoryWithLinearRegression(id, days);
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = PredictionCache.LINEAR) String method,
+            @RequestParam(defaultValue = "false") boolean live) {
+        return forecastService.forecast(id, days, method, live);
     }
 
     @GetMapping("/{id}/prediction/multiple-regression")
     public InventoryPrediction getMultipleRegressionPrediction(
             @PathVariable Long id,
-            @RequestParam(defaultValue = "30") int days) {
-        return linearRegressionService.predictWithMultipleFeatures(id, days);
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "false") boolean live) {
+        return forecastService.forecast(id, days, PredictionCache.MULTIPLE_REGRESSION, live);
+    }
+
+    @PostMapping("/predictions")
+    public Map<Long, InventoryPrediction> getBulkPredictions(@Valid @RequestBody BulkPredictionRequest request) {
+        return forecastService.forecastAll(request.getProductIds(), request.getDays(), request.getMethod(),
+                request.isLive());
+    }
+
+    @PostMapping("/predictions/jobs")
+    public ResponseEntity<PredictionJobStatus> submitPredictionJob(@RequestBody PredictionJobRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(predictionJobService.submit(request));
+    }
+
+    @GetMapping("/predictions/jobs/{jobId}")
+    public PredictionJobStatus getPredictionJob(@PathVariable String jobId) {
+        return predictionJobService.getStatus(jobId);
+    }
+
+    @GetMapping("/predictions/jobs/{jobId}/results")
+    public KeysetPage<InventoryPrediction> getPredictionJobResults(
+            @PathVariable String jobId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int size) {
+        return predictionJobService.getResults(jobId, afterId, size);
+    }
+
+    @DeleteMapping("/predictions/jobs/{jobId}")
+    public PredictionJobStatus cancelPredictionJob(@PathVariable String jobId) {
+        return predictionJobService.cancel(jobId);
+    }
+
+    @GetMapping("/prediction-cache/stats")
+    public PredictionCacheStats getPredictionCacheStats() {
+        return predictionCache.getStats();
+    }
+
+    // Runs in the background; poll /forecast-snapshots/latest-run for the returned run id
+    @PostMapping("/forecast-snapshots/refresh")
+    public ResponseEntity<ForecastSnapshotRun> refreshForecastSnapshots(
+            @RequestParam(defaultValue = "false") boolean full) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(forecastSnapshotService.start(full));
+    }
+
+    @GetMapping("/forecast-snapshots/latest-run")
+    public ResponseEntity<ForecastSnapshotRun> getLatestForecastSnapshotRun() {
+        return forecastSnapshotService.getLatestRun()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}/validate-model")
@@ -89,19 +225,46 @@ public class ProductController {
         return validationService.validateModel(id, testDays);
     }
 
+    @GetMapping("/{id}/backtest")
+    public BacktestResult backtestModels(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "28") int origins,
+            @RequestParam(defaultValue = "1,7,30") List<Integer> horizons) {
+        return backtestService.backtest(id, origins, horizons);
+    }
+
+    @GetMapping("/backtest")
+    public List<BacktestResult> backtestProducts(
+            @RequestParam List<Long> ids,
+            @RequestParam(defaultValue = "28") int origins,
+            @RequestParam(defaultValue = "1,7,30") List<Integer> horizons) {
+        return backtestService.backtest(ids, origins, horizons);
+    }
+
     @GetMapping("/restock-recommendations")
-    public List<InventoryPrediction> getRestockRecommendations() {
-        List<Product> allProducts = productService.getAllProducts();
-        List<InventoryPrediction> recommendations = new ArrayList<>();
+    public List<InventoryPrediction> getRestockRecommendations(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String riskLevel,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "false") boolean live,
+            @RequestParam(defaultValue = "0") int limit) {
+        return restockRecommendationService.getRecommendations(category, riskLevel, days, live, limit);
+    }
 
-        for (Product product : allProducts) {
-            InventoryPrediction prediction = linearRegressionService
-                    .predictInventoryWithLinearRegression(product.getId(), 30);
-            if (prediction.isRestockNeeded()) {
-                recommendations.add(prediction);
-            }
-        }
+    @PostMapping("/restock-recommendations/rebuild")
+    public ResponseEntity<Void> rebuildRestockRecommendations() {
+        restockRecommendationService.rebuildMaterializedSet();
+        return ResponseEntity.noContent().build();
+    }
 
-        return recommendations;
+    @GetMapping(value = "/restock-recommendations/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRestockRecommendations(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String riskLevel,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "false") boolean live) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> restockRecommendationService.streamRecommendations(category, riskLevel, days, live, out));
     }
-}
\ No newline at end of file
+}
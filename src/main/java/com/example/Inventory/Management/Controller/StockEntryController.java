@@ -1,11 +1,23 @@
 package com.example.Inventory.Management.Controller;
 
+import com.example.Inventory.Management.DTO.BatchStockEntryResult;
+import com.example.Inventory.Management.DTO.KeysetPage;
+import com.example.Inventory.Management.DTO.StockEntryDto;
+import com.example.Inventory.Management.DTO.StockImportResult;
 import com.example.Inventory.Management.Entity.StockEntry;
 import com.example.Inventory.Management.Service.StockEntryService;
+import com.example.Inventory.Management.Service.StockImportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -14,30 +26,70 @@ import java.util.List;
 public class StockEntryController {
 
     private final StockEntryService stockEntryService;
+    private final StockImportService stockImportService;
 
     @GetMapping
-    public List<StockEntry> getAllStockEntries() {
-        return stockEntryService.getAllStockEntries();
+    public List<StockEntryDto> getAllStockEntries() {
+        return stockEntryService.getAllStockEntryDtos();
+    }
+
+    @GetMapping("/page")
+    public KeysetPage<StockEntryDto> getStockEntriesPage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int size) {
+        return stockEntryService.getStockEntriesPage(afterId, size);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportStockEntries() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(stockEntryService::exportStockEntries);
     }
 
     @GetMapping("/{id}")
-    public StockEntry getStockEntryById(@PathVariable Long id) {
-        return stockEntryService.getStockEntryById(id);
+    public StockEntryDto getStockEntryById(@PathVariable Long id) {
+        return stockEntryService.getStockEntryDtoById(id);
     }
 
     @GetMapping("/product/{productId}")
-    public List<StockEntry> getStockEntriesByProduct(@PathVariable Long productId) {
-        return stockEntryService.getStockEntriesByProduct(productId);
+    public List<StockEntryDto> getStockEntriesByProduct(@PathVariable Long productId) {
+        return stockEntryService.getStockEntryDtosByProduct(productId);
+    }
+
+    @GetMapping("/product/{productId}/page")
+    public KeysetPage<StockEntryDto> getStockEntriesPageByProduct(
+            @PathVariable Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int size) {
+        return stockEntryService.getStockEntriesPageByProduct(productId, afterDate, afterId, size);
     }
 
     @PostMapping
-    public StockEntry saveStockEntry(@Valid @RequestBody StockEntry stockEntry) {
-        return stockEntryService.addStockEntry(stockEntry);
+    public StockEntryDto saveStockEntry(@Valid @RequestBody StockEntry stockEntry) {
+        return StockEntryDto.from(stockEntryService.addStockEntry(stockEntry));
+    }
+
+    @PostMapping("/batch")
+    public BatchStockEntryResult saveStockEntries(@RequestBody List<StockEntry> stockEntries) {
+        return stockEntryService.addStockEntries(stockEntries);
+    }
+
+    // Streams a history file (one JSON object per line, or CSV with a header row).
+    // Resend with the same importId to resume after a failure.
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public StockImportResult importStockEntries(
+            @RequestParam(required = false) String importId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        String format = contentType.startsWith("text/csv") ? "csv" : "ndjson";
+        return stockImportService.importStockHistory(importId, format, body);
     }
 
     @PutMapping("/{id}")
-    public StockEntry updateStockEntry(@PathVariable Long id, @Valid @RequestBody StockEntry stockEntry) {
-        return stockEntryService.updateStockEntry(id, stockEntry);
+    public StockEntryDto updateStockEntry(@PathVariable Long id, @Valid @RequestBody StockEntry stockEntry) {
+        return StockEntryDto.from(stockEntryService.updateStockEntry(id, stockEntry));
     }
 
     @DeleteMapping("/{id}")
@@ -1,5 +1,7 @@
 package com.example.Inventory.Management.Controller;
 
+import com.example.Inventory.Management.DTO.ReferenceCacheStats;
+import com.example.Inventory.Management.DTO.SupplierDto;
 import com.example.Inventory.Management.Entity.Supplier;
 import com.example.Inventory.Management.Service.SupplierService;
 import lombok.RequiredArgsConstructor;
@@ -16,23 +18,33 @@ public class SupplierController {
     private final SupplierService supplierService;
 
     @GetMapping
-    public List<Supplier> getAllSuppliers() {
-        return supplierService.getAllSuppliers();
+    public List<SupplierDto> getAllSuppliers() {
+        return supplierService.getAllSupplierDtos();
     }
 
     @GetMapping("/{id}")
-    public Supplier getSupplierById(@PathVariable Long id) {
-        return supplierService.getSupplierById(id);
+    public SupplierDto getSupplierById(@PathVariable Long id) {
+        return supplierService.getSupplierDtoById(id);
+    }
+
+    @GetMapping("/name/{name}")
+    public SupplierDto getSupplierByName(@PathVariable String name) {
+        return supplierService.getSupplierDtoByName(name);
+    }
+
+    @GetMapping("/cache-stats")
+    public ReferenceCacheStats getCacheStats() {
+        return supplierService.getCacheStats();
     }
 
     @PostMapping
-    public Supplier saveSupplier(@Valid @RequestBody Supplier supplier) {
-        return supplierService.saveSupplier(supplier);
+    public SupplierDto saveSupplier(@Valid @RequestBody Supplier supplier) {
+        return SupplierDto.from(supplierService.saveSupplier(supplier));
     }
 
     @PutMapping("/{id}")
-    public Supplier updateSupplier(@PathVariable Long id, @Valid @RequestBody Supplier supplier) {
-        return supplierService.updateSupplier(id, supplier);
+    public SupplierDto updateSupplier(@PathVariable Long id, @Valid @RequestBody Supplier supplier) {
+        return SupplierDto.from(supplierService.updateSupplier(id, supplier));
     }
 
     @DeleteMapping("/{id}")
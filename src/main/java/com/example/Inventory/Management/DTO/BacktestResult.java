@@ -0,0 +1,19 @@
+package com.example.Inventory.Management.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestResult {
+    private Long productId;
+    // Forecast origins walked; longer horizons score fewer of them
+    private int origins;
+    private List<ModelAccuracy> models;
+}
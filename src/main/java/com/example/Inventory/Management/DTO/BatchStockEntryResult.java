@@ -0,0 +1,38 @@
+package com.example.Inventory.Management.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch stock-entry request, with one item per submitted entry
+ * in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStockEntryResult {
+
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String REJECTED = "REJECTED";
+
+    private int accepted;
+    private int rejected;
+    private List<ItemResult> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private Long productId;
+        private String status;
+        private Long stockEntryId;
+        private String message;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.Inventory.Management.DTO;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPredictionRequest {
+
+    @NotNull(message = "Product ids are required")
+    private List<Long> productIds;
+
+    @Builder.Default
+    private int days = 30;
+
+    @Builder.Default
+    private String method = "linear";
+
+    // Compute fresh forecasts instead of serving nightly snapshots
+    private boolean live;
+}
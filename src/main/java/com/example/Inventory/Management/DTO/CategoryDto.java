@@ -0,0 +1,26 @@
+package com.example.Inventory.Management.DTO;
+
+import com.example.Inventory.Management.Entity.Category;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryDto {
+    private Long id;
+    private String name;
+    private String description;
+
+    // Counted in the same query; not set on write responses
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long productCount;
+
+    public static CategoryDto from(Category category) {
+        return new CategoryDto(category.getId(), category.getName(), category.getDescription(), null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.Inventory.Management.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One day of a product's sales rollup.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySalesDto {
+    private long epochDay;
+    private long qtySold;
+    private long qtyPurchased;
+}
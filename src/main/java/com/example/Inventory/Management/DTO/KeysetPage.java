@@ -0,0 +1,52 @@
+package com.example.Inventory.Management.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) scan. Pass {@code nextAfterId} (and
+ * {@code nextAfterDate} for date-ordered scans) back to get the next page;
+ * both are null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KeysetPage<T> {
+
+    public static final int MAX_SIZE = 1000;
+
+    private List<T> items;
+    private boolean hasMore;
+    private Long nextAfterId;
+    private LocalDateTime nextAfterDate;
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Build a page from a query that fetched {@code size + 1} rows; the extra
+     * row only signals that another page exists.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, Long> idOf,
+                                       Function<T, LocalDateTime> dateOf) {
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? rows.subList(0, size) : rows;
+        T last = hasMore ? items.get(items.size() - 1) : null;
+        return KeysetPage.<T>builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextAfterId(last != null ? idOf.apply(last) : null)
+                .nextAfterDate(last != null && dateOf != null ? dateOf.apply(last) : null)
+                .build();
+    }
+}
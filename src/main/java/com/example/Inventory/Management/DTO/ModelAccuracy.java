@@ -0,0 +1,27 @@
+package com.example.Inventory.Management.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Backtest errors of one model at one horizon, over horizon demand totals.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelAccuracy {
+    private String model;
+    private int horizonDays;
+    private int points;
+    private double mae;
+    // Percent, over points with non-zero actual demand; null if there are none
+    private Double mape;
+    private double rmse;
+    // Mean of forecast minus actual; positive means over-forecasting
+    private double bias;
+    // Percent of points within 20% of actual
+    private double accuracy;
+}
@@ -0,0 +1,18 @@
+package com.example.Inventory.Management.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NameIndexStats {
+    private int products;
+    private int trigrams;
+    private long postings;
+    // Approximate heap held by the index, names included
+    private long estimatedBytes;
+}
@@ -0,0 +1,28 @@
+package com.example.Inventory.Management.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Products to forecast in a background job: the given ids, or every product
+ * in {@code category}, or the whole catalog when neither is set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PredictionJobRequest {
+
+    private List<Long> productIds;
+    private String category;
+
+    @Builder.Default
+    private int days = 30;
+
+    @Builder.Default
+    private String method = "linear";
+}
@@ -0,0 +1,45 @@
+package com.example.Inventory.Management.DTO;
+
+import com.example.Inventory.Management.Entity.Product;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Flat read model of a product with its category reference. Suppliers are
+ * only present when explicitly requested.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDto {
+    private Long id;
+    private String name;
+    private Double price;
+    private Integer quantity;
+    private Long categoryId;
+    private String categoryName;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<SupplierDto> suppliers;
+
+    // Used by JPQL constructor expressions
+    public ProductDto(Long id, String name, Double price, Integer quantity, Long categoryId, String categoryName) {
+        this(id, name, price, quantity, categoryId, categoryName, null);
+    }
+
+    public static ProductDto from(Product product) {
+        return new ProductDto(
+                product.getId(),
+                product.getName(),
+                product.getPrice(),
+                product.getQuantity(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getCategory() != null ? product.getCategory().getName() : null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.Inventory.Management.DTO;
+
+/**
+ * Id/name projection used to build lookup dictionaries without loading
+ * product entities.
+ */
+public interface ProductNameView {
+    Long getId();
+    String getName();
+}
@@ -0,0 +1,9 @@
+package com.example.Inventory.Management.DTO;
+
+/**
+ * Id/quantity projection used to build the in-memory stock level index.
+ */
+public interface ProductQuantityView {
+    Long getId();
+    Integer getQuantity();
+}
@@ -0,0 +1,13 @@
+package com.example.Inventory.Management.DTO;
+
+/**
+ * One product/supplier link, used to attach suppliers to a page of products
+ * with a single IN query.
+ */
+public interface ProductSupplierView {
+    Long getProductId();
+    Long getId();
+    String getName();
+    String getContactNumber();
+    String getEmail();
+}
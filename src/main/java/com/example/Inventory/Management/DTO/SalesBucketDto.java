@@ -0,0 +1,32 @@
+package com.example.Inventory.Management.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Sales of one product or category over one day, week or month. The id and
+ * name are the product's or the category's, per the requested grouping; a
+ * category row with no id totals the uncategorized products.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesBucketDto {
+    // First day of the bucket; weeks start on Monday
+    private LocalDate bucket;
+    private Long id;
+    private String name;
+    private long qtySold;
+    private long qtyPurchased;
+    private long entryCount;
+
+    // Used by the grouped rollup queries, which compute the bucket as an epoch day
+    public SalesBucketDto(Long bucketDay, Long id, String name, Long qtySold, Long qtyPurchased, Long entryCount) {
+        this(LocalDate.ofEpochDay(bucketDay), id, name, qtySold, qtyPurchased, entryCount);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.Inventory.Management.DTO;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * A validated sales analytics request: an inclusive date range, a bucket of
+ * day, week or month and a grouping by product or category. Also the result
+ * cache key.
+ */
+@Value
+public class SalesQuery {
+    LocalDate from;
+    LocalDate to;
+    String bucket;
+    String groupBy;
+}
@@ -0,0 +1,36 @@
+package com.example.Inventory.Management.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockAlert {
+
+    // Stock fell to zero
+    public static final String STOCKOUT = "STOCKOUT";
+    // Stock fell below the configured low-stock threshold
+    public static final String LOW_STOCK = "LOW_STOCK";
+    // Stock is at or below the forecast reorder point
+    public static final String REORDER_POINT = "REORDER_POINT";
+    // Stock rose back to the low-stock threshold or above
+    public static final String RESTOCKED = "RESTOCKED";
+
+    private long id;
+    private String type;
+    private Long productId;
+    private String productName;
+    private Integer previousQuantity;
+    private Integer quantity;
+    private Integer threshold;
+    private Double reorderPoint;
+    private LocalDateTime occurredAt;
+}
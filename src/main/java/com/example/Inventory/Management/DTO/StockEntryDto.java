@@ -0,0 +1,36 @@
+package com.example.Inventory.Management.DTO;
+
+import com.example.Inventory.Management.Entity.StockEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a ledger row; built directly by JPQL constructor
+ * expressions so no entity graph is loaded or serialized.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockEntryDto {
+    private Long id;
+    private Long productId;
+    private String productName;
+    private Integer quantity;
+    private String type;
+    private LocalDateTime date;
+
+    public static StockEntryDto from(StockEntry entry) {
+        return new StockEntryDto(
+                entry.getId(),
+                entry.getProduct().getId(),
+                entry.getProduct().getName(),
+                entry.getQuantity(),
+                entry.getType(),
+                entry.getDate());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.Inventory.Management.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockImportResult {
+    private String importId;
+    private String status;
+    private long resumedFromLine;
+    private long linesProcessed;
+    private long imported;
+    private long rejected;
+    // Only the first rejections are kept so the result stays small for huge files
+    private List<String> errors;
+}
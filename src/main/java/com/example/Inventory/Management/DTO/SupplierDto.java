@@ -0,0 +1,22 @@
+package com.example.Inventory.Management.DTO;
+
+import com.example.Inventory.Management.Entity.Supplier;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplierDto {
+    private Long id;
+    private String name;
+    private String contactNumber;
+    private String email;
+
+    public static SupplierDto from(Supplier supplier) {
+        return new SupplierDto(supplier.getId(), supplier.getName(), supplier.getContactNumber(), supplier.getEmail());
+    }
+}
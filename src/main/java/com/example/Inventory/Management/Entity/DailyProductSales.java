@@ -0,0 +1,53 @@
+package com.example.Inventory.Management.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Per-product, per-day totals of the stock ledger. Kept current by every
+ * ledger write and used as the forecasting input, so reading a product's
+ * history costs one row per day instead of one per transaction.
+ */
+@Entity
+@Table(name = "daily_product_sales")
+@IdClass(DailyProductSales.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyProductSales {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Id
+    @Column(name = "epoch_day")
+    private Long epochDay;
+
+    @Column(name = "qty_sold")
+    private long qtySold;
+
+    @Column(name = "qty_purchased")
+    private long qtyPurchased;
+
+    // Ledger rows folded into this day, sales and purchases
+    @Column(name = "entry_count")
+    private long entryCount;
+
+    // Used by the grouped ledger query that rebuilds a product's rollup
+    public DailyProductSales(Long productId, LocalDate day, Long qtySold, Long qtyPurchased, Long entryCount) {
+        this(productId, day.toEpochDay(), qtySold, qtyPurchased, entryCount);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long productId;
+        private Long epochDay;
+    }
+}
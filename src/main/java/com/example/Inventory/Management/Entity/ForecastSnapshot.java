@@ -0,0 +1,83 @@
+package com.example.Inventory.Management.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A precomputed forecast for one product and method, written by the
+ * scheduled snapshot refresh and served by the prediction and restock
+ * endpoints. The unit price and quantity it was computed from are kept, so
+ * the next refresh can tell whether its inputs changed.
+ */
+@Entity
+@Table(name = "forecast_snapshot")
+@IdClass(ForecastSnapshot.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ForecastSnapshot implements Persistable<ForecastSnapshot.Key> {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Id
+    @Column(name = "method", length = 32)
+    private String method;
+
+    private int daysAhead;
+
+    // The model that produced the numbers; a fallback may differ from the requested method
+    private String predictionMethod;
+
+    private double predictedDemand;
+
+    private double safetyStock;
+
+    private double reorderPoint;
+
+    private double optimalOrderQuantity;
+
+    private double confidence;
+
+    private Double unitPrice;
+
+    private Integer productQuantity;
+
+    // Taken before the inputs were read, so writes during the refit count as newer
+    private LocalDateTime computedAt;
+
+    // Lets saves of new snapshots insert without a lookup by the assigned key
+    @Transient
+    @Builder.Default
+    private boolean newSnapshot = true;
+
+    @Override
+    public Key getId() {
+        return new Key(productId, method);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newSnapshot;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        newSnapshot = false;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long productId;
+        private String method;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.Inventory.Management.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a forecast snapshot refresh, checkpointed after each wave of
+ * partitions so an interrupted run resumes after the last product it
+ * finished.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ForecastSnapshotRun {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String status;
+
+    // Refit every product rather than only those whose inputs changed
+    @Column(name = "full_refit")
+    private boolean full;
+
+    // Method being refreshed and the last product id finished for it
+    private String method;
+
+    @Builder.Default
+    private long lastProductId = 0;
+
+    @Builder.Default
+    private long refitted = 0;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,40 @@
+package com.example.Inventory.Management.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk stock-history import, committed together with each chunk
+ * so an interrupted import can resume after the last committed line.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ImportCheckpoint {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    private String importId;
+
+    private String format;
+
+    private String status;
+
+    @Builder.Default
+    private long linesProcessed = 0;
+
+    @Builder.Default
+    private long imported = 0;
+
+    @Builder.Default
+    private long rejected = 0;
+
+    private LocalDateTime updatedAt;
+}
@@ -5,12 +5,18 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.Hibernate;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Entity
-@Data
+@Table(indexes = @Index(name = "idx_product_name", columnList = "name"))
+@Getter
+@Setter
+@ToString(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -18,18 +24,22 @@ public class Product {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ToString.Include
     private Long id;
 
     @NotBlank(message = "Product name cannot be blank")
+    @ToString.Include
     private String name;
 
     @NotNull(message = "Price is required")
     @Min(value = 0, message = "Price cannot be negative")
+    @ToString.Include
     private Double price;
 
     @NotNull(message = "Quantity is required")
     @Min(value = 0, message = "Quantity cannot be negative")
     @Builder.Default
+    @ToString.Include
     private Integer quantity = 0;
 
     @ManyToOne
@@ -45,7 +55,26 @@ public class Product {
     @Builder.Default
     private Set<Supplier> suppliers = new HashSet<>();
 
+    // The ledger grows without bound, so it is a bag: appending an entry does not
+    // initialize or hash the existing history.
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
-    private Set<StockEntry> stockEntries = new HashSet<>();
+    private List<StockEntry> stockEntries = new ArrayList<>();
+
+    /**
+     * Entities are equal when they have the same database id. The hash code is
+     * per class so it stays stable when a new entity gets its id on persist;
+     * neither method touches associations, so hashing never loads the graph.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        return id != null && id.equals(((Product) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
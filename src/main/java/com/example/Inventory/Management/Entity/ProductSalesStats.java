@@ -0,0 +1,104 @@
+package com.example.Inventory.Management.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sufficient statistics for the per-product sales regression, kept up to date
+ * as ledger entries are written so a forecast never rescans the history.
+ *
+ * Days with sales are indexed x = 1..n in date order and y is the units sold
+ * that day, so sum(x) and sum(x^2) follow from n; only the y sums are stored.
+ * Sums are exact integers, so incremental updates never drift from a rebuild.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSalesStats {
+
+    @Id
+    private Long productId;
+
+    // All ledger entries, sales and purchases
+    @Builder.Default
+    private long entryCount = 0;
+
+    // Distinct days with at least one sale (n)
+    @Builder.Default
+    private int dayCount = 0;
+
+    private Long lastEpochDay;
+
+    @Builder.Default
+    private long lastDayQuantity = 0;
+
+    @Builder.Default
+    private long sumY = 0;
+
+    @Builder.Default
+    private long sumXY = 0;
+
+    @Builder.Default
+    private long sumY2 = 0;
+
+    private LocalDateTime updatedAt;
+
+    public double sumX() {
+        return dayCount * (dayCount + 1.0) / 2.0;
+    }
+
+    public double sumX2() {
+        return dayCount * (dayCount + 1.0) * (2.0 * dayCount + 1.0) / 6.0;
+    }
+
+    /**
+     * Fold one sale in. Returns false when the sale is dated before the last
+     * sale day, which shifts the day index of later days and needs a rebuild.
+     */
+    public boolean addSale(long epochDay, long quantity) {
+        if (lastEpochDay != null && epochDay < lastEpochDay) {
+            return false;
+        }
+        if (lastEpochDay == null || epochDay > lastEpochDay) {
+            dayCount++;
+            lastEpochDay = epochDay;
+            lastDayQuantity = 0;
+        }
+        long before = lastDayQuantity;
+        lastDayQuantity += quantity;
+        sumY += quantity;
+        sumXY += (long) dayCount * quantity;
+        sumY2 += lastDayQuantity * lastDayQuantity - before * before;
+        return true;
+    }
+
+    /**
+     * Take one sale out. Only a sale on the last day that leaves that day
+     * non-empty (or empties the only day) can be reversed in place.
+     */
+    public boolean removeSale(long epochDay, long quantity) {
+        if (lastEpochDay == null || epochDay != lastEpochDay || quantity > lastDayQuantity) {
+            return false;
+        }
+        if (quantity == lastDayQuantity) {
+            if (dayCount != 1) {
+                return false;
+            }
+            dayCount = 0;
+            lastEpochDay = null;
+            lastDayQuantity = 0;
+            sumY = sumXY = sumY2 = 0;
+            return true;
+        }
+        long before = lastDayQuantity;
+        lastDayQuantity -= quantity;
+        sumY -= quantity;
+        sumXY -= (long) dayCount * quantity;
+        sumY2 -= before * before - lastDayQuantity * lastDayQuantity;
+        return true;
+    }
+}
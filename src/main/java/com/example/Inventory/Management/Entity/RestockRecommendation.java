@@ -0,0 +1,75 @@
+package com.example.Inventory.Management.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A product that needs restocking at the default horizon, kept in step with
+ * stock writes and forecast refreshes so the restock endpoint reads only the
+ * rows it returns. Ordered by days to stockout for top-N reads.
+ */
+@Entity
+@Table(name = "restock_recommendation", indexes = {
+        @Index(name = "idx_restock_urgency", columnList = "stockout_days, product_id"),
+        @Index(name = "idx_restock_risk_urgency", columnList = "risk_level, stockout_days, product_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestockRecommendation implements Persistable<Long> {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "risk_level", length = 8)
+    private String riskLevel;
+
+    @Column(name = "stockout_days")
+    private Integer stockoutDays;
+
+    private Double recommendedQuantity;
+
+    private Double predictedDemand;
+
+    private Double safetyStock;
+
+    private Double reorderPoint;
+
+    private Double optimalOrderQuantity;
+
+    private Integer daysAhead;
+
+    private String predictionMethod;
+
+    private Double confidence;
+
+    private LocalDateTime predictionDate;
+
+    // Set when the forecast came from a nightly snapshot
+    private LocalDateTime snapshotAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newRecommendation = true;
+
+    @Override
+    public Long getId() {
+        return productId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecommendation;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        newRecommendation = false;
+    }
+}
@@ -5,18 +5,30 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.Hibernate;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Data
+@Table(name = "stock_entry", indexes = {
+        // Ledger reads are ordered by (date, id); the id makes the index order match
+        @Index(name = "idx_stock_entry_product_date", columnList = "product_id, date, id"),
+        @Index(name = "idx_stock_entry_date", columnList = "date, id")
+})
+@Getter
+@Setter
+@ToString(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class StockEntry {
 
+    // Pooled sequence ids let Hibernate batch ledger inserts; IDENTITY forces one
+    // round trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_entry_seq")
+    @SequenceGenerator(name = "stock_entry_seq", sequenceName = "stock_entry_seq", allocationSize = 50)
+    @ToString.Include
     private Long id;
 
     @ManyToOne
@@ -25,13 +37,29 @@ public class StockEntry {
 
     @NotNull(message = "Quantity is required")
     @Min(value = 1, message = "Quantity must be at least 1")
+    @ToString.Include
     private Integer quantity;
 
-    
-
     @NotBlank(message = "Type is required")
+    @Convert(converter = StockEntryTypeConverter.class)
+    @Column(nullable = false)
+    @ToString.Include
     private String type;
 
     @Builder.Default
+    @ToString.Include
     private LocalDateTime date = LocalDateTime.now();
+
+    // Identity is the database id; see Product#equals
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        return id != null && id.equals(((StockEntry) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
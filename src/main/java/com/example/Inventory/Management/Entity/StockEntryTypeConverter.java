@@ -0,0 +1,45 @@
+package com.example.Inventory.Management.Entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Locale;
+
+/**
+ * Stores the ledger's movement type as a TINYINT code instead of a string:
+ * PURCHASE is 0 and SALE is 1. The codes are part of the schema; append new
+ * types, never renumber.
+ */
+@Converter
+public class StockEntryTypeConverter implements AttributeConverter<String, Byte> {
+
+    public static final String PURCHASE = "PURCHASE";
+    public static final String SALE = "SALE";
+
+    private static final byte PURCHASE_CODE = 0;
+    private static final byte SALE_CODE = 1;
+
+    @Override
+    public Byte convertToDatabaseColumn(String type) {
+        if (type == null) {
+            return null;
+        }
+        return switch (type.toUpperCase(Locale.ROOT)) {
+            case PURCHASE -> PURCHASE_CODE;
+            case SALE -> SALE_CODE;
+            default -> throw new IllegalArgumentException("Invalid stock entry type: " + type);
+        };
+    }
+
+    @Override
+    public String convertToEntityAttribute(Byte code) {
+        if (code == null) {
+            return null;
+        }
+        return switch (code) {
+            case PURCHASE_CODE -> PURCHASE;
+            case SALE_CODE -> SALE;
+            default -> throw new IllegalArgumentException("Unknown stock entry type code: " + code);
+        };
+    }
+}
@@ -4,22 +4,32 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Data
+@Table(indexes = @Index(name = "idx_supplier_name", columnList = "name"))
+@Getter
+@Setter
+@ToString(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// Cached only when the second-level cache is enabled; see ReferenceCacheConfig
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Supplier {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ToString.Include
     private Long id;
 
     @NotBlank(message = "Supplier name cannot be blank")
+    @ToString.Include
     private String name;
 
     @NotBlank(message = "Contact number is required")
@@ -30,5 +40,18 @@ public class Supplier {
 
     @ManyToMany(mappedBy = "suppliers")
     @Builder.Default
-    private Set<Product> products = new HashSet<>();
+    private List<Product> products = new ArrayList<>();
+
+    // Identity is the database id; see Product#equals
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        return id != null && id.equals(((Supplier) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
@@ -5,4 +5,8 @@ public class CategoryNotFoundException extends RuntimeException {
     public CategoryNotFoundException(Long id) {
         super("Category not found with id: " + id);
     }
+
+    public CategoryNotFoundException(String name) {
+        super("Category not found with name: " + name);
+    }
 }
\ No newline at end of file
@@ -4,4 +4,8 @@ public class SupplierNotFoundException extends RuntimeException {
     public SupplierNotFoundException(Long id) {
         super("Supplier not found with id: " + id);
     }
+
+    public SupplierNotFoundException(String name) {
+        super("Supplier not found with name: " + name);
+    }
 }
@@ -1,11 +1,29 @@
 package com.example.Inventory.Management.Repository;
 
+import com.example.Inventory.Management.DTO.CategoryDto;
 import com.example.Inventory.Management.Entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    String DTO_SELECT = "SELECT new com.example.Inventory.Management.DTO.CategoryDto("
+            + "c.id, c.name, c.description, (SELECT COUNT(p) FROM Product p WHERE p.category = c)) FROM Category c ";
+
     Category findByName(String name);
+
+    @Query(DTO_SELECT + "ORDER BY c.id")
+    List<CategoryDto> findAllDtos();
+
+    @Query(DTO_SELECT + "WHERE c.id = :id")
+    Optional<CategoryDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "WHERE c.name = :name")
+    Optional<CategoryDto> findDtoByName(@Param("name") String name);
 }
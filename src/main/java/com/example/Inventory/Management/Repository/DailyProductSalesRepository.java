@@ -0,0 +1,90 @@
+package com.example.Inventory.Management.Repository;
+
+import com.example.Inventory.Management.DTO.DailySalesDto;
+import com.example.Inventory.Management.DTO.SalesBucketDto;
+import com.example.Inventory.Management.Entity.DailyProductSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, DailyProductSales.Key> {
+
+    // Bucket keys as the epoch day of the bucket's first day; 1970-01-01 was a Thursday
+    String BUCKET_DAY = "d.epochDay";
+    String BUCKET_WEEK = "(d.epochDay - MOD(d.epochDay + 3, 7))";
+    String BUCKET_MONTH = "(d.epochDay + 1 - EXTRACT(DAY FROM ({d '1970-01-01'} + d.epochDay day)))";
+
+    String BY_PRODUCT_SELECT = ", p.id, p.name, SUM(d.qtySold), SUM(d.qtyPurchased), SUM(d.entryCount)) "
+            + "FROM DailyProductSales d JOIN Product p ON p.id = d.productId "
+            + "WHERE d.epochDay BETWEEN :fromDay AND :toDay GROUP BY ";
+    String BY_CATEGORY_SELECT = ", c.id, c.name, SUM(d.qtySold), SUM(d.qtyPurchased), SUM(d.entryCount)) "
+            + "FROM DailyProductSales d JOIN Product p ON p.id = d.productId LEFT JOIN p.category c "
+            + "WHERE d.epochDay BETWEEN :fromDay AND :toDay GROUP BY ";
+    String SALES_BUCKET = "SELECT new com.example.Inventory.Management.DTO.SalesBucketDto(";
+
+    // One round trip per touched day; negative deltas take entries back out
+    @Modifying
+    @Query(value = "INSERT INTO daily_product_sales (product_id, epoch_day, qty_sold, qty_purchased, entry_count) "
+            + "VALUES (:productId, :epochDay, :sold, :purchased, :entries) "
+            + "ON DUPLICATE KEY UPDATE qty_sold = qty_sold + VALUES(qty_sold), "
+            + "qty_purchased = qty_purchased + VALUES(qty_purchased), "
+            + "entry_count = entry_count + VALUES(entry_count)", nativeQuery = true)
+    int upsert(@Param("productId") Long productId, @Param("epochDay") long epochDay,
+               @Param("sold") long sold, @Param("purchased") long purchased, @Param("entries") long entries);
+
+    @Modifying
+    @Query("DELETE FROM DailyProductSales d WHERE d.productId = :productId AND d.epochDay = :epochDay "
+            + "AND d.entryCount <= 0")
+    int deleteIfEmpty(@Param("productId") Long productId, @Param("epochDay") long epochDay);
+
+    @Modifying
+    @Query("DELETE FROM DailyProductSales d WHERE d.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+
+    @Query("SELECT new com.example.Inventory.Management.DTO.DailySalesDto(d.epochDay, d.qtySold, d.qtyPurchased) "
+            + "FROM DailyProductSales d WHERE d.productId = :productId AND d.qtySold > 0 ORDER BY d.epochDay")
+    List<DailySalesDto> findSaleDays(@Param("productId") Long productId);
+
+    @Query("SELECT new com.example.Inventory.Management.DTO.DailySalesDto(d.epochDay, d.qtySold, d.qtyPurchased) "
+            + "FROM DailyProductSales d WHERE d.productId = :productId AND d.qtySold > 0 "
+            + "AND d.epochDay BETWEEN :fromDay AND :toDay ORDER BY d.epochDay")
+    List<DailySalesDto> findSaleDaysBetween(@Param("productId") Long productId,
+                                            @Param("fromDay") long fromDay, @Param("toDay") long toDay);
+
+    @Query("SELECT d FROM DailyProductSales d WHERE d.productId IN :productIds AND d.qtySold > 0 "
+            + "ORDER BY d.productId, d.epochDay")
+    List<DailyProductSales> findSaleDaysForProducts(@Param("productIds") Collection<Long> productIds);
+
+    Optional<DailyProductSales> findFirstByOrderByProductIdAscEpochDayAsc();
+
+    @Query("SELECT COALESCE(SUM(d.entryCount), 0) FROM DailyProductSales d WHERE d.productId = :productId")
+    long sumEntryCount(@Param("productId") Long productId);
+
+    // Sales per bucket and product or category, grouped in the database from the daily rollups.
+    // Must be consumed inside a transaction and closed.
+    @Query(SALES_BUCKET + BUCKET_DAY + BY_PRODUCT_SELECT + BUCKET_DAY + ", p.id, p.name ORDER BY " + BUCKET_DAY + ", p.id")
+    Stream<SalesBucketDto> streamDailySalesByProduct(@Param("fromDay") long fromDay, @Param("toDay") long toDay);
+
+    @Query(SALES_BUCKET + BUCKET_WEEK + BY_PRODUCT_SELECT + BUCKET_WEEK + ", p.id, p.name ORDER BY " + BUCKET_WEEK + ", p.id")
+    Stream<SalesBucketDto> streamWeeklySalesByProduct(@Param("fromDay") long fromDay, @Param("toDay") long toDay);
+
+    @Query(SALES_BUCKET + BUCKET_MONTH + BY_PRODUCT_SELECT + BUCKET_MONTH + ", p.id, p.name ORDER BY " + BUCKET_MONTH + ", p.id")
+    Stream<SalesBucketDto> streamMonthlySalesByProduct(@Param("fromDay") long fromDay, @Param("toDay") long toDay);
+
+    @Query(SALES_BUCKET + BUCKET_DAY + BY_CATEGORY_SELECT + BUCKET_DAY + ", c.id, c.name ORDER BY " + BUCKET_DAY + ", c.id")
+    Stream<SalesBucketDto> streamDailySalesByCategory(@Param("fromDay") long fromDay, @Param("toDay") long toDay);
+
+    @Query(SALES_BUCKET + BUCKET_WEEK + BY_CATEGORY_SELECT + BUCKET_WEEK + ", c.id, c.name ORDER BY " + BUCKET_WEEK + ", c.id")
+    Stream<SalesBucketDto> streamWeeklySalesByCategory(@Param("fromDay") long fromDay, @Param("toDay") long toDay);
+
+    @Query(SALES_BUCKET + BUCKET_MONTH + BY_CATEGORY_SELECT + BUCKET_MONTH + ", c.id, c.name ORDER BY " + BUCKET_MONTH + ", c.id")
+    Stream<SalesBucketDto> streamMonthlySalesByCategory(@Param("fromDay") long fromDay, @Param("toDay") long toDay);
+}
@@ -0,0 +1,34 @@
+package com.example.Inventory.Management.Repository;
+
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.Entity.ForecastSnapshot;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ForecastSnapshotRepository extends JpaRepository<ForecastSnapshot, ForecastSnapshot.Key> {
+
+    List<ForecastSnapshot> findByProductIdInAndMethod(Collection<Long> productIds, String method);
+
+    /**
+     * The next keyset page of products whose snapshot for the method is missing
+     * or older than their inputs: a sale or purchase since it was computed, a
+     * price or quantity change, or another horizon. With {@code full}, every
+     * product.
+     */
+    @Query(ProductRepository.DTO_SELECT
+            + "LEFT JOIN ForecastSnapshot s ON s.productId = p.id AND s.method = :method "
+            + "LEFT JOIN ProductSalesStats st ON st.productId = p.id "
+            + "WHERE p.id > :afterId AND (:full = true OR s.productId IS NULL OR s.daysAhead <> :days "
+            + "OR s.unitPrice <> p.price OR s.productQuantity <> p.quantity OR st.updatedAt >= s.computedAt) "
+            + "ORDER BY p.id")
+    List<ProductDto> findPageNeedingRefit(@Param("method") String method, @Param("days") int days,
+                                          @Param("full") boolean full, @Param("afterId") long afterId,
+                                          Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.example.Inventory.Management.Repository;
+
+import com.example.Inventory.Management.Entity.ForecastSnapshotRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ForecastSnapshotRunRepository extends JpaRepository<ForecastSnapshotRun, Long> {
+
+    Optional<ForecastSnapshotRun> findFirstByOrderByIdDesc();
+}
@@ -0,0 +1,9 @@
+package com.example.Inventory.Management.Repository;
+
+import com.example.Inventory.Management.Entity.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
@@ -1,16 +1,33 @@
 package com.example.Inventory.Management.Repository;
 
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.DTO.ProductNameView;
+import com.example.Inventory.Management.DTO.ProductQuantityView;
+import com.example.Inventory.Management.DTO.ProductSupplierView;
 import com.example.Inventory.Management.Entity.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 // In ProductRepository
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    String DTO_SELECT = "SELECT new com.example.Inventory.Management.DTO.ProductDto("
+            + "p.id, p.name, p.price, p.quantity, c.id, c.name) FROM Product p LEFT JOIN p.category c ";
     
     List<Product> findByNameContainingIgnoreCase(String name);
     
@@ -22,6 +39,63 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findByCategory_Name(String categoryName);
 
-    @Query("SELECT p FROM Product p WHERE p.quantity < :threshold")
-    List<Product> findByQuantityLessThan(@Param("threshold") Integer threshold);
+    @Query("SELECT p.id AS id, p.name AS name FROM Product p")
+    List<ProductNameView> findAllNames();
+
+    @Query("SELECT p.id AS id, p.quantity AS quantity FROM Product p")
+    List<ProductQuantityView> findAllQuantities();
+
+    @Query("SELECT p.id FROM Product p ORDER BY p.id")
+    List<Long> findAllIds();
+
+    @Query(DTO_SELECT + "ORDER BY p.id")
+    List<ProductDto> findAllDtos();
+
+    @Query(DTO_SELECT + "WHERE p.id = :id")
+    Optional<ProductDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "WHERE p.id IN :ids ORDER BY p.id")
+    List<ProductDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(DTO_SELECT + "WHERE c.name = :categoryName ORDER BY p.id")
+    List<ProductDto> findDtosByCategoryName(@Param("categoryName") String categoryName);
+
+    @Query("SELECT p.id AS productId, s.id AS id, s.name AS name, s.contactNumber AS contactNumber, "
+            + "s.email AS email FROM Product p JOIN p.suppliers s WHERE p.id IN :productIds")
+    List<ProductSupplierView> findSuppliersByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query(DTO_SELECT + "WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductDto> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE p.id > :afterId AND c.name = :categoryName ORDER BY p.id")
+    List<ProductDto> findPageAfterInCategory(@Param("categoryName") String categoryName,
+                                             @Param("afterId") long afterId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE p.id > :afterId AND p.id IN :ids ORDER BY p.id")
+    List<ProductDto> findPageAfterInIds(@Param("ids") Collection<Long> ids, @Param("afterId") long afterId,
+                                        Pageable pageable);
+
+    long countByIdIn(Collection<Long> ids);
+
+    // Must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(DTO_SELECT + "ORDER BY p.id")
+    Stream<ProductDto> streamAll();
+
+    // Atomic stock adjustments: the WHERE clause is the stock check, so concurrent
+    // writers never read-modify-write the quantity. Returns 0 when the product is
+    // missing or (for decrements) the stock is insufficient.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :quantity WHERE p.id = :id")
+    int incrementQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity - :quantity WHERE p.id = :id AND p.quantity >= :quantity")
+    int decrementQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Locks rows in id order so concurrent batches touching the same products
+    // cannot deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,19 @@
+package com.example.Inventory.Management.Repository;
+
+import com.example.Inventory.Management.Entity.ProductSalesStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ProductSalesStatsRepository extends JpaRepository<ProductSalesStats, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProductSalesStats s WHERE s.productId = :productId")
+    Optional<ProductSalesStats> findByIdForUpdate(@Param("productId") Long productId);
+}
@@ -0,0 +1,34 @@
+package com.example.Inventory.Management.Repository;
+
+import com.example.Inventory.Management.Entity.RestockRecommendation;
+import com.example.Inventory.Management.Service.ML.InventoryPrediction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RestockRecommendationRepository extends JpaRepository<RestockRecommendation, Long> {
+
+    // Stock and name are read from the product, so they are current even between refreshes
+    String PREDICTION_SELECT = "SELECT new com.example.Inventory.Management.Service.ML.InventoryPrediction("
+            + "r.productId, p.name, p.quantity, r.predictedDemand, r.safetyStock, r.reorderPoint, "
+            + "r.optimalOrderQuantity, r.predictionDate, r.daysAhead, r.predictionMethod, r.confidence, "
+            + "r.snapshotAt) FROM RestockRecommendation r JOIN Product p ON p.id = r.productId "
+            + "LEFT JOIN p.category c ";
+
+    @Query(PREDICTION_SELECT
+            + "WHERE (:categoryName IS NULL OR c.name = :categoryName) "
+            + "AND (:riskLevel IS NULL OR r.riskLevel = :riskLevel) "
+            + "ORDER BY r.stockoutDays, r.productId")
+    List<InventoryPrediction> findByUrgency(@Param("categoryName") String categoryName,
+                                            @Param("riskLevel") String riskLevel, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RestockRecommendation r WHERE r.productId NOT IN (SELECT p.id FROM Product p)")
+    int deleteOrphans();
+}
@@ -1,16 +1,75 @@
 package com.example.Inventory.Management.Repository;
 
+import com.example.Inventory.Management.DTO.StockEntryDto;
+import com.example.Inventory.Management.Entity.DailyProductSales;
 import com.example.Inventory.Management.Entity.StockEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StockEntryRepository extends JpaRepository<StockEntry, Long> {
 
-    List<StockEntry> findByProduct_Id(Long productId);
+    // An entity join rather than JOIN e.product, so e.product.id stays the ledger's own
+    // product_id column and per-product reads filter and order on the ledger index
+    String DTO_SELECT = "SELECT new com.example.Inventory.Management.DTO.StockEntryDto("
+            + "e.id, p.id, p.name, e.quantity, e.type, e.date) FROM StockEntry e JOIN Product p ON p.id = e.product.id ";
 
-    List<StockEntry> findByDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    // Per-product reads order by the full (product_id, date, id) index key, range reads
+    // by (date, id), so the index order is the result order and no sort is needed
+    @Query("SELECT e FROM StockEntry e WHERE e.product.id = :productId ORDER BY e.product.id, e.date, e.id")
+    List<StockEntry> findByProduct_Id(@Param("productId") Long productId);
+
+    @Query("SELECT e FROM StockEntry e WHERE e.date BETWEEN :startDate AND :endDate ORDER BY e.date, e.id")
+    List<StockEntry> findByDateBetween(@Param("startDate") LocalDateTime startDate,
+                                       @Param("endDate") LocalDateTime endDate);
+
+    // Rollup rows for one product, rebuilt from the ledger
+    @Query("SELECT new com.example.Inventory.Management.Entity.DailyProductSales(e.product.id, CAST(e.date AS LocalDate), "
+            + "SUM(CASE WHEN e.type = 'SALE' THEN e.quantity ELSE 0 END), "
+            + "SUM(CASE WHEN e.type = 'SALE' THEN 0 ELSE e.quantity END), COUNT(e)) "
+            + "FROM StockEntry e WHERE e.product.id = :productId "
+            + "GROUP BY e.product.id, CAST(e.date AS LocalDate)")
+    List<DailyProductSales> aggregateDailyTotals(@Param("productId") Long productId);
+
+    Optional<StockEntry> findFirstByOrderByIdAsc();
+
+    @Query(DTO_SELECT + "ORDER BY e.id")
+    List<StockEntryDto> findAllDtos();
+
+    @Query(DTO_SELECT + "WHERE e.id = :id")
+    Optional<StockEntryDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "WHERE e.product.id = :productId ORDER BY e.product.id, e.date, e.id")
+    List<StockEntryDto> findDtosByProductId(@Param("productId") Long productId);
+
+    // Keyset pages: the cursor is the last key seen, so deep pages cost the same as the first
+    @Query(DTO_SELECT + "WHERE e.id > :afterId ORDER BY e.id")
+    List<StockEntryDto> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE e.product.id = :productId ORDER BY e.product.id, e.date, e.id")
+    List<StockEntryDto> findProductPage(@Param("productId") Long productId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE e.product.id = :productId "
+            + "AND (e.date > :afterDate OR (e.date = :afterDate AND e.id > :afterId)) "
+            + "ORDER BY e.product.id, e.date, e.id")
+    List<StockEntryDto> findProductPageAfter(@Param("productId") Long productId,
+                                             @Param("afterDate") LocalDateTime afterDate,
+                                             @Param("afterId") long afterId,
+                                             Pageable pageable);
+
+    // Must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(DTO_SELECT + "ORDER BY e.id")
+    Stream<StockEntryDto> streamAll();
 }
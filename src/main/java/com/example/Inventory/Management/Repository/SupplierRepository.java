@@ -1,11 +1,29 @@
 package com.example.Inventory.Management.Repository;
 
+import com.example.Inventory.Management.DTO.SupplierDto;
 import com.example.Inventory.Management.Entity.Supplier;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
 
+    String DTO_SELECT = "SELECT new com.example.Inventory.Management.DTO.SupplierDto("
+            + "s.id, s.name, s.contactNumber, s.email) FROM Supplier s ";
+
     Supplier findByName(String name);
+
+    @Query(DTO_SELECT + "ORDER BY s.id")
+    List<SupplierDto> findAllDtos();
+
+    @Query(DTO_SELECT + "WHERE s.id = :id")
+    Optional<SupplierDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "WHERE s.name = :name")
+    Optional<SupplierDto> findDtoByName(@Param("name") String name);
 }
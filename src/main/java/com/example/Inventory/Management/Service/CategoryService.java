@@ -1,5 +1,7 @@
 package com.example.Inventory.Management.Service;
 
+import com.example.Inventory.Management.DTO.CategoryDto;
+import com.example.Inventory.Management.DTO.ReferenceCacheStats;
 import com.example.Inventory.Management.Entity.Category;
 import java.util.List;
 
@@ -9,4 +11,8 @@ public interface CategoryService {
     List<Category> getAllCategories();
     void deleteCategory(Long id);
     Category updateCategory(Long id, Category category);
+    List<CategoryDto> getAllCategoryDtos();
+    CategoryDto getCategoryDtoById(Long id);
+    CategoryDto getCategoryDtoByName(String name);
+    ReferenceCacheStats getCacheStats();
 }
@@ -1,11 +1,16 @@
 package com.example.Inventory.Management.Service.Impl;
 
+import com.example.Inventory.Management.DTO.CategoryDto;
+import com.example.Inventory.Management.DTO.ReferenceCacheStats;
 import com.example.Inventory.Management.Entity.Category;
 import com.example.Inventory.Management.Exception.CategoryNotFoundException;
 import com.example.Inventory.Management.Repository.CategoryRepository;
 import com.example.Inventory.Management.Service.CategoryService;
+import com.example.Inventory.Management.Service.ProductCategoryChangedEvent;
+import com.example.Inventory.Management.Util.ReferenceCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
 
@@ -14,10 +19,13 @@ import java.util.List;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ReferenceCache<CategoryDto> categoryCache;
 
     @Override
     public Category saveCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        refresh(saved.getId());
+        return saved;
     }
 
     @Override
@@ -40,6 +48,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         categoryRepository.deleteById(id);
+        categoryCache.invalidate(id);
     }
 
     @Override
@@ -47,6 +56,42 @@ public class CategoryServiceImpl implements CategoryService {
         Category existingCategory = getCategoryById(id);
         existingCategory.setName(category.getName());
         existingCategory.setDescription(category.getDescription());
-        return categoryRepository.save(existingCategory);
+        Category saved = categoryRepository.save(existingCategory);
+        refresh(id);
+        return saved;
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<CategoryDto> getAllCategoryDtos() {
+        return categoryCache.getAll(categoryRepository::findAllDtos);
+    }
+
+    @Override
+    public CategoryDto getCategoryDtoById(Long id) {
+        return categoryCache.get(id, categoryRepository::findDtoById)
+                .orElseThrow(() -> new CategoryNotFoundException(id));
+    }
+
+    @Override
+    public CategoryDto getCategoryDtoByName(String name) {
+        return categoryCache.getByName(name, categoryRepository::findDtoByName)
+                .orElseThrow(() -> new CategoryNotFoundException(name));
+    }
+
+    @Override
+    public ReferenceCacheStats getCacheStats() {
+        return categoryCache.getStats();
+    }
+
+    // Product counts are part of the cached rows
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCategoryChanged(ProductCategoryChangedEvent event) {
+        event.getCategoryIds().forEach(categoryCache::invalidate);
+    }
+
+    // Write-through with the product count, which the saved entity cannot give without loading its products
+    private void refresh(Long id) {
+        categoryCache.invalidate(id);
+        categoryRepository.findDtoById(id).ifPresent(categoryCache::put);
+    }
+}
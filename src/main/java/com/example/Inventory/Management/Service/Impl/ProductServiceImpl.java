@@ -1,23 +1,55 @@
 package com.example.Inventory.Management.Service.Impl;
 
+import com.example.Inventory.Management.DTO.KeysetPage;
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.DTO.ProductSupplierView;
+import com.example.Inventory.Management.DTO.SupplierDto;
+import com.example.Inventory.Management.Entity.Category;
 import com.example.Inventory.Management.Entity.Product;
 import com.example.Inventory.Management.Exception.ProductNotFoundException;
 import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Service.ML.PredictionInputsChangedEvent;
+import com.example.Inventory.Management.Service.ProductCategoryChangedEvent;
 import com.example.Inventory.Management.Service.ProductService;
+import com.example.Inventory.Management.Util.NdjsonWriter;
+import com.example.Inventory.Management.Util.ProductNameIndex;
+import com.example.Inventory.Management.Util.ProductQuantityIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    private static final int SUPPLIER_BATCH_SIZE = 1000;
+
     private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductNameIndex productNameIndex;
+    private final ProductQuantityIndex productQuantityIndex;
 
     @Override
     public Product saveProduct(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productNameIndex.put(saved.getId(), saved.getName());
+        productQuantityIndex.put(saved.getId(), saved.getQuantity());
+        eventPublisher.publishEvent(new PredictionInputsChangedEvent(List.of(saved.getId())));
+        publishCategoryChange(null, saved.getCategory());
+        return saved;
     }
 
     @Override
@@ -25,13 +57,24 @@ public class ProductServiceImpl implements ProductService {
         Product existing = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
 
+        boolean forecastInputsChanged = !Objects.equals(existing.getPrice(), product.getPrice())
+                || !Objects.equals(existing.getQuantity(), product.getQuantity());
+
+        Category previousCategory = existing.getCategory();
         existing.setName(product.getName());
         existing.setPrice(product.getPrice());
         existing.setQuantity(product.getQuantity());
         existing.setCategory(product.getCategory());
         existing.setSuppliers(product.getSuppliers());
 
-        return productRepository.save(existing);
+        Product saved = productRepository.save(existing);
+        productNameIndex.put(id, saved.getName());
+        productQuantityIndex.put(id, saved.getQuantity());
+        if (forecastInputsChanged) {
+            eventPublisher.publishEvent(new PredictionInputsChangedEvent(List.of(id)));
+        }
+        publishCategoryChange(previousCategory, saved.getCategory());
+        return saved;
     }
 
     @Override
@@ -43,6 +86,10 @@ public class ProductServiceImpl implements ProductService {
         }
         
         productRepository.deleteById(id);
+        productNameIndex.remove(id);
+        productQuantityIndex.remove(id);
+        eventPublisher.publishEvent(new PredictionInputsChangedEvent(List.of(id)));
+        publishCategoryChange(product.getCategory(), null);
     }
 
     @Override
@@ -68,6 +115,122 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public List<Product> getLowStockProducts(Integer threshold) {
-        return productRepository.findByQuantityLessThan(threshold);
+        List<Long> ids = productQuantityIndex.findBelow(threshold, 0);
+        Map<Long, Product> byId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += SUPPLIER_BATCH_SIZE) {
+            productRepository.findAllById(ids.subList(from, Math.min(from + SUPPLIER_BATCH_SIZE, ids.size())))
+                    .forEach(product -> byId.put(product.getId(), product));
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public List<ProductDto> getAllProductDtos(boolean includeSuppliers) {
+        return withSuppliers(productRepository.findAllDtos(), includeSuppliers);
+    }
+
+    @Override
+    public ProductDto getProductDtoById(Long id, boolean includeSuppliers) {
+        ProductDto product = productRepository.findDtoById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
+        withSuppliers(List.of(product), includeSuppliers);
+        return product;
+    }
+
+    @Override
+    public List<ProductDto> searchProductDtosByName(String name, boolean includeSuppliers) {
+        return searchProductDtosByName(name, false, 0, 0, includeSuppliers);
+    }
+
+    /**
+     * Ranked name search through the in-memory name index; only the returned
+     * page of products is read from the database.
+     */
+    @Override
+    public List<ProductDto> searchProductDtosByName(String name, boolean prefix, int offset, int size,
+                                                    boolean includeSuppliers) {
+        List<Long> ids = productNameIndex.search(name, prefix, offset, size);
+        return withSuppliers(findDtosInOrder(ids), includeSuppliers);
+    }
+
+    @Override
+    public List<ProductDto> getProductDtosByCategory(String categoryName, boolean includeSuppliers) {
+        return withSuppliers(productRepository.findDtosByCategoryName(categoryName), includeSuppliers);
+    }
+
+    @Override
+    public List<ProductDto> getLowStockProductDtos(Integer threshold, boolean includeSuppliers) {
+        List<Long> ids = productQuantityIndex.findBelow(threshold, 0).stream().sorted().toList();
+        return withSuppliers(findDtosInOrder(ids), includeSuppliers);
+    }
+
+    /**
+     * The products with the least stock, lowest first, from the in-memory
+     * stock level index; only those products are read from the database.
+     */
+    @Override
+    public List<ProductDto> getLowestStockProductDtos(int limit, boolean includeSuppliers) {
+        return withSuppliers(findDtosInOrder(productQuantityIndex.findLowest(limit)), includeSuppliers);
+    }
+
+    @Override
+    public long countLowStockProducts(Integer threshold) {
+        return productQuantityIndex.countBelow(threshold);
+    }
+
+    @Override
+    public KeysetPage<ProductDto> getProductsPage(Long afterId, int size) {
+        int pageSize = KeysetPage.clampSize(size);
+        List<ProductDto> rows = productRepository.findPageAfter(
+                afterId != null ? afterId : 0L, PageRequest.ofSize(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, ProductDto::getId, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(OutputStream out) throws IOException {
+        try (Stream<ProductDto> rows = productRepository.streamAll()) {
+            NdjsonWriter.write(rows, out, objectMapper);
+        }
+    }
+
+    private void publishCategoryChange(Category from, Category to) {
+        Long fromId = from != null ? from.getId() : null;
+        Long toId = to != null ? to.getId() : null;
+        if (Objects.equals(fromId, toId)) {
+            return;
+        }
+        eventPublisher.publishEvent(new ProductCategoryChangedEvent(
+                Stream.of(fromId, toId).filter(Objects::nonNull).toList()));
+    }
+
+    // Loads the given products in the order of ids, skipping any deleted meanwhile
+    private List<ProductDto> findDtosInOrder(List<Long> ids) {
+        Map<Long, ProductDto> byId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += SUPPLIER_BATCH_SIZE) {
+            productRepository.findDtosByIdIn(ids.subList(from, Math.min(from + SUPPLIER_BATCH_SIZE, ids.size())))
+                    .forEach(product -> byId.put(product.getId(), product));
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Attach suppliers with one IN query per 1000 products instead of walking
+     * each product's lazy supplier set.
+     */
+    private List<ProductDto> withSuppliers(List<ProductDto> products, boolean includeSuppliers) {
+        if (!includeSuppliers || products.isEmpty()) {
+            return products;
+        }
+        for (int from = 0; from < products.size(); from += SUPPLIER_BATCH_SIZE) {
+            List<ProductDto> batch = products.subList(from, Math.min(from + SUPPLIER_BATCH_SIZE, products.size()));
+            Map<Long, List<SupplierDto>> suppliersByProduct = productRepository
+                    .findSuppliersByProductIds(batch.stream().map(ProductDto::getId).toList()).stream()
+                    .collect(Collectors.groupingBy(ProductSupplierView::getProductId,
+                            Collectors.mapping(view -> new SupplierDto(view.getId(), view.getName(),
+                                    view.getContactNumber(), view.getEmail()), Collectors.toList())));
+            batch.forEach(product -> product.setSuppliers(suppliersByProduct.getOrDefault(product.getId(), List.of())));
+        }
+        return products;
     }
 }
@@ -0,0 +1,118 @@
+package com.example.Inventory.Management.Service.Impl;
+
+import com.example.Inventory.Management.DTO.SalesBucketDto;
+import com.example.Inventory.Management.DTO.SalesQuery;
+import com.example.Inventory.Management.Repository.DailyProductSalesRepository;
+import com.example.Inventory.Management.Service.SalesAnalyticsService;
+import com.example.Inventory.Management.Util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Time-bucketed sales totals. The grouping runs in the database over the
+ * daily rollups, so a request reads one row per product and day at most and
+ * returns one per bucket and group, streamed as it is read.
+ *
+ * Results of up to {@code inventory.analytics.cache.max-result-rows} rows are
+ * kept for {@code inventory.analytics.cache.ttl} so repeated dashboard
+ * queries skip the database; they may lag stock writes by that long.
+ */
+@Service
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsService {
+
+    public static final String DAY = "day";
+    public static final String WEEK = "week";
+    public static final String MONTH = "month";
+    public static final String PRODUCT = "product";
+    public static final String CATEGORY = "category";
+
+    private final DailyProductSalesRepository dailySalesRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<SalesQuery, List<SalesBucketDto>> results;
+    private final int maxResultRows;
+
+    public SalesAnalyticsServiceImpl(DailyProductSalesRepository dailySalesRepository, ObjectMapper objectMapper,
+                                     @Value("${inventory.analytics.cache.maximum-size:50}") long maximumSize,
+                                     @Value("${inventory.analytics.cache.ttl:30s}") Duration ttl,
+                                     @Value("${inventory.analytics.cache.max-result-rows:10000}") int maxResultRows) {
+        this.dailySalesRepository = dailySalesRepository;
+        this.objectMapper = objectMapper;
+        this.maxResultRows = maxResultRows;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public SalesQuery query(LocalDate from, LocalDate to, String bucket, String groupBy) {
+        if (from == null || to == null) {
+            throw new RuntimeException("Both from and to dates are required");
+        }
+        if (from.isAfter(to)) {
+            throw new RuntimeException("The from date must not be after the to date");
+        }
+        String normalizedBucket = bucket == null ? DAY : bucket.trim().toLowerCase(Locale.ROOT);
+        if (!normalizedBucket.equals(DAY) && !normalizedBucket.equals(WEEK) && !normalizedBucket.equals(MONTH)) {
+            throw new RuntimeException("Invalid bucket. Must be day, week or month.");
+        }
+        String normalizedGroupBy = groupBy == null ? PRODUCT : groupBy.trim().toLowerCase(Locale.ROOT);
+        if (!normalizedGroupBy.equals(PRODUCT) && !normalizedGroupBy.equals(CATEGORY)) {
+            throw new RuntimeException("Invalid groupBy. Must be product or category.");
+        }
+        return new SalesQuery(from, to, normalizedBucket, normalizedGroupBy);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSales(SalesQuery query, OutputStream out) throws IOException {
+        List<SalesBucketDto> cached = results.getIfPresent(query);
+        if (cached != null) {
+            NdjsonWriter.write(cached.stream(), out, objectMapper);
+            return;
+        }
+
+        // Keep a copy while streaming unless the result outgrows the cache limit
+        List<SalesBucketDto> copy = new ArrayList<>();
+        try (Stream<SalesBucketDto> rows = load(query)) {
+            NdjsonWriter.write(rows.peek(row -> {
+                if (copy.size() <= maxResultRows) {
+                    copy.add(row);
+                }
+            }), out, objectMapper);
+        }
+        if (copy.size() <= maxResultRows) {
+            results.put(query, List.copyOf(copy));
+        }
+    }
+
+    private Stream<SalesBucketDto> load(SalesQuery query) {
+        long fromDay = query.getFrom().toEpochDay();
+        long toDay = query.getTo().toEpochDay();
+        boolean byProduct = query.getGroupBy().equals(PRODUCT);
+        return switch (query.getBucket()) {
+            case WEEK -> byProduct
+                    ? dailySalesRepository.streamWeeklySalesByProduct(fromDay, toDay)
+                    : dailySalesRepository.streamWeeklySalesByCategory(fromDay, toDay);
+            case MONTH -> byProduct
+                    ? dailySalesRepository.streamMonthlySalesByProduct(fromDay, toDay)
+                    : dailySalesRepository.streamMonthlySalesByCategory(fromDay, toDay);
+            default -> byProduct
+                    ? dailySalesRepository.streamDailySalesByProduct(fromDay, toDay)
+                    : dailySalesRepository.streamDailySalesByCategory(fromDay, toDay);
+        };
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.Inventory.Management.Service.Impl;
+
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.DTO.StockAlert;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Service.ML.InventoryPrediction;
+import com.example.Inventory.Management.Service.ML.RestockSetChangedEvent;
+import com.example.Inventory.Management.Service.StockAlertService;
+import com.example.Inventory.Management.Service.StockLevelChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes stock alerts to Server-Sent Events subscribers.
+ *
+ * Threshold alerts come from committed stock writes, which report each
+ * product's quantity before and after. Reorder point alerts come from the
+ * materialized restock set, when a product enters it.
+ *
+ * The most recent alerts are retained so a reconnecting client can resume
+ * from its Last-Event-ID. Each subscriber has a bounded queue drained by a
+ * small sender pool; a subscriber that falls further behind than its queue
+ * allows is disconnected and resumes from where it stopped on reconnect,
+ * so one slow client never holds up the writers or other clients.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockAlertServiceImpl implements StockAlertService {
+
+    private final ProductRepository productRepository;
+
+    @Value("${inventory.alerts.low-stock-threshold:10}")
+    private int lowStockThreshold;
+
+    @Value("${inventory.alerts.replay-size:1000}")
+    private int replaySize;
+
+    @Value("${inventory.alerts.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    @Value("${inventory.alerts.emitter-timeout:30m}")
+    private Duration emitterTimeout;
+
+    @Value("${inventory.alerts.sender-threads:2}")
+    private int senderThreads;
+
+    private final Deque<StockAlert> recent = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long lastId;
+
+    private ExecutorService senders;
+
+    @PostConstruct
+    void startSenders() {
+        senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), task -> {
+            Thread thread = new Thread(task, "stock-alert-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopSenders() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber;
+        synchronized (recent) {
+            List<StockAlert> replay = lastEventId == null ? List.of() : alertsAfter(lastEventId);
+            subscriber = new Subscriber(emitter, subscriberBuffer + replay.size());
+            // Alerts between the client's last id and the oldest retained one are gone
+            if (lastEventId != null && !recent.isEmpty() && recent.peekFirst().getId() > lastEventId + 1) {
+                subscriber.truncated = true;
+            }
+            replay.forEach(subscriber.queue::offer);
+            // Registered under the lock, so no alert falls between the replay and live delivery
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public List<StockAlert> getAlertsAfter(long afterId) {
+        synchronized (recent) {
+            return alertsAfter(afterId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        List<StockAlert> alerts = new ArrayList<>();
+        for (StockLevelChangedEvent.Change change : event.getChanges()) {
+            String type = thresholdCrossed(change.getPreviousQuantity(), change.getQuantity());
+            if (type != null) {
+                alerts.add(StockAlert.builder()
+                        .type(type)
+                        .productId(change.getProductId())
+                        .previousQuantity(change.getPreviousQuantity())
+                        .quantity(change.getQuantity())
+                        .threshold(lowStockThreshold)
+                        .build());
+            }
+        }
+        if (alerts.isEmpty()) {
+            return;
+        }
+
+        Map<Long, String> names = productRepository
+                .findDtosByIdIn(alerts.stream().map(StockAlert::getProductId).toList()).stream()
+                .collect(Collectors.toMap(ProductDto::getId, ProductDto::getName));
+        alerts.forEach(alert -> alert.setProductName(names.get(alert.getProductId())));
+        publish(alerts);
+    }
+
+    @EventListener
+    public void onRestockSetChanged(RestockSetChangedEvent event) {
+        publish(event.getEntered().stream()
+                .map(prediction -> StockAlert.builder()
+                        .type(StockAlert.REORDER_POINT)
+                        .productId(prediction.getProductId())
+                        .productName(prediction.getProductName())
+                        .quantity(prediction.getCurrentStock())
+                        .reorderPoint(prediction.getReorderPoint())
+                        .build())
+                .toList());
+    }
+
+    private String thresholdCrossed(int previous, int quantity) {
+        if (previous > 0 && quantity <= 0) {
+            return StockAlert.STOCKOUT;
+        }
+        if (previous >= lowStockThreshold && quantity < lowStockThreshold) {
+            return StockAlert.LOW_STOCK;
+        }
+        if (previous < lowStockThreshold && quantity >= lowStockThreshold) {
+            return StockAlert.RESTOCKED;
+        }
+        return null;
+    }
+
+    private void publish(List<StockAlert> alerts) {
+        if (alerts.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Subscriber> overflowed = new ArrayList<>();
+        synchronized (recent) {
+            for (StockAlert alert : alerts) {
+                // Millisecond-based ids keep increasing across restarts, so stale Last-Event-IDs replay nothing
+                lastId = Math.max(lastId + 1, System.currentTimeMillis());
+                StockAlert stored = alert.toBuilder().id(lastId).occurredAt(now).build();
+                recent.addLast(stored);
+                while (recent.size() > replaySize) {
+                    recent.removeFirst();
+                }
+                for (Subscriber subscriber : subscribers) {
+                    if (!subscriber.queue.offer(stored)) {
+                        overflowed.add(subscriber);
+                    }
+                }
+            }
+        }
+        overflowed.forEach(this::close);
+        subscribers.forEach(this::schedule);
+    }
+
+    private List<StockAlert> alertsAfter(long afterId) {
+        return recent.stream().filter(alert -> alert.getId() > afterId).toList();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.queue.isEmpty() || subscriber.truncated) {
+            if (subscriber.draining.compareAndSet(false, true)) {
+                senders.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.truncated) {
+                subscriber.truncated = false;
+                subscriber.emitter.send(SseEmitter.event().name("replay-truncated").data(""));
+            }
+            StockAlert alert;
+            while ((alert = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(alert.getId()))
+                        .name(alert.getType())
+                        .data(alert));
+            }
+        } catch (IOException | IllegalStateException e) {
+            close(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An alert queued after the last poll but before the flag was cleared
+        schedule(subscriber);
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<StockAlert> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean truncated;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.Inventory.Management.Service.Impl;
 
+import com.example.Inventory.Management.DTO.BatchStockEntryResult;
+import com.example.Inventory.Management.DTO.KeysetPage;
+import com.example.Inventory.Management.DTO.StockEntryDto;
 import com.example.Inventory.Management.Entity.Product;
 import com.example.Inventory.Management.Entity.StockEntry;
 import com.example.Inventory.Management.Exception.InsufficientStockException;
@@ -7,47 +10,143 @@ import com.example.Inventory.Management.Exception.ProductNotFoundException;
 import com.example.Inventory.Management.Exception.StockEntryNotFoundException;
 import com.example.Inventory.Management.Repository.ProductRepository;
 import com.example.Inventory.Management.Repository.StockEntryRepository;
+import com.example.Inventory.Management.Service.ML.SalesStatisticsService;
 import com.example.Inventory.Management.Service.StockEntryService;
+import com.example.Inventory.Management.Service.StockLevelChangedEvent;
+import com.example.Inventory.Management.Util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class StockEntryServiceImpl implements StockEntryService {
 
+    static final int MAX_BATCH_SIZE = 10_000;
+
     private final StockEntryRepository stockEntryRepository;
     private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final SalesStatisticsService salesStatisticsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public StockEntry addStockEntry(StockEntry stockEntry) {
         Long productId = stockEntry.getProduct().getId();
+        String type = normalizeType(stockEntry.getType());
+
+        applyStockChange(productId, type, stockEntry.getQuantity());
+
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ProductNotFoundException(productId));
+        stockEntry.setProduct(product);
+        stockEntry.setType(type);
 
-        String type = stockEntry.getType().toUpperCase();
-        if (!type.equals("SALE") && !type.equals("PURCHASE")) {
-            throw new RuntimeException("Invalid stock entry type. Must be PURCHASE or SALE.");
+        StockEntry saved = stockEntryRepository.save(stockEntry);
+        salesStatisticsService.recordEntry(saved);
+        publishStockLevels(List.of(new StockLevelChangedEvent.Change(productId,
+                product.getQuantity() - effect(type, saved.getQuantity()), product.getQuantity())));
+        return saved;
+    }
+
+    /**
+     * Batch ingestion: the touched products are locked once (in id order), each
+     * entry is admitted or rejected against the running quantity in request
+     * order, and every product gets a single quantity update. Ledger rows are
+     * written with batched inserts at flush.
+     */
+    @Override
+    @Transactional
+    public BatchStockEntryResult addStockEntries(List<StockEntry> stockEntries) {
+        if (stockEntries.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("Batch size exceeds the maximum of " + MAX_BATCH_SIZE + " entries");
         }
-        if ("SALE".equals(type)) {
-            if (product.getQuantity() < stockEntry.getQuantity()) {
-                throw new InsufficientStockException(
-                    product.getName(), 
-                    product.getQuantity(), 
-                    stockEntry.getQuantity()
-                );
+
+        BatchStockEntryResult.ItemResult[] results = new BatchStockEntryResult.ItemResult[stockEntries.size()];
+        Map<Long, List<Integer>> indexesByProduct = new TreeMap<>();
+
+        for (int i = 0; i < stockEntries.size(); i++) {
+            StockEntry entry = stockEntries.get(i);
+            Long productId = entry.getProduct() != null ? entry.getProduct().getId() : null;
+            String error = validateBatchEntry(entry, productId);
+            if (error != null) {
+                results[i] = rejected(i, productId, error);
+            } else {
+                entry.setType(entry.getType().toUpperCase());
+                indexesByProduct.computeIfAbsent(productId, id -> new ArrayList<>()).add(i);
             }
-            product.setQuantity(product.getQuantity() - stockEntry.getQuantity());
-        } else if ("PURCHASE".equals(type)) {
-            product.setQuantity(product.getQuantity() + stockEntry.getQuantity());
         }
 
-        productRepository.save(product);
-        stockEntry.setProduct(product);
-        stockEntry.setType(type);
-        
-        return stockEntryRepository.save(stockEntry);
+        Map<Long, Product> products = indexesByProduct.isEmpty() ? Map.of()
+                : productRepository.findAllByIdForUpdate(indexesByProduct.keySet()).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<Integer, StockEntry> acceptedEntries = new LinkedHashMap<>();
+        List<StockLevelChangedEvent.Change> stockLevels = new ArrayList<>();
+        for (Map.Entry<Long, List<Integer>> group : indexesByProduct.entrySet()) {
+            Product product = products.get(group.getKey());
+            if (product == null) {
+                String message = new ProductNotFoundException(group.getKey()).getMessage();
+                group.getValue().forEach(i -> results[i] = rejected(i, group.getKey(), message));
+                continue;
+            }
+
+            int quantity = product.getQuantity();
+            for (int i : group.getValue()) {
+                StockEntry entry = stockEntries.get(i);
+                if ("SALE".equals(entry.getType())) {
+                    if (quantity < entry.getQuantity()) {
+                        results[i] = rejected(i, product.getId(), new InsufficientStockException(
+                                product.getName(), quantity, entry.getQuantity()).getMessage());
+                        continue;
+                    }
+                    quantity -= entry.getQuantity();
+                } else {
+                    quantity += entry.getQuantity();
+                }
+                entry.setId(null);
+                entry.setProduct(product);
+                acceptedEntries.put(i, entry);
+            }
+            // The row is locked, so the running total is authoritative: one UPDATE per product.
+            if (quantity != product.getQuantity()) {
+                stockLevels.add(new StockLevelChangedEvent.Change(product.getId(), product.getQuantity(), quantity));
+            }
+            product.setQuantity(quantity);
+        }
+
+        stockEntryRepository.saveAll(acceptedEntries.values());
+        salesStatisticsService.recordEntries(acceptedEntries.values());
+        publishStockLevels(stockLevels);
+        acceptedEntries.forEach((i, entry) -> results[i] = BatchStockEntryResult.ItemResult.builder()
+                .index(i)
+                .productId(entry.getProduct().getId())
+                .status(BatchStockEntryResult.ACCEPTED)
+                .stockEntryId(entry.getId())
+                .build());
+
+        return BatchStockEntryResult.builder()
+                .accepted(acceptedEntries.size())
+                .rejected(stockEntries.size() - acceptedEntries.size())
+                .items(Arrays.asList(results))
+                .build();
     }
 
     @Override
@@ -59,47 +158,60 @@ public class StockEntryServiceImpl implements StockEntryService {
     }
 
     @Override
+    @Transactional
     public StockEntry updateStockEntry(Long id, StockEntry stockEntry) {
         StockEntry existingEntry = getStockEntryById(id);
-        Product oldProduct = existingEntry.getProduct();
-        String newType = stockEntry.getType().toUpperCase();
-        if (!newType.equals("SALE") && !newType.equals("PURCHASE")) {
-            throw new RuntimeException("Invalid stock entry type. Must be PURCHASE or SALE.");
-        }
-        if ("SALE".equals(existingEntry.getType().toUpperCase())) {
-            oldProduct.setQuantity(oldProduct.getQuantity() + existingEntry.getQuantity());
-        } else if ("PURCHASE".equals(existingEntry.getType().toUpperCase())) {
-            oldProduct.setQuantity(oldProduct.getQuantity() - existingEntry.getQuantity());
-        }
+        String newType = normalizeType(stockEntry.getType());
         Long newProductId = stockEntry.getProduct().getId();
-        Product newProduct = productRepository.findById(newProductId)
-                .orElseThrow(() -> new ProductNotFoundException(newProductId));
+        Long oldProductId = existingEntry.getProduct().getId();
+        String oldType = existingEntry.getType();
+        int oldQuantity = existingEntry.getQuantity();
+        LocalDateTime oldDate = existingEntry.getDate();
 
+        int oldEffect = effect(oldType.toUpperCase(), oldQuantity);
+        int newEffect = effect(newType, stockEntry.getQuantity());
 
-        if ("SALE".equals(newType)) {
-            if (newProduct.getQuantity() < stockEntry.getQuantity()) {
-                throw new InsufficientStockException(
-                    newProduct.getName(), 
-                    newProduct.getQuantity(), 
-                    stockEntry.getQuantity()
-                );
-            }
-            newProduct.setQuantity(newProduct.getQuantity() - stockEntry.getQuantity());
-        } else if ("PURCHASE".equals(newType)) {
-            newProduct.setQuantity(newProduct.getQuantity() + stockEntry.getQuantity());
+        // Same product: apply only the net change, so an edit never has to pass
+        // through the intermediate "old entry undone" level (e.g. raising a purchase
+        // that has been partly sold). Otherwise undo on the old product and apply on
+        // the new one, locking the rows in id order like the batch paths so opposite
+        // moves cannot deadlock; a failure on either side rolls the whole update back.
+        if (oldProductId.equals(newProductId)) {
+            applyStockDelta(newProductId, newEffect - oldEffect);
+        } else if (oldProductId < newProductId) {
+            applyStockDelta(oldProductId, -oldEffect);
+            applyStockDelta(newProductId, newEffect);
+        } else {
+            applyStockDelta(newProductId, newEffect);
+            applyStockDelta(oldProductId, -oldEffect);
         }
 
-        productRepository.save(oldProduct);
-        if (!oldProduct.getId().equals(newProduct.getId())) {
-            productRepository.save(newProduct);
-        }
+        Product newProduct = productRepository.findById(newProductId)
+                .orElseThrow(() -> new ProductNotFoundException(newProductId));
 
         existingEntry.setProduct(newProduct);
         existingEntry.setQuantity(stockEntry.getQuantity());
         existingEntry.setType(newType);
         existingEntry.setDate(stockEntry.getDate());
 
-        return stockEntryRepository.save(existingEntry);
+        StockEntry saved = stockEntryRepository.save(existingEntry);
+        salesStatisticsService.replaceEntry(oldProductId, oldType, oldQuantity, oldDate, saved);
+        // Quantities are read back after the UPDATEs, which hold the row locks, so
+        // the published levels match what was committed.
+        if (oldProductId.equals(newProductId)) {
+            publishStockLevels(List.of(new StockLevelChangedEvent.Change(newProductId,
+                    newProduct.getQuantity() - (newEffect - oldEffect), newProduct.getQuantity())));
+        } else {
+            int oldProductQuantity = productRepository.findById(oldProductId)
+                    .orElseThrow(() -> new ProductNotFoundException(oldProductId))
+                    .getQuantity();
+            publishStockLevels(List.of(
+                    new StockLevelChangedEvent.Change(oldProductId, oldProductQuantity + oldEffect,
+                            oldProductQuantity),
+                    new StockLevelChangedEvent.Change(newProductId, newProduct.getQuantity() - newEffect,
+                            newProduct.getQuantity())));
+        }
+        return saved;
     }
 
     @Override
@@ -109,28 +221,144 @@ public class StockEntryServiceImpl implements StockEntryService {
     }
 
     @Override
+    @Transactional
     public void deleteStockEntry(Long id) {
         StockEntry stockEntry = getStockEntryById(id);
-        Product product = stockEntry.getProduct();
-        if ("SALE".equals(stockEntry.getType().toUpperCase())) {
-            product.setQuantity(product.getQuantity() + stockEntry.getQuantity());
-        } else if ("PURCHASE".equals(stockEntry.getType().toUpperCase())) {
-            if (product.getQuantity() < stockEntry.getQuantity()) {
-                throw new InsufficientStockException(
-                    product.getName(), 
-                    product.getQuantity(), 
-                    stockEntry.getQuantity()
-                );
-            }
-            product.setQuantity(product.getQuantity() - stockEntry.getQuantity());
-        }
-        
-        productRepository.save(product);
+        Long productId = stockEntry.getProduct().getId();
+        int entryEffect = effect(stockEntry.getType().toUpperCase(), stockEntry.getQuantity());
+        reverseStockChange(productId, stockEntry.getType().toUpperCase(), stockEntry.getQuantity());
         stockEntryRepository.deleteById(id);
+        salesStatisticsService.removeEntry(productId,
+                stockEntry.getType(), stockEntry.getQuantity(), stockEntry.getDate());
+        int productQuantity = productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException(productId))
+                .getQuantity();
+        publishStockLevels(List.of(new StockLevelChangedEvent.Change(productId,
+                productQuantity + entryEffect, productQuantity)));
     }
 
     @Override
     public List<StockEntry> getAllStockEntries() {
         return stockEntryRepository.findAll();
     }
+
+    @Override
+    public List<StockEntryDto> getAllStockEntryDtos() {
+        return stockEntryRepository.findAllDtos();
+    }
+
+    @Override
+    public StockEntryDto getStockEntryDtoById(Long id) {
+        return stockEntryRepository.findDtoById(id)
+                .orElseThrow(() -> new StockEntryNotFoundException(id));
+    }
+
+    @Override
+    public List<StockEntryDto> getStockEntryDtosByProduct(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new ProductNotFoundException(productId);
+        }
+        return stockEntryRepository.findDtosByProductId(productId);
+    }
+
+    @Override
+    public KeysetPage<StockEntryDto> getStockEntriesPage(Long afterId, int size) {
+        int pageSize = KeysetPage.clampSize(size);
+        List<StockEntryDto> rows = stockEntryRepository.findPageAfter(
+                afterId != null ? afterId : 0L, PageRequest.ofSize(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, StockEntryDto::getId, null);
+    }
+
+    @Override
+    public KeysetPage<StockEntryDto> getStockEntriesPageByProduct(Long productId, LocalDateTime afterDate,
+                                                                  Long afterId, int size) {
+        int pageSize = KeysetPage.clampSize(size);
+        List<StockEntryDto> rows = afterDate == null
+                ? stockEntryRepository.findProductPage(productId, PageRequest.ofSize(pageSize + 1))
+                : stockEntryRepository.findProductPageAfter(productId, afterDate,
+                        afterId != null ? afterId : 0L, PageRequest.ofSize(pageSize + 1));
+        return KeysetPage.of(rows, pageSize, StockEntryDto::getId, StockEntryDto::getDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportStockEntries(OutputStream out) throws IOException {
+        try (Stream<StockEntryDto> rows = stockEntryRepository.streamAll()) {
+            NdjsonWriter.write(rows, out, objectMapper);
+        }
+    }
+
+    private String validateBatchEntry(StockEntry entry, Long productId) {
+        if (productId == null) {
+            return "Product id is required";
+        }
+        if (entry.getQuantity() == null || entry.getQuantity() < 1) {
+            return "Quantity must be at least 1";
+        }
+        if (entry.getType() == null || !(entry.getType().equalsIgnoreCase("SALE")
+                || entry.getType().equalsIgnoreCase("PURCHASE"))) {
+            return "Invalid stock entry type. Must be PURCHASE or SALE.";
+        }
+        return null;
+    }
+
+    private BatchStockEntryResult.ItemResult rejected(int index, Long productId, String message) {
+        return BatchStockEntryResult.ItemResult.builder()
+                .index(index)
+                .productId(productId)
+                .status(BatchStockEntryResult.REJECTED)
+                .message(message)
+                .build();
+    }
+
+    private String normalizeType(String type) {
+        String normalized = type.toUpperCase();
+        if (!normalized.equals("SALE") && !normalized.equals("PURCHASE")) {
+            throw new RuntimeException("Invalid stock entry type. Must be PURCHASE or SALE.");
+        }
+        return normalized;
+    }
+
+    private void applyStockChange(Long productId, String type, int quantity) {
+        applyStockDelta(productId, effect(type, quantity));
+    }
+
+    private void reverseStockChange(Long productId, String type, int quantity) {
+        applyStockDelta(productId, -effect(type, quantity));
+    }
+
+    /**
+     * Apply a quantity change with a single conditional UPDATE; a zero delta
+     * issues none. The product row is only read again when the update did not
+     * match, to report why.
+     */
+    private void applyStockDelta(Long productId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int updated = delta < 0
+                ? productRepository.decrementQuantity(productId, -delta)
+                : productRepository.incrementQuantity(productId, delta);
+
+        if (updated == 0) {
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new ProductNotFoundException(productId));
+            throw new InsufficientStockException(
+                product.getName(), 
+                product.getQuantity(), 
+                -delta
+            );
+        }
+    }
+
+    // Change in product quantity caused by an entry
+    private static int effect(String type, int quantity) {
+        return "SALE".equals(type) ? -quantity : quantity;
+    }
+
+    private void publishStockLevels(List<StockLevelChangedEvent.Change> changes) {
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new StockLevelChangedEvent(changes));
+        }
+    }
 }
\ No newline at end of file
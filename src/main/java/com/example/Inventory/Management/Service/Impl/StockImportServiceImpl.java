@@ -0,0 +1,300 @@
+package com.example.Inventory.Management.Service.Impl;
+
+import com.example.Inventory.Management.DTO.ProductNameView;
+import com.example.Inventory.Management.DTO.StockImportResult;
+import com.example.Inventory.Management.Entity.ImportCheckpoint;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.ImportCheckpointRepository;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.StockEntryRepository;
+import com.example.Inventory.Management.Service.ML.SalesStatisticsService;
+import com.example.Inventory.Management.Service.StockImportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Streams stock history (NDJSON or CSV) into the ledger. Lines are read one at a
+ * time and written in fixed-size chunks, each in its own transaction together
+ * with the import checkpoint, so heap use does not depend on file size and a
+ * failed import resumes after the last committed chunk.
+ *
+ * Imported rows are history: they are appended to the ledger like
+ * {@code DataSeeder} does and do not change current product quantities.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockImportServiceImpl implements StockImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final StockEntryRepository stockEntryRepository;
+    private final ProductRepository productRepository;
+    private final ImportCheckpointRepository checkpointRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final SalesStatisticsService salesStatisticsService;
+
+    @Value("${inventory.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    public StockImportResult importStockHistory(String importId, String format, InputStream input) {
+        String id = importId != null && !importId.isBlank() ? importId : UUID.randomUUID().toString();
+        String normalizedFormat = format.toLowerCase();
+        if (!normalizedFormat.equals("ndjson") && !normalizedFormat.equals("csv")) {
+            throw new RuntimeException("Unsupported import format: " + format + ". Must be ndjson or csv.");
+        }
+
+        ImportCheckpoint checkpoint = checkpointRepository.findById(id)
+                .orElseGet(() -> ImportCheckpoint.builder().importId(id).format(normalizedFormat).build());
+        long resumeFrom = checkpoint.getLinesProcessed();
+        if (ImportCheckpoint.COMPLETED.equals(checkpoint.getStatus())) {
+            return toResult(checkpoint, resumeFrom, List.of());
+        }
+
+        ProductDictionary products = buildProductDictionary();
+        List<String> errors = new ArrayList<>();
+        List<StockEntry> chunk = new ArrayList<>(chunkSize);
+        long line = 0;
+        long chunkRejected = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = "csv".equals(normalizedFormat) ? parseCsvHeader(reader.readLine()) : null;
+
+            String raw;
+            while ((raw = reader.readLine()) != null) {
+                line++;
+                if (line <= resumeFrom || raw.isBlank()) {
+                    continue;
+                }
+                try {
+                    chunk.add(columns != null ? parseCsvLine(raw, columns, products) : parseJsonLine(raw, products));
+                } catch (IOException | RuntimeException e) {
+                    chunkRejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add("line " + line + ": " + e.getMessage());
+                    }
+                }
+                if (line - checkpoint.getLinesProcessed() >= chunkSize) {
+                    checkpoint = commitChunk(checkpoint, chunk, line, chunkRejected, ImportCheckpoint.RUNNING);
+                    chunkRejected = 0;
+                }
+            }
+            checkpoint = commitChunk(checkpoint, chunk, line, chunkRejected, ImportCheckpoint.COMPLETED);
+        } catch (IOException | RuntimeException e) {
+            markFailed(checkpoint);
+            throw new RuntimeException("Import " + id + " failed after line " + checkpoint.getLinesProcessed()
+                    + "; resend with importId=" + id + " to resume: " + e.getMessage(), e);
+        }
+
+        return toResult(checkpoint, resumeFrom, errors);
+    }
+
+    /**
+     * Write one chunk and advance the checkpoint in the same transaction, then
+     * detach everything so the persistence context does not grow across chunks.
+     * The chunk's products are locked so their sales statistics are updated in
+     * step with concurrent stock movements.
+     */
+    private ImportCheckpoint commitChunk(ImportCheckpoint checkpoint, List<StockEntry> chunk,
+                                         long line, long rejected, String status) {
+        ImportCheckpoint next = checkpoint.toBuilder()
+                .status(status)
+                .linesProcessed(line)
+                .imported(checkpoint.getImported() + chunk.size())
+                .rejected(checkpoint.getRejected() + rejected)
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (!chunk.isEmpty()) {
+                Set<Long> productIds = new TreeSet<>();
+                chunk.forEach(entry -> productIds.add(entry.getProduct().getId()));
+                productRepository.findAllByIdForUpdate(productIds);
+            }
+            stockEntryRepository.saveAll(chunk);
+            salesStatisticsService.recordEntries(chunk);
+            checkpointRepository.save(next);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        chunk.clear();
+        return next;
+    }
+
+    private void markFailed(ImportCheckpoint checkpoint) {
+        ImportCheckpoint failed = checkpoint.toBuilder()
+                .status(ImportCheckpoint.FAILED)
+                .updatedAt(LocalDateTime.now())
+                .build();
+        transactionTemplate.executeWithoutResult(tx -> checkpointRepository.save(failed));
+    }
+
+    private ProductDictionary buildProductDictionary() {
+        Map<String, Long> idsByName = new HashMap<>();
+        for (ProductNameView product : productRepository.findAllNames()) {
+            idsByName.put(product.getName().trim().toLowerCase(), product.getId());
+        }
+        return new ProductDictionary(idsByName, new HashSet<>(idsByName.values()));
+    }
+
+    private StockEntry parseJsonLine(String raw, ProductDictionary products) throws IOException {
+        JsonNode node = objectMapper.readTree(raw);
+        return toStockEntry(products,
+                text(node, "productId"),
+                text(node, "product") != null ? text(node, "product") : text(node, "productName"),
+                text(node, "type"),
+                text(node, "quantity"),
+                text(node, "date"));
+    }
+
+    private StockEntry parseCsvLine(String raw, Map<String, Integer> columns, ProductDictionary products) {
+        List<String> values = splitCsv(raw);
+        return toStockEntry(products,
+                column(values, columns, "productid"),
+                column(values, columns, "product") != null
+                        ? column(values, columns, "product") : column(values, columns, "productname"),
+                column(values, columns, "type"),
+                column(values, columns, "quantity"),
+                column(values, columns, "date"));
+    }
+
+    private StockEntry toStockEntry(ProductDictionary products, String productId, String productName,
+                                    String type, String quantity, String date) {
+        Long resolvedId;
+        if (productId != null) {
+            resolvedId = Long.valueOf(productId);
+            if (!products.ids.contains(resolvedId)) {
+                throw new RuntimeException("Product not found with id: " + productId);
+            }
+        } else if (productName != null) {
+            resolvedId = products.idsByName.get(productName.trim().toLowerCase());
+            if (resolvedId == null) {
+                throw new RuntimeException("Product not found with name: " + productName);
+            }
+        } else {
+            throw new RuntimeException("Product id or name is required");
+        }
+
+        String normalizedType = type == null ? "" : type.trim().toUpperCase();
+        if (!normalizedType.equals("SALE") && !normalizedType.equals("PURCHASE")) {
+            throw new RuntimeException("Invalid stock entry type. Must be PURCHASE or SALE.");
+        }
+
+        int parsedQuantity = quantity == null ? 0 : Integer.parseInt(quantity.trim());
+        if (parsedQuantity < 1) {
+            throw new RuntimeException("Quantity must be at least 1");
+        }
+
+        return StockEntry.builder()
+                .product(productRepository.getReferenceById(resolvedId))
+                .type(normalizedType)
+                .quantity(parsedQuantity)
+                .date(parseDate(date))
+                .build();
+    }
+
+    private LocalDateTime parseDate(String date) {
+        if (date == null || date.isBlank()) {
+            throw new RuntimeException("Date is required");
+        }
+        try {
+            return date.length() <= 10 ? LocalDate.parse(date.trim()).atStartOfDay() : LocalDateTime.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid date: " + date);
+        }
+    }
+
+    private Map<String, Integer> parseCsvHeader(String header) {
+        if (header == null) {
+            return Map.of();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(), i);
+        }
+        return columns;
+    }
+
+    private String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size() || values.get(index).isBlank()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    // Minimal RFC 4180 split: quoted fields may contain commas and doubled quotes.
+    private List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private StockImportResult toResult(ImportCheckpoint checkpoint, long resumedFrom, List<String> errors) {
+        return StockImportResult.builder()
+                .importId(checkpoint.getImportId())
+                .status(checkpoint.getStatus())
+                .resumedFromLine(resumedFrom)
+                .linesProcessed(checkpoint.getLinesProcessed())
+                .imported(checkpoint.getImported())
+                .rejected(checkpoint.getRejected())
+                .errors(errors)
+                .build();
+    }
+
+    // Name -> id lookup built once per import from an id/name projection
+    private static class ProductDictionary {
+        final Map<String, Long> idsByName;
+        final Set<Long> ids;
+
+        ProductDictionary(Map<String, Long> idsByName, Set<Long> ids) {
+            this.idsByName = idsByName;
+            this.ids = ids;
+        }
+    }
+}
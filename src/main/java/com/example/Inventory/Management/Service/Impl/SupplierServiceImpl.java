@@ -1,9 +1,12 @@
 package com.example.Inventory.Management.Service.Impl;
 
+import com.example.Inventory.Management.DTO.ReferenceCacheStats;
+import com.example.Inventory.Management.DTO.SupplierDto;
 import com.example.Inventory.Management.Entity.Supplier;
 import com.example.Inventory.Management.Exception.SupplierNotFoundException;
 import com.example.Inventory.Management.Repository.SupplierRepository;
 import com.example.Inventory.Management.Service.SupplierService;
+import com.example.Inventory.Management.Util.ReferenceCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -14,10 +17,13 @@ import java.util.List;
 public class SupplierServiceImpl implements SupplierService {
 
     private final SupplierRepository supplierRepository;
+    private final ReferenceCache<SupplierDto> supplierCache;
 
     @Override
     public Supplier saveSupplier(Supplier supplier) {
-        return supplierRepository.save(supplier);
+        Supplier saved = supplierRepository.save(supplier);
+        supplierCache.put(SupplierDto.from(saved));
+        return saved;
     }
 
     @Override
@@ -40,6 +46,7 @@ public class SupplierServiceImpl implements SupplierService {
         }
         
         supplierRepository.deleteById(id);
+        supplierCache.invalidate(id);
     }
 
     @Override
@@ -48,6 +55,30 @@ public class SupplierServiceImpl implements SupplierService {
         existingSupplier.setName(supplier.getName());
         existingSupplier.setContactNumber(supplier.getContactNumber());
         existingSupplier.setEmail(supplier.getEmail());
-        return supplierRepository.save(existingSupplier);
+        Supplier saved = supplierRepository.save(existingSupplier);
+        supplierCache.put(SupplierDto.from(saved));
+        return saved;
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<SupplierDto> getAllSupplierDtos() {
+        return supplierCache.getAll(supplierRepository::findAllDtos);
+    }
+
+    @Override
+    public SupplierDto getSupplierDtoById(Long id) {
+        return supplierCache.get(id, supplierRepository::findDtoById)
+                .orElseThrow(() -> new SupplierNotFoundException(id));
+    }
+
+    @Override
+    public SupplierDto getSupplierDtoByName(String name) {
+        return supplierCache.getByName(name, supplierRepository::findDtoByName)
+                .orElseThrow(() -> new SupplierNotFoundException(name));
+    }
+
+    @Override
+    public ReferenceCacheStats getCacheStats() {
+        return supplierCache.getStats();
+    }
+}
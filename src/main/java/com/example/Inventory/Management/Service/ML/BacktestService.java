@@ -0,0 +1,254 @@
+package com.example.Inventory.Management.Service.ML;
+
+import com.example.Inventory.Management.Config.MLConfig;
+import com.example.Inventory.Management.DTO.BacktestResult;
+import com.example.Inventory.Management.DTO.ModelAccuracy;
+import com.example.Inventory.Management.Entity.DailyProductSales;
+import com.example.Inventory.Management.Entity.ProductSalesStats;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Rolling-origin backtests of the forecasting models. A product's daily sales
+ * are loaded once, then the origin walks forward one day at a time: each model
+ * takes in that day incrementally (the regression sums, the normal equations,
+ * the Holt-Winters state) and forecasts every horizon from the days up to the
+ * origin only. Forecasts are the horizon totals the prediction endpoints
+ * serve, scored against the actual sales over the same days.
+ *
+ * Only complete days are used, so the series ends yesterday. Products run in
+ * parallel on a dedicated fork-join pool.
+ */
+@Service
+@RequiredArgsConstructor
+public class BacktestService {
+
+    static final List<String> MODELS = List.of(
+            PredictionCache.LINEAR, PredictionCache.MULTIPLE_REGRESSION, PredictionCache.HOLT_WINTERS);
+
+    private static final int LINEAR = 0;
+    private static final int MULTIPLE_REGRESSION = 1;
+    private static final int HOLT_WINTERS = 2;
+
+    private final ProductRepository productRepository;
+    private final SalesStatisticsService salesStatisticsService;
+    private final MLConfig mlConfig;
+
+    // 0 uses one worker per core
+    @Value("${inventory.ml.backtest.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void startPool() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void stopPool() {
+        pool.shutdownNow();
+    }
+
+    public BacktestResult backtest(Long productId, int origins, Collection<Integer> horizons) {
+        if (!productRepository.existsById(productId)) {
+            throw new RuntimeException("Product not found");
+        }
+        return backtest(List.of(productId), origins, horizons).get(0);
+    }
+
+    /**
+     * Backtests several products, reading all their sales with one query.
+     * Results follow the order of {@code productIds}.
+     */
+    public List<BacktestResult> backtest(List<Long> productIds, int origins, Collection<Integer> horizons) {
+        if (origins < 1) {
+            throw new RuntimeException("Origins must be at least 1.");
+        }
+        int[] horizonDays = normalizeHorizons(horizons);
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<DailyProductSales>> saleDays = salesStatisticsService.getDailySales(productIds).stream()
+                .collect(Collectors.groupingBy(DailyProductSales::getProductId));
+        long lastDay = LocalDate.now().toEpochDay() - 1;
+
+        return pool.submit(() -> productIds.parallelStream()
+                .map(id -> run(id, saleDays.getOrDefault(id, List.of()), lastDay, origins, horizonDays))
+                .toList()).join();
+    }
+
+    private BacktestResult run(Long productId, List<DailyProductSales> saleDays, long lastDay, int origins,
+                               int[] horizons) {
+        Scores scores = new Scores(horizons.length);
+        if (saleDays.isEmpty() || saleDays.get(0).getEpochDay() > lastDay) {
+            return scores.toResult(productId, 0, horizons);
+        }
+
+        // Dense daily series from the first sale through yesterday, with running totals
+        long firstDay = saleDays.get(0).getEpochDay();
+        int length = (int) (lastDay - firstDay + 1);
+        double[] sold = new double[length];
+        for (DailyProductSales day : saleDays) {
+            if (day.getEpochDay() <= lastDay) {
+                sold[(int) (day.getEpochDay() - firstDay)] = day.getQtySold();
+            }
+        }
+        double[] cumulative = new double[length + 1];
+        for (int t = 0; t < length; t++) {
+            cumulative[t + 1] = cumulative[t] + sold[t];
+        }
+
+        // Origin t trains on days [0, t]; the last one leaves room for the shortest horizon
+        int lastOrigin = length - 1 - horizons[0];
+        int firstOrigin = Math.max(0, lastOrigin - origins + 1);
+
+        ProductSalesStats stats = ProductSalesStats.builder().productId(productId).build();
+        TimeSeriesKernel.LineFit line = new TimeSeriesKernel.LineFit();
+        DemandFeatures features = LinearRegressionPredictionService.FEATURES;
+        RegressionBatch batch = new RegressionBatch(features.width(), 1);
+        double[] row = features.newRow();
+        HoltWintersModel holtWinters = null;
+        double alpha = mlConfig.getSmoothingFactor();
+        double beta = mlConfig.getTrendSmoothingFactor();
+        double gamma = mlConfig.getSeasonalSmoothingFactor();
+        int seed = 2 * HoltWintersModel.SEASON_LENGTH;
+
+        int walked = 0;
+        for (int t = 0; t <= lastOrigin; t++) {
+            long day = firstDay + t;
+            if (sold[t] > 0) {
+                stats.addSale(day, (long) sold[t]);
+                batch.add(0, features.fill(batch.count(0), day, row), sold[t]);
+            }
+            if (t == seed - 1) {
+                holtWinters = HoltWintersModel.initialize(sold, firstDay);
+                for (int i = 0; i < seed; i++) {
+                    holtWinters.update(sold[i], alpha, beta, gamma);
+                }
+            } else if (holtWinters != null) {
+                holtWinters.update(sold[t], alpha, beta, gamma);
+            }
+            if (t < firstOrigin) {
+                continue;
+            }
+            walked++;
+
+            boolean lineReady = stats.getDayCount() >= 3;
+            if (lineReady) {
+                TimeSeriesKernel.fitFromSums(stats.getDayCount(), stats.sumX(), stats.sumX2(),
+                        stats.getSumY(), stats.getSumXY(), stats.getSumY2(), line);
+            }
+            boolean regressionReady = batch.count(0) >= LinearRegressionPredictionService.MIN_REGRESSION_SALE_DAYS
+                    && batch.solve(0, mlConfig.getRidgeLambda());
+
+            for (int j = 0; j < horizons.length; j++) {
+                int h = horizons[j];
+                if (t + h >= length) {
+                    break;
+                }
+                double actual = cumulative[t + 1 + h] - cumulative[t + 1];
+                if (lineReady) {
+                    double daily = LinearRegressionPredictionService.dailyDemand(line, stats.getDayCount(), h);
+                    scores.add(LINEAR, j, Math.max(0, daily * h), actual);
+                }
+                if (regressionReady) {
+                    scores.add(MULTIPLE_REGRESSION, j, batch.forecastTotal(0, features, day, h, row), actual);
+                }
+                if (holtWinters != null) {
+                    scores.add(HOLT_WINTERS, j, holtWinters.forecastTotal(h), actual);
+                }
+            }
+        }
+        return scores.toResult(productId, walked, horizons);
+    }
+
+    private int[] normalizeHorizons(Collection<Integer> horizons) {
+        if (horizons == null || horizons.isEmpty()) {
+            throw new RuntimeException("At least one horizon is required.");
+        }
+        TreeSet<Integer> sorted = new TreeSet<>(horizons);
+        if (sorted.first() < 1) {
+            throw new RuntimeException("Horizons must be at least 1 day.");
+        }
+        return sorted.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // Error sums per (model, horizon), flattened
+    private static final class Scores {
+        private final int horizons;
+        private final int[] points;
+        private final double[] absolute;
+        private final double[] squared;
+        private final double[] signed;
+        private final double[] percentage;
+        private final int[] percentagePoints;
+        private final int[] within;
+
+        Scores(int horizons) {
+            int size = MODELS.size() * horizons;
+            this.horizons = horizons;
+            this.points = new int[size];
+            this.absolute = new double[size];
+            this.squared = new double[size];
+            this.signed = new double[size];
+            this.percentage = new double[size];
+            this.percentagePoints = new int[size];
+            this.within = new int[size];
+        }
+
+        void add(int model, int horizon, double forecast, double actual) {
+            int i = model * horizons + horizon;
+            double error = forecast - actual;
+            points[i]++;
+            absolute[i] += Math.abs(error);
+            squared[i] += error * error;
+            signed[i] += error;
+            if (actual > 0) {
+                percentage[i] += Math.abs(error) / actual;
+                percentagePoints[i]++;
+            }
+            if (actual > 0 ? Math.abs(error) / actual <= 0.20 : forecast == 0) {
+                within[i]++;
+            }
+        }
+
+        BacktestResult toResult(Long productId, int origins, int[] horizonDays) {
+            List<ModelAccuracy> models = new ArrayList<>();
+            for (int m = 0; m < MODELS.size(); m++) {
+                for (int j = 0; j < horizons; j++) {
+                    int i = m * horizons + j;
+                    if (points[i] == 0) {
+                        continue;
+                    }
+                    int n = points[i];
+                    models.add(ModelAccuracy.builder()
+                            .model(MODELS.get(m))
+                            .horizonDays(horizonDays[j])
+                            .points(n)
+                            .mae(absolute[i] / n)
+                            .mape(percentagePoints[i] == 0 ? null : percentage[i] / percentagePoints[i] * 100)
+                            .rmse(Math.sqrt(squared[i] / n))
+                            .bias(signed[i] / n)
+                            .accuracy((double) within[i] / n * 100)
+                            .build());
+                }
+            }
+            return BacktestResult.builder().productId(productId).origins(origins).models(models).build();
+        }
+    }
+}
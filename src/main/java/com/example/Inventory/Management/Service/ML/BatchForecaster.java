@@ -0,0 +1,95 @@
+package com.example.Inventory.Management.Service.ML;
+
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.Entity.ProductSalesStats;
+import com.example.Inventory.Management.Repository.ProductSalesStatsRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Live forecasts for a page of already loaded products. The regression
+ * methods read the page's statistics with one IN query (multiple regression
+ * adds one for the sale days); Holt-Winters reads the sale days of products
+ * without a current model state with one IN query, and products with too
+ * short a history take the linear path. Fits do no I/O and run in parallel
+ * on a dedicated fork-join pool. Results follow the order of {@code products}.
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchForecaster {
+
+    private final ProductSalesStatsRepository statsRepository;
+    private final LinearRegressionPredictionService linearRegressionService;
+    private final HoltWintersForecastService holtWintersService;
+
+    // 0 uses one worker per core
+    @Value("${inventory.ml.batch.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void startPool() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void stopPool() {
+        pool.shutdownNow();
+    }
+
+    public List<InventoryPrediction> forecast(List<ProductDto> products, int days, String method) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        String normalized = ForecastService.normalizeMethod(method);
+        if (normalized.equals(PredictionCache.HOLT_WINTERS)) {
+            return forecastHoltWinters(products, days);
+        }
+        if (normalized.equals(PredictionCache.MULTIPLE_REGRESSION)) {
+            return linearRegressionService.predictWithMultipleFeatures(products, loadStats(products), days);
+        }
+        return forecastLinear(products, days);
+    }
+
+    private List<InventoryPrediction> forecastHoltWinters(List<ProductDto> products, int days) {
+        List<InventoryPrediction> predictions = new ArrayList<>(holtWintersService.predict(products, days, pool));
+        List<ProductDto> shortHistory = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            if (predictions.get(i) == null) {
+                shortHistory.add(products.get(i));
+            }
+        }
+        if (!shortHistory.isEmpty()) {
+            Iterator<InventoryPrediction> linear = forecastLinear(shortHistory, days).iterator();
+            predictions.replaceAll(prediction -> prediction != null ? prediction : linear.next());
+        }
+        return predictions;
+    }
+
+    private Map<Long, ProductSalesStats> loadStats(List<ProductDto> products) {
+        return statsRepository.findAllById(products.stream().map(ProductDto::getId).toList()).stream()
+                .collect(Collectors.toMap(ProductSalesStats::getProductId, Function.identity()));
+    }
+
+    private List<InventoryPrediction> forecastLinear(List<ProductDto> products, int days) {
+        Map<Long, ProductSalesStats> stats = loadStats(products);
+        return pool.submit(() -> products.parallelStream()
+                .map(product -> linearRegressionService.predictInventoryWithLinearRegression(product,
+                        stats.getOrDefault(product.getId(),
+                                ProductSalesStats.builder().productId(product.getId()).build()),
+                        days))
+                .toList()).join();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Inventory.Management.Service.ML;
+
+import java.time.LocalDate;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+
+/**
+ * A block of columns in the multiple regression's design row, computed from a
+ * sale day's position in the history and its calendar day. Implementations
+ * must be stateless, since one instance serves every product and thread.
+ */
+public interface DemandFeature {
+
+    /**
+     * Sale-day index plus one, the same trend the single-variable model uses.
+     */
+    DemandFeature TREND = of(1, (index, epochDay, row, offset) -> row[offset] = index + 1);
+
+    /**
+     * Tuesday..Sunday indicators; Monday is the baseline.
+     */
+    DemandFeature DAY_OF_WEEK = of(6, (index, epochDay, row, offset) -> {
+        int dayOfWeek = TimeSeriesKernel.dayOfWeek(epochDay);
+        for (int d = 1; d < 7; d++) {
+            row[offset + d - 1] = d == dayOfWeek ? 1.0 : 0.0;
+        }
+    });
+
+    /**
+     * February..December indicators; January is the baseline.
+     */
+    DemandFeature MONTH = of(11, (index, epochDay, row, offset) -> {
+        int month = LocalDate.ofEpochDay(epochDay).getMonthValue();
+        for (int m = 2; m <= 12; m++) {
+            row[offset + m - 2] = m == month ? 1.0 : 0.0;
+        }
+    });
+
+    int width();
+
+    // Writes columns [offset, offset + width()) of the row
+    void fill(int index, long epochDay, double[] row, int offset);
+
+    /**
+     * Unit price in effect on each day, from a price history.
+     */
+    static DemandFeature price(LongToDoubleFunction priceOnDay) {
+        return of(1, (index, epochDay, row, offset) -> row[offset] = priceOnDay.applyAsDouble(epochDay));
+    }
+
+    /**
+     * 1 on days a promotion ran, 0 otherwise.
+     */
+    static DemandFeature promotion(LongPredicate promotedOnDay) {
+        return of(1, (index, epochDay, row, offset) -> row[offset] = promotedOnDay.test(epochDay) ? 1.0 : 0.0);
+    }
+
+    static DemandFeature of(int width, Filler filler) {
+        return new DemandFeature() {
+            @Override
+            public int width() {
+                return width;
+            }
+
+            @Override
+            public void fill(int index, long epochDay, double[] row, int offset) {
+                filler.fill(index, epochDay, row, offset);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface Filler {
+        void fill(int index, long epochDay, double[] row, int offset);
+    }
+}
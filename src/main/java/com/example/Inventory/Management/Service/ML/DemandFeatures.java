@@ -0,0 +1,51 @@
+package com.example.Inventory.Management.Service.ML;
+
+import java.util.List;
+
+/**
+ * An ordered set of {@link DemandFeature}s behind an intercept column: the
+ * layout of one design row of the multiple regression.
+ */
+public final class DemandFeatures {
+
+    private final DemandFeature[] features;
+    private final int width;
+
+    private DemandFeatures(DemandFeature[] features) {
+        this.features = features;
+        int columns = 1;
+        for (DemandFeature feature : features) {
+            columns += feature.width();
+        }
+        this.width = columns;
+    }
+
+    public static DemandFeatures of(DemandFeature... features) {
+        return new DemandFeatures(features.clone());
+    }
+
+    public static DemandFeatures of(List<DemandFeature> features) {
+        return new DemandFeatures(features.toArray(DemandFeature[]::new));
+    }
+
+    /**
+     * Columns per row, including the intercept.
+     */
+    public int width() {
+        return width;
+    }
+
+    public double[] newRow() {
+        return new double[width];
+    }
+
+    public double[] fill(int index, long epochDay, double[] row) {
+        row[0] = 1.0;
+        int offset = 1;
+        for (DemandFeature feature : features) {
+            feature.fill(index, epochDay, row, offset);
+            offset += feature.width();
+        }
+        return row;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.Inventory.Management.Service.ML;
+
+import com.example.Inventory.Management.DTO.KeysetPage;
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.Entity.ForecastSnapshot;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-product forecasts by method name. A nightly snapshot for the requested
+ * method and horizon is served when one exists, unless a live forecast is
+ * asked for; live forecasts go through the {@link PredictionCache}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ForecastService {
+
+    private final PredictionCache predictionCache;
+    private final LinearRegressionPredictionService linearRegressionService;
+    private final HoltWintersForecastService holtWintersService;
+    private final ForecastSnapshotService snapshotService;
+    private final BatchForecaster batchForecaster;
+    private final ProductRepository productRepository;
+
+    public InventoryPrediction forecast(Long productId, int days, String method) {
+        return forecast(productId, days, method, false);
+    }
+
+    public InventoryPrediction forecast(Long productId, int days, String method, boolean live) {
+        String normalized = normalizeMethod(method);
+        if (!live) {
+            InventoryPrediction fromSnapshot = snapshotService.find(productId, normalized, days)
+                    .flatMap(snapshot -> productRepository.findDtoById(productId)
+                            .map(product -> snapshotService.toPrediction(snapshot, product)))
+                    .orElse(null);
+            if (fromSnapshot != null) {
+                return fromSnapshot;
+            }
+        }
+        return predictionCache.get(productId, days, normalized, () -> switch (normalized) {
+            case PredictionCache.MULTIPLE_REGRESSION -> linearRegressionService.predictWithMultipleFeatures(productId, days);
+            case PredictionCache.HOLT_WINTERS -> holtWintersService.predict(productId, days);
+            default -> linearRegressionService.predictInventoryWithLinearRegression(productId, days);
+        });
+    }
+
+    /**
+     * Forecasts for a screenful of products in a few set-based queries: the
+     * products, their snapshots, and the statistics of those without one.
+     * Results are keyed by product id in id order; unknown ids are left out.
+     */
+    public Map<Long, InventoryPrediction> forecastAll(Collection<Long> productIds, int days, String method,
+                                                      boolean live) {
+        String normalized = normalizeMethod(method);
+        List<Long> ids = productIds.stream().distinct().toList();
+        if (ids.size() > KeysetPage.MAX_SIZE) {
+            throw new RuntimeException("At most " + KeysetPage.MAX_SIZE
+                    + " products per request. Use a prediction job for larger sets.");
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        List<ProductDto> products = productRepository.findDtosByIdIn(ids);
+        Map<Long, ForecastSnapshot> snapshots = live ? Map.of()
+                : snapshotService.findAll(ids, normalized, days);
+        List<ProductDto> missing = products.stream()
+                .filter(product -> !snapshots.containsKey(product.getId()))
+                .toList();
+        Map<Long, InventoryPrediction> computed = new LinkedHashMap<>();
+        List<InventoryPrediction> predictions = batchForecaster.forecast(missing, days, normalized);
+        for (int i = 0; i < missing.size(); i++) {
+            computed.put(missing.get(i).getId(), predictions.get(i));
+        }
+
+        Map<Long, InventoryPrediction> results = new LinkedHashMap<>();
+        for (ProductDto product : products) {
+            ForecastSnapshot snapshot = snapshots.get(product.getId());
+            results.put(product.getId(), snapshot != null
+                    ? snapshotService.toPrediction(snapshot, product)
+                    : computed.get(product.getId()));
+        }
+        return results;
+    }
+
+    public static String normalizeMethod(String method) {
+        if (method == null || method.isBlank()) {
+            return PredictionCache.LINEAR;
+        }
+        String normalized = method.trim().toLowerCase(Locale.ROOT);
+        if (!normalized.equals(PredictionCache.LINEAR) && !normalized.equals(PredictionCache.MULTIPLE_REGRESSION)
+                && !normalized.equals(PredictionCache.HOLT_WINTERS)) {
+            throw new RuntimeException("Invalid prediction method. Must be linear, multiple-regression or holt-winters.");
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.Inventory.Management.Service.ML;
+
+import com.example.Inventory.Management.Config.MLConfig;
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.Entity.ForecastSnapshot;
+import com.example.Inventory.Management.Entity.ForecastSnapshotRun;
+import com.example.Inventory.Management.Repository.ForecastSnapshotRepository;
+import com.example.Inventory.Management.Repository.ForecastSnapshotRunRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputed forecasts for the whole catalog in {@code forecast_snapshot},
+ * one row per product and configured method at the default horizon.
+ *
+ * A refresh walks the products in keyset partitions. Unless it is a full run,
+ * only products whose snapshot is missing or older than their inputs are
+ * selected. Partitions are fitted in parallel in waves of
+ * {@code inventory.forecast.snapshot.parallelism}, and the run is checkpointed
+ * after each wave, so an interrupted run resumes after the last finished
+ * product. Runs started through the API fit on a background worker and are
+ * polled through {@link #getLatestRun()}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ForecastSnapshotService {
+
+    static final int PARTITION_SIZE = 500;
+
+    private final ForecastSnapshotRepository snapshotRepository;
+    private final ForecastSnapshotRunRepository runRepository;
+    private final BatchForecaster batchForecaster;
+    private final MLConfig mlConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${inventory.forecast.snapshot.parallelism:4}")
+    private int parallelism;
+
+    @Value("${inventory.forecast.snapshot.methods:linear}")
+    private List<String> methods;
+
+    private ExecutorService refreshWorker;
+
+    @PostConstruct
+    void startWorker() {
+        refreshWorker = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "forecast-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopWorker() {
+        refreshWorker.shutdownNow();
+    }
+
+    /**
+     * Start a refresh on the background worker and return its run, still
+     * RUNNING. The run is created or resumed before this returns, so its id is
+     * the one {@link #getLatestRun()} reports.
+     */
+    public ForecastSnapshotRun start(boolean full) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("A forecast snapshot refresh is already running.");
+        }
+        try {
+            ForecastSnapshotRun run = resumeOrStart(full);
+            Long runId = run.getId();
+            refreshWorker.execute(() -> {
+                try {
+                    // The worker checkpoints its own copy; the returned run is not touched again
+                    refresh(full, runRepository.findById(runId).orElseThrow());
+                } catch (RuntimeException e) {
+                    log.error("Forecast snapshot run {} failed", runId, e);
+                } finally {
+                    running.set(false);
+                }
+            });
+            return run;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public ForecastSnapshotRun refresh(boolean full) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("A forecast snapshot refresh is already running.");
+        }
+        try {
+            return refresh(full, resumeOrStart(full));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ForecastSnapshotRun refresh(boolean full, ForecastSnapshotRun run) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            int days = mlConfig.getDefaultPredictionDays();
+            List<String> configured = methods.stream().map(ForecastService::normalizeMethod).distinct().toList();
+            int resumeAt = Math.max(0, configured.indexOf(run.getMethod()));
+            for (int m = resumeAt; m < configured.size(); m++) {
+                String method = configured.get(m);
+                long afterId = method.equals(run.getMethod()) ? run.getLastProductId() : 0;
+                run.setMethod(method);
+                boolean more = true;
+                while (more) {
+                    // Read a wave of partitions ahead, fit them in parallel, then checkpoint
+                    List<List<ProductDto>> wave = new ArrayList<>();
+                    while (more && wave.size() < Math.max(1, parallelism)) {
+                        List<ProductDto> partition = snapshotRepository.findPageNeedingRefit(
+                                method, days, full, afterId, PageRequest.ofSize(PARTITION_SIZE));
+                        if (!partition.isEmpty()) {
+                            wave.add(partition);
+                            afterId = partition.get(partition.size() - 1).getId();
+                        }
+                        more = partition.size() == PARTITION_SIZE;
+                    }
+
+                    List<Future<Integer>> futures = new ArrayList<>(wave.size());
+                    for (List<ProductDto> partition : wave) {
+                        futures.add(executor.submit(() -> refitPartition(partition, method, days)));
+                    }
+                    long refitted = 0;
+                    for (Future<Integer> future : futures) {
+                        refitted += future.get();
+                    }
+                    run.setLastProductId(afterId);
+                    run.setRefitted(run.getRefitted() + refitted);
+                    run.setUpdatedAt(LocalDateTime.now());
+                    run = runRepository.save(run);
+                }
+            }
+
+            run.setStatus(ForecastSnapshotRun.COMPLETED);
+            run.setFinishedAt(LocalDateTime.now());
+            run.setUpdatedAt(run.getFinishedAt());
+            run = runRepository.save(run);
+            log.info("Forecast snapshot run {} refitted {} products", run.getId(), run.getRefitted());
+            return run;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failed(run, e);
+        } catch (ExecutionException e) {
+            throw failed(run, e.getCause());
+        } catch (RuntimeException e) {
+            throw failed(run, e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public Optional<ForecastSnapshotRun> getLatestRun() {
+        return runRepository.findFirstByOrderByIdDesc();
+    }
+
+    public Optional<ForecastSnapshot> find(Long productId, String method, int days) {
+        return snapshotRepository.findById(new ForecastSnapshot.Key(productId, method))
+                .filter(snapshot -> snapshot.getDaysAhead() == days);
+    }
+
+    public Map<Long, ForecastSnapshot> findAll(Collection<Long> productIds, String method, int days) {
+        return snapshotRepository.findByProductIdInAndMethod(productIds, method).stream()
+                .filter(snapshot -> snapshot.getDaysAhead() == days)
+                .collect(Collectors.toMap(ForecastSnapshot::getProductId, Function.identity()));
+    }
+
+    /**
+     * The snapshot's forecast against the product as it is now: current stock
+     * and name are live, the forecast is as of {@code snapshotAt}.
+     */
+    public InventoryPrediction toPrediction(ForecastSnapshot snapshot, ProductDto product) {
+        return InventoryPrediction.builder()
+                .productId(product.getId())
+                .productName(product.getName())
+                .currentStock(product.getQuantity())
+                .predictedDemand(snapshot.getPredictedDemand())
+                .safetyStock(snapshot.getSafetyStock())
+                .reorderPoint(snapshot.getReorderPoint())
+                .optimalOrderQuantity(snapshot.getOptimalOrderQuantity())
+                .predictionDate(snapshot.getComputedAt())
+                .daysAhead(snapshot.getDaysAhead())
+                .predictionMethod(snapshot.getPredictionMethod())
+                .confidence(snapshot.getConfidence())
+                .snapshotAt(snapshot.getComputedAt())
+                .build();
+    }
+
+    private int refitPartition(List<ProductDto> products, String method, int days) {
+        LocalDateTime computedAt = LocalDateTime.now();
+        List<Long> ids = products.stream().map(ProductDto::getId).toList();
+        List<InventoryPrediction> predictions = batchForecaster.forecast(products, days, method);
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            Map<Long, ForecastSnapshot> existing = snapshotRepository.findByProductIdInAndMethod(ids, method)
+                    .stream()
+                    .collect(Collectors.toMap(ForecastSnapshot::getProductId, Function.identity()));
+            List<ForecastSnapshot> created = new ArrayList<>();
+            for (int i = 0; i < products.size(); i++) {
+                ProductDto product = products.get(i);
+                InventoryPrediction prediction = predictions.get(i);
+                ForecastSnapshot snapshot = existing.get(product.getId());
+                if (snapshot == null) {
+                    snapshot = ForecastSnapshot.builder().productId(product.getId()).method(method).build();
+                    created.add(snapshot);
+                }
+                snapshot.setDaysAhead(days);
+                snapshot.setPredictionMethod(prediction.getPredictionMethod());
+                snapshot.setPredictedDemand(prediction.getPredictedDemand());
+                snapshot.setSafetyStock(prediction.getSafetyStock());
+                snapshot.setReorderPoint(prediction.getReorderPoint());
+                snapshot.setOptimalOrderQuantity(prediction.getOptimalOrderQuantity());
+                snapshot.setConfidence(prediction.getConfidence());
+                snapshot.setUnitPrice(product.getPrice());
+                snapshot.setProductQuantity(product.getQuantity());
+                snapshot.setComputedAt(computedAt);
+            }
+            snapshotRepository.saveAll(created);
+        });
+        eventPublisher.publishEvent(new ForecastSnapshotsRefreshedEvent(ids, method, days));
+        return products.size();
+    }
+
+    // An unfinished run of the same kind is picked up where it stopped
+    private ForecastSnapshotRun resumeOrStart(boolean full) {
+        LocalDateTime now = LocalDateTime.now();
+        ForecastSnapshotRun run = runRepository.findFirstByOrderByIdDesc()
+                .filter(latest -> !ForecastSnapshotRun.COMPLETED.equals(latest.getStatus()) && latest.isFull() == full)
+                .orElseGet(() -> ForecastSnapshotRun.builder().full(full).startedAt(now).build());
+        run.setStatus(ForecastSnapshotRun.RUNNING);
+        run.setUpdatedAt(now);
+        return runRepository.save(run);
+    }
+
+    private RuntimeException failed(ForecastSnapshotRun run, Throwable cause) {
+        run.setStatus(ForecastSnapshotRun.FAILED);
+        run.setUpdatedAt(LocalDateTime.now());
+        runRepository.save(run);
+        return new RuntimeException("Forecast snapshot run " + run.getId() + " failed after product "
+                + run.getLastProductId() + ": " + cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.Inventory.Management.Service.ML;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published after a partition of forecast snapshots has been written.
+ */
+@Value
+public class ForecastSnapshotsRefreshedEvent {
+    List<Long> productIds;
+    String method;
+    int days;
+}
@@ -0,0 +1,232 @@
+package com.example.Inventory.Management.Service.ML;
+
+import com.example.Inventory.Management.Config.MLConfig;
+import com.example.Inventory.Management.DTO.DailySalesDto;
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.Entity.DailyProductSales;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Repository.DailyProductSalesRepository;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Additive Holt-Winters forecasts (level, trend and day-of-week seasonality)
+ * over each product's daily sales, days without sales counting as zero.
+ *
+ * The model state is kept per product and covers complete days only, up to
+ * yesterday. A forecast folds in the days completed since the state was last
+ * advanced, one O(1) step per day, reading just those days from the rollup.
+ * A write that changes an already folded day drops the state, and the next
+ * forecast refits from the full rollup. States are held in memory, bounded by
+ * {@code inventory.ml.holt-winters.maximum-products}. A page of products is
+ * forecast with one IN query for the sale days of those without a current
+ * state, and fitted in parallel.
+ *
+ * Smoothing factors come from {@link MLConfig}: {@code smoothingFactor} for the
+ * level, {@code trendSmoothingFactor} and {@code seasonalSmoothingFactor}.
+ * Products with less than two weeks of history get the Linear Regression
+ * forecast.
+ */
+@Service
+public class HoltWintersForecastService {
+
+    static final int SEASON_LENGTH = HoltWintersModel.SEASON_LENGTH;
+
+    private final ProductRepository productRepository;
+    private final DailyProductSalesRepository dailySalesRepository;
+    private final LinearRegressionPredictionService linearRegressionService;
+    private final MLConfig mlConfig;
+    private final InventoryPolicy inventoryPolicy;
+    private final Cache<Long, HoltWintersModel> states;
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    public HoltWintersForecastService(ProductRepository productRepository,
+                                      DailyProductSalesRepository dailySalesRepository,
+                                      LinearRegressionPredictionService linearRegressionService,
+                                      MLConfig mlConfig,
+                                      InventoryPolicy inventoryPolicy,
+                                      @Value("${inventory.ml.holt-winters.maximum-products:100000}") long maximumProducts) {
+        this.productRepository = productRepository;
+        this.dailySalesRepository = dailySalesRepository;
+        this.linearRegressionService = linearRegressionService;
+        this.mlConfig = mlConfig;
+        this.inventoryPolicy = inventoryPolicy;
+        this.states = Caffeine.newBuilder().maximumSize(maximumProducts).build();
+    }
+
+    public InventoryPrediction predict(Long productId, int daysToPredict) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+
+        HoltWintersModel model = currentModel(productId, LocalDate.now().toEpochDay() - 1);
+        if (model == null) {
+            return linearRegressionService.predictInventoryWithLinearRegression(productId, daysToPredict);
+        }
+        return toPrediction(model, productId, product.getName(), product.getQuantity(), product.getPrice(),
+                daysToPredict);
+    }
+
+    /**
+     * Forecasts for a page of already loaded products, in the order given. The
+     * sale days of products without a current state are read with one IN query
+     * and the models are fitted on {@code pool}. Entries are null for products
+     * whose history is shorter than two seasons; the caller picks their
+     * fallback.
+     */
+    public List<InventoryPrediction> predict(List<ProductDto> products, int daysToPredict, ForkJoinPool pool) {
+        long throughDay = LocalDate.now().toEpochDay() - 1;
+        Map<Long, Long> generationsRead = new HashMap<>();
+        Map<Long, HoltWintersModel> cachedModels = new HashMap<>();
+        List<Long> stale = new ArrayList<>();
+        for (ProductDto product : products) {
+            generationsRead.put(product.getId(), generations.getOrDefault(product.getId(), 0L));
+            HoltWintersModel cached = states.getIfPresent(product.getId());
+            if (cached != null) {
+                cachedModels.put(product.getId(), cached);
+            }
+            if (cached == null || cached.getThroughEpochDay() < throughDay) {
+                stale.add(product.getId());
+            }
+        }
+
+        Map<Long, List<DailySalesDto>> saleDays = new HashMap<>();
+        if (!stale.isEmpty()) {
+            for (DailyProductSales day : dailySalesRepository.findSaleDaysForProducts(stale)) {
+                saleDays.computeIfAbsent(day.getProductId(), id -> new ArrayList<>())
+                        .add(new DailySalesDto(day.getEpochDay(), day.getQtySold(), day.getQtyPurchased()));
+            }
+        }
+
+        return pool.submit(() -> products.parallelStream()
+                .map(product -> {
+                    HoltWintersModel model = advance(product.getId(), cachedModels.get(product.getId()),
+                            saleDays.getOrDefault(product.getId(), List.of()), throughDay,
+                            generationsRead.get(product.getId()));
+                    return model == null ? null : toPrediction(model, product.getId(), product.getName(),
+                            product.getQuantity(), product.getPrice(), daysToPredict);
+                })
+                .toList()).join();
+    }
+
+    private InventoryPrediction toPrediction(HoltWintersModel model, Long productId, String productName,
+                                             Integer currentStock, Double price, int daysToPredict) {
+        double predictedTotalDemand = model.forecastTotal(daysToPredict);
+        double predictedDailyDemand = daysToPredict > 0 ? predictedTotalDemand / daysToPredict : 0.0;
+
+        double safetyStock = inventoryPolicy.safetyStock(model.errorStdDev());
+        double reorderPoint = inventoryPolicy.reorderPoint(predictedDailyDemand, safetyStock);
+        double optimalOrderQty = inventoryPolicy.optimalOrderQuantity(predictedTotalDemand, price);
+
+        return InventoryPrediction.builder()
+                .productId(productId)
+                .productName(productName)
+                .currentStock(currentStock)
+                .predictedDemand(predictedTotalDemand)
+                .safetyStock(safetyStock)
+                .reorderPoint(reorderPoint)
+                .optimalOrderQuantity(optimalOrderQty)
+                .predictionDate(LocalDateTime.now())
+                .daysAhead(daysToPredict)
+                .predictionMethod("Holt-Winters")
+                .confidence(model.confidence())
+                .build();
+    }
+
+    // Drops states that folded a day the write changed; appends for today leave them alone
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPredictionInputsChanged(PredictionInputsChangedEvent event) {
+        for (Long productId : event.getProductIds()) {
+            generations.merge(productId, 1L, Long::sum);
+            states.asMap().computeIfPresent(productId,
+                    (id, model) -> model.getThroughEpochDay() >= event.getFromEpochDay() ? null : model);
+        }
+    }
+
+    /**
+     * The product's model advanced through {@code throughDay}, or null if its
+     * history is shorter than two seasons.
+     */
+    private HoltWintersModel currentModel(Long productId, long throughDay) {
+        // Read before the rollup, so a model built from rows a concurrent write replaced is not kept
+        long generation = generations.getOrDefault(productId, 0L);
+        HoltWintersModel cached = states.getIfPresent(productId);
+        if (cached != null && cached.getThroughEpochDay() >= throughDay) {
+            return cached;
+        }
+
+        return advance(productId, cached, cached == null
+                ? dailySalesRepository.findSaleDays(productId)
+                : dailySalesRepository.findSaleDaysBetween(productId, cached.getThroughEpochDay() + 1, throughDay),
+                throughDay, generation);
+    }
+
+    /**
+     * Advances {@code cached}, or fits a new model when it is null, with sale
+     * days that cover at least the days after it, and keeps the result unless a
+     * write moved the product past {@code generation}.
+     */
+    private HoltWintersModel advance(Long productId, HoltWintersModel cached, List<DailySalesDto> saleDays,
+                                     long throughDay, long generation) {
+        if (cached != null && cached.getThroughEpochDay() >= throughDay) {
+            return cached;
+        }
+        HoltWintersModel advanced;
+        if (cached == null) {
+            if (saleDays.isEmpty() || throughDay - saleDays.get(0).getEpochDay() + 1 < 2 * SEASON_LENGTH) {
+                return null;
+            }
+            advanced = initialize(saleDays);
+        } else {
+            advanced = cached.copy();
+        }
+        fold(advanced, saleDays, throughDay);
+
+        states.asMap().compute(productId, (id, current) ->
+                generations.getOrDefault(productId, 0L) == generation ? advanced : current);
+        return advanced;
+    }
+
+    // The first two weeks, zero-filled, seed the model
+    private HoltWintersModel initialize(List<DailySalesDto> saleDays) {
+        long firstDay = saleDays.get(0).getEpochDay();
+        double[] y = new double[2 * SEASON_LENGTH];
+        for (DailySalesDto day : saleDays) {
+            long offset = day.getEpochDay() - firstDay;
+            if (offset >= y.length) {
+                break;
+            }
+            y[(int) offset] = day.getQtySold();
+        }
+        return HoltWintersModel.initialize(y, firstDay);
+    }
+
+    // One smoothing step per day after the model's last day, through throughDay
+    private void fold(HoltWintersModel model, List<DailySalesDto> saleDays, long throughDay) {
+        double alpha = mlConfig.getSmoothingFactor();
+        double beta = mlConfig.getTrendSmoothingFactor();
+        double gamma = mlConfig.getSeasonalSmoothingFactor();
+        int next = 0;
+        for (long day = model.getThroughEpochDay() + 1; day <= throughDay; day++) {
+            while (next < saleDays.size() && saleDays.get(next).getEpochDay() < day) {
+                next++;
+            }
+            double sold = next < saleDays.size() && saleDays.get(next).getEpochDay() == day
+                    ? saleDays.get(next).getQtySold()
+                    : 0.0;
+            model.update(sold, alpha, beta, gamma);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.Inventory.Management.Service.ML;
+
+/**
+ * Additive Holt-Winters state over a daily series with day-of-week
+ * seasonality, advanced one day at a time. Also tracks its one-step-ahead
+ * errors for the safety stock and confidence.
+ */
+final class HoltWintersModel {
+
+    static final int SEASON_LENGTH = 7;
+
+    private double level;
+    private double trend;
+    private final double[] season = new double[SEASON_LENGTH];
+    private long throughEpochDay;
+    private int errorCount;
+    private double sumSquaredError;
+    private double sumAbsoluteError;
+    private double sumActual;
+
+    /**
+     * Starting level, trend and seasonal indices from the first two weeks of
+     * {@code firstTwoWeeks}, which starts on {@code firstDay}. No day is folded
+     * in yet.
+     */
+    static HoltWintersModel initialize(double[] firstTwoWeeks, long firstDay) {
+        double firstMean = 0, secondMean = 0;
+        for (int i = 0; i < SEASON_LENGTH; i++) {
+            firstMean += firstTwoWeeks[i] / SEASON_LENGTH;
+            secondMean += firstTwoWeeks[i + SEASON_LENGTH] / SEASON_LENGTH;
+        }
+
+        HoltWintersModel model = new HoltWintersModel();
+        model.level = firstMean;
+        model.trend = (secondMean - firstMean) / SEASON_LENGTH;
+        for (int i = 0; i < SEASON_LENGTH; i++) {
+            model.season[TimeSeriesKernel.dayOfWeek(firstDay + i)] =
+                    ((firstTwoWeeks[i] - firstMean) + (firstTwoWeeks[i + SEASON_LENGTH] - secondMean)) / 2;
+        }
+        model.throughEpochDay = firstDay - 1;
+        return model;
+    }
+
+    // Folds in the day after the last folded one
+    void update(double actual, double alpha, double beta, double gamma) {
+        long day = throughEpochDay + 1;
+        int s = TimeSeriesKernel.dayOfWeek(day);
+        double error = actual - (level + trend + season[s]);
+        errorCount++;
+        sumSquaredError += error * error;
+        sumAbsoluteError += Math.abs(error);
+        sumActual += actual;
+
+        double previousLevel = level;
+        level = alpha * (actual - season[s]) + (1 - alpha) * (level + trend);
+        trend = beta * (level - previousLevel) + (1 - beta) * trend;
+        season[s] = gamma * (actual - level) + (1 - gamma) * season[s];
+        throughEpochDay = day;
+    }
+
+    // Demand h days after the last folded day
+    double forecast(int h) {
+        return level + h * trend + season[TimeSeriesKernel.dayOfWeek(throughEpochDay + h)];
+    }
+
+    // Total demand over the next days, no day below zero
+    double forecastTotal(int days) {
+        double total = 0;
+        for (int h = 1; h <= days; h++) {
+            total += Math.max(0, forecast(h));
+        }
+        return total;
+    }
+
+    long getThroughEpochDay() {
+        return throughEpochDay;
+    }
+
+    double errorStdDev() {
+        return errorCount == 0 ? 0.0 : Math.sqrt(sumSquaredError / errorCount);
+    }
+
+    // One minus the weighted absolute percentage error
+    double confidence() {
+        return sumActual > 0 ? Math.max(0.0, Math.min(1.0, 1 - sumAbsoluteError / sumActual)) : 0.0;
+    }
+
+    HoltWintersModel copy() {
+        HoltWintersModel copy = new HoltWintersModel();
+        copy.level = level;
+        copy.trend = trend;
+        System.arraycopy(season, 0, copy.season, 0, SEASON_LENGTH);
+        copy.throughEpochDay = throughEpochDay;
+        copy.errorCount = errorCount;
+        copy.sumSquaredError = sumSquaredError;
+        copy.sumAbsoluteError = sumAbsoluteError;
+        copy.sumActual = sumActual;
+        return copy;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.Inventory.Management.Service.ML;
+
+import com.example.Inventory.Management.Config.MLConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stock policy shared by the forecasting models: safety stock, reorder point
+ * and order quantity for the service level, lead time and costs in
+ * {@link MLConfig}.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryPolicy {
+
+    private final MLConfig mlConfig;
+
+    // Safety stock = Z-score * std dev of daily demand * sqrt(lead time), at least one unit
+    public double safetyStock(double dailyStdDev) {
+        return Math.max(1.0, mlConfig.getZScore() * dailyStdDev * Math.sqrt(mlConfig.getLeadTimeDays()));
+    }
+
+    public double reorderPoint(double dailyDemand, double safetyStock) {
+        return Math.max(safetyStock, dailyDemand * mlConfig.getLeadTimeDays() + safetyStock);
+    }
+
+    // EOQ formula
+    public double optimalOrderQuantity(double predictedDemand, double unitPrice) {
+        double annualDemand = Math.max(1.0, predictedDemand * 12); // Ensure positive
+        double holdingCost = Math.max(1.0, unitPrice * mlConfig.getHoldingCostRate());
+        return Math.sqrt((2 * annualDemand * mlConfig.getOrderingCost()) / holdingCost);
+    }
+}
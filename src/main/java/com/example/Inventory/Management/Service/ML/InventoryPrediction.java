@@ -24,6 +24,8 @@ public class InventoryPrediction {
     private Integer daysAhead;
     private String predictionMethod;
     private Double confidence;
+    // When the forecast was precomputed; null if it was computed for this request
+    private LocalDateTime snapshotAt;
     
     // Calculated properties
     public boolean isRestockNeeded() {
@@ -1,12 +1,16 @@
 package com.example.Inventory.Management.Service.ML;
 
+import com.example.Inventory.Management.Config.MLConfig;
+import com.example.Inventory.Management.DTO.DailySalesDto;
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.Entity.DailyProductSales;
 import com.example.Inventory.Management.Entity.Product;
-import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Entity.ProductSalesStats;
 import com.example.Inventory.Management.Repository.ProductRepository;
-import com.example.Inventory.Management.Repository.StockEntryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -14,43 +18,60 @@ import java.util.*;
 @RequiredArgsConstructor
 public class LinearRegressionPredictionService {
 
+    // Trend, weekday and month; price and promotion columns plug in once that history is recorded
+    static final DemandFeatures FEATURES =
+            DemandFeatures.of(DemandFeature.TREND, DemandFeature.DAY_OF_WEEK, DemandFeature.MONTH);
+
+    // Sale days needed before the multiple regression is fitted: one per column plus
+    // ten residual degrees of freedom, so its confidence is not an overfit
+    static final int MIN_REGRESSION_SALE_DAYS = FEATURES.width() + 10;
+
     private final ProductRepository productRepository;
-    private final StockEntryRepository stockEntryRepository;
+    private final SalesStatisticsService salesStatisticsService;
+    private final MLConfig mlConfig;
+    private final InventoryPolicy inventoryPolicy;
 
     /**
-     * Main prediction method using Linear Regression
+     * Main prediction method using Linear Regression. The fit is read from the
+     * product's maintained sales statistics, so it costs the same for any
+     * history length.
      */
     public InventoryPrediction predictInventoryWithLinearRegression(Long productId, int daysToPredict) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
-        List<StockEntry> stockHistory = stockEntryRepository.findByProduct_Id(productId);
-        
-        if (stockHistory.size() < 5) {
-            return getSimplePrediction(product, daysToPredict);
+        return predictInventoryWithLinearRegression(snapshot(product),
+                salesStatisticsService.getStats(productId), daysToPredict);
+    }
+
+    /**
+     * Linear Regression forecast from already loaded inputs. Does no I/O, so
+     * callers that bulk-load products and statistics can run it in parallel.
+     */
+    public InventoryPrediction predictInventoryWithLinearRegression(ProductDto product, ProductSalesStats stats,
+                                                                   int daysToPredict) {
+        if (stats.getEntryCount() < 5) {
+            return getSimplePrediction(product, daysToPredict, stats);
         }
 
-        // Prepare time series data
-        List<DataPoint> salesDataPoints = prepareDailySalesData(stockHistory);
-        
-        if (salesDataPoints.size() < 3) {
-            return getSimplePrediction(product, daysToPredict);
+        if (stats.getDayCount() < 3) {
+            return getSimplePrediction(product, daysToPredict, stats);
         }
 
         // Apply Linear Regression
-        LinearRegressionModel model = trainLinearRegression(salesDataPoints);
+        TimeSeriesKernel.LineFit model = trainLinearRegression(stats);
         
         // Predict future demand
-        double predictedDailyDemand = model.predict(salesDataPoints.size() + daysToPredict / 2.0);
+        double predictedDailyDemand = dailyDemand(model, stats.getDayCount(), daysToPredict);
         double predictedTotalDemand = Math.max(0, predictedDailyDemand * daysToPredict);
         
         // Calculate additional metrics
-        double safetyStock = calculateSafetyStockFromRegression(salesDataPoints, model);
+        double safetyStock = calculateSafetyStockFromRegression(stats.getDayCount(), model.residualVariance());
         double reorderPoint = calculateReorderPoint(predictedDailyDemand, safetyStock);
         double optimalOrderQty = calculateOptimalOrderQuantity(predictedTotalDemand, product);
 
         return InventoryPrediction.builder()
-                .productId(productId)
+                .productId(product.getId())
                 .productName(product.getName())
                 .currentStock(product.getQuantity())
                 .predictedDemand(predictedTotalDemand)
@@ -70,40 +91,82 @@ public class LinearRegressionPredictionService {
     public InventoryPrediction predictWithMultipleFeatures(Long productId, int daysToPredict) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
+        ProductDto snapshot = snapshot(product);
 
-        List<StockEntry> stockHistory = stockEntryRepository.findByProduct_Id(productId);
+        ProductSalesStats stats = salesStatisticsService.getStats(productId);
         
-        // FIXED: Changed condition from < 10 to <= 10 to match the test expectation
-        if (stockHistory.size() <= 10) {
+        if (stats.getDayCount() < MIN_REGRESSION_SALE_DAYS) {
             // Fall back to simple linear regression for insufficient data
-            return predictInventoryWithLinearRegression(productId, daysToPredict);
+            return predictInventoryWithLinearRegression(snapshot, stats, daysToPredict);
         }
 
-        // Prepare data for multiple regression
-        List<MultiFeatureDataPoint> dataPoints = prepareMultiFeatureData(stockHistory);
-        
-        // FIXED: Added additional check for prepared data points
-        if (dataPoints.size() < 5) {
-            return predictInventoryWithLinearRegression(productId, daysToPredict);
+        // Fold each sale day into the normal equations
+        RegressionBatch batch = new RegressionBatch(FEATURES.width(), 1);
+        double[] row = FEATURES.newRow();
+        List<DailySalesDto> dailySales = salesStatisticsService.getDailySales(productId);
+        for (int i = 0; i < dailySales.size(); i++) {
+            DailySalesDto day = dailySales.get(i);
+            batch.add(0, FEATURES.fill(i, day.getEpochDay(), row), day.getQtySold());
         }
-        
-        MultipleLinearRegressionModel model = trainMultipleRegression(dataPoints);
-        
-        // Predict using current features
-        double currentTrend = dataPoints.size();
-        int currentSeason = getCurrentSeason();
-        double currentPrice = product.getPrice();
-        
-        double predictedDailyDemand = model.predict(currentTrend, currentSeason, currentPrice);
-        double predictedTotalDemand = Math.max(0, predictedDailyDemand * daysToPredict);
+        return predictFromBatch(snapshot, stats, batch, 0, daysToPredict, row);
+    }
+
+    /**
+     * Multiple regression forecasts for already loaded products. Their sale days
+     * are read with one query and all of them are fitted in one
+     * {@link RegressionBatch}; products with too little history get the Linear
+     * Regression forecast. Results follow the order of {@code products}.
+     */
+    public List<InventoryPrediction> predictWithMultipleFeatures(List<ProductDto> products,
+                                                                 Map<Long, ProductSalesStats> stats,
+                                                                 int daysToPredict) {
+        Map<Long, Integer> slots = new HashMap<>();
+        for (ProductDto product : products) {
+            if (statsFor(product, stats).getDayCount() >= MIN_REGRESSION_SALE_DAYS) {
+                slots.putIfAbsent(product.getId(), slots.size());
+            }
+        }
+
+        RegressionBatch batch = new RegressionBatch(FEATURES.width(), slots.size());
+        double[] row = FEATURES.newRow();
+        if (!slots.isEmpty()) {
+            // Grouped by product and in date order, so the running count is the sale-day index
+            for (DailyProductSales day : salesStatisticsService.getDailySales(slots.keySet())) {
+                int slot = slots.get(day.getProductId());
+                batch.add(slot, FEATURES.fill(batch.count(slot), day.getEpochDay(), row), day.getQtySold());
+            }
+        }
+
+        List<InventoryPrediction> predictions = new ArrayList<>(products.size());
+        for (ProductDto product : products) {
+            Integer slot = slots.get(product.getId());
+            predictions.add(slot == null
+                    ? predictInventoryWithLinearRegression(product, statsFor(product, stats), daysToPredict)
+                    : predictFromBatch(product, statsFor(product, stats), batch, slot, daysToPredict, row));
+        }
+        return predictions;
+    }
+
+    private InventoryPrediction predictFromBatch(ProductDto product, ProductSalesStats stats, RegressionBatch batch,
+                                                 int slot, int daysToPredict, double[] row) {
+        int n = batch.count(slot);
+
+        if (n < MIN_REGRESSION_SALE_DAYS || !batch.solve(slot, mlConfig.getRidgeLambda())) {
+            return predictInventoryWithLinearRegression(product, stats, daysToPredict);
+        }
+
+        // Predict each future day with its own trend step and calendar features
+        double predictedTotalDemand = batch.forecastTotal(slot, FEATURES, LocalDate.now().toEpochDay(),
+                daysToPredict, row);
+        double predictedDailyDemand = daysToPredict > 0 ? predictedTotalDemand / daysToPredict : 0.0;
         
         // Calculate metrics using the predicted demand
-        double safetyStock = predictedTotalDemand * 0.15;
-        double reorderPoint = predictedDailyDemand * 7 + safetyStock;
+        double safetyStock = calculateSafetyStockFromRegression(n, batch.residualVariance(slot));
+        double reorderPoint = calculateReorderPoint(predictedDailyDemand, safetyStock);
         double optimalOrderQty = calculateOptimalOrderQuantity(predictedTotalDemand, product);
         
         return InventoryPrediction.builder()
-                .productId(productId)
+                .productId(product.getId())
                 .productName(product.getName())
                 .currentStock(product.getQuantity())
                 .predictedDemand(predictedTotalDemand)
@@ -112,146 +175,59 @@ public class LinearRegressionPredictionService {
                 .optimalOrderQuantity(optimalOrderQty)
                 .predictionDate(LocalDateTime.now())
                 .daysAhead(daysToPredict)
-                .predictionMethod("Multiple Linear Regression") // This was the issue!
-                .confidence(model.getRSquared())
+                .predictionMethod("Multiple Linear Regression")
+                .confidence(batch.getAdjustedRSquared(slot))
                 .build();
     }
 
-    /**
-     * Prepare daily sales data points for regression
-     */
-    private List<DataPoint> prepareDailySalesData(List<StockEntry> stockHistory) {
-        Map<String, Double> dailySales = new HashMap<>();
-        LocalDateTime earliestDate = null;
-        
-        // Group sales by date
-        for (StockEntry entry : stockHistory) {
-            if ("SALE".equals(entry.getType().toUpperCase())) {
-                String dateKey = entry.getDate().toLocalDate().toString();
-                dailySales.put(dateKey, dailySales.getOrDefault(dateKey, 0.0) + entry.getQuantity());
-                
-                if (earliestDate == null || entry.getDate().isBefore(earliestDate)) {
-                    earliestDate = entry.getDate();
-                }
-            }
-        }
-        
-        if (earliestDate == null || dailySales.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        // Convert to DataPoints with time index
-        List<DataPoint> dataPoints = new ArrayList<>();
-        List<Map.Entry<String, Double>> sortedEntries = new ArrayList<>(dailySales.entrySet());
-        sortedEntries.sort(Map.Entry.comparingByKey());
-        
-        for (int i = 0; i < sortedEntries.size(); i++) {
-            dataPoints.add(new DataPoint(i + 1, sortedEntries.get(i).getValue()));
-        }
-        
-        return dataPoints;
+    // The line's value at the middle of the horizon, in sale days after the history
+    static double dailyDemand(TimeSeriesKernel.LineFit model, int dayCount, int daysToPredict) {
+        return model.predict(dayCount + daysToPredict / 2.0);
     }
 
     /**
      * Train Linear Regression Model
      */
-    private LinearRegressionModel trainLinearRegression(List<DataPoint> dataPoints) {
-        int n = dataPoints.size();
-        if (n < 2) {
-            return new LinearRegressionModel(1.0, 0.0, 0.0); // Default model
-        }
-        
-        double sumX = 0, sumY = 0, sumXY = 0, sumX2 = 0;
-        
-        // Calculate sums
-        for (DataPoint point : dataPoints) {
-            sumX += point.x;
-            sumY += point.y;
-            sumXY += point.x * point.y;
-            sumX2 += point.x * point.x;
-        }
-        
-        // Calculate slope (b1) and intercept (b0)
-        double denominator = n * sumX2 - sumX * sumX;
-        double slope = 0.0;
-        double intercept = sumY / n;
-        
-        if (Math.abs(denominator) > 1e-10) { // Avoid division by zero
-            slope = (n * sumXY - sumX * sumY) / denominator;
-            intercept = (sumY - slope * sumX) / n;
-        }
-        
-        // Calculate R-squared
-        double meanY = sumY / n;
-        double totalSumSquares = 0;
-        double residualSumSquares = 0;
-        
-        for (DataPoint point : dataPoints) {
-            double predicted = intercept + slope * point.x;
-            totalSumSquares += Math.pow(point.y - meanY, 2);
-            residualSumSquares += Math.pow(point.y - predicted, 2);
-        }
-        
-        double rSquared = 0.0;
-        if (totalSumSquares > 0) {
-            rSquared = Math.max(0.0, 1 - (residualSumSquares / totalSumSquares));
-        }
-        
-        return new LinearRegressionModel(intercept, slope, rSquared);
+    private TimeSeriesKernel.LineFit trainLinearRegression(ProductSalesStats stats) {
+        return TimeSeriesKernel.fitFromSums(stats.getDayCount(), stats.sumX(), stats.sumX2(),
+                stats.getSumY(), stats.getSumXY(), stats.getSumY2(), TimeSeriesKernel.workspace().lineFit());
     }
 
     
     // Calculate safety stock using regression residuals
     
-    private double calculateSafetyStockFromRegression(List<DataPoint> dataPoints, LinearRegressionModel model) {
-        if (dataPoints.size() < 2) return 1.0; // Default safety stock
+    private double calculateSafetyStockFromRegression(int dayCount, double residualVariance) {
+        if (dayCount < 2) return 1.0; // Default safety stock
         
-        // Calculate residuals (actual - predicted)
-        List<Double> residuals = new ArrayList<>();
-        for (DataPoint point : dataPoints) {
-            double predicted = model.predict(point.x);
-            residuals.add(Math.abs(point.y - predicted));
-        }
+        // Standard deviation of the residuals
+        double stdDev = Math.sqrt(residualVariance);
         
-        // Calculate standard deviation of residuals
-        double meanResidual = residuals.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        
-        double variance = 0.0;
-        for (Double residual : residuals) {
-            variance += Math.pow(residual - meanResidual, 2);
-        }
-        variance = variance / residuals.size();
-        
-        double stdDev = Math.sqrt(variance);
-        
-        // Safety stock = Z-score * std dev * sqrt(lead time)
-        return Math.max(1.0, 1.65 * stdDev * Math.sqrt(7)); // 95% service level, 7 days lead time
+        // Safety stock for the configured service level and lead time
+        return inventoryPolicy.safetyStock(stdDev);
     }
 
     /**
      * Calculate reorder point
      */
     private double calculateReorderPoint(double dailyDemand, double safetyStock) {
-        double leadTimeDays = 7.0;
-        return Math.max(safetyStock, (dailyDemand * leadTimeDays) + safetyStock);
+        return inventoryPolicy.reorderPoint(dailyDemand, safetyStock);
     }
 
     
     //Calculate optimal order quantity using EOQ formula
     
-    private double calculateOptimalOrderQuantity(double predictedDemand, Product product) {
-        double annualDemand = Math.max(1.0, predictedDemand * 12); // Ensure positive
-        double orderCost = 100.0;
-        double holdingCostRate = 0.25;
-        double holdingCost = Math.max(1.0, product.getPrice() * holdingCostRate);
-        return Math.sqrt((2 * annualDemand * orderCost) / holdingCost);
+    private double calculateOptimalOrderQuantity(double predictedDemand, ProductDto product) {
+        return inventoryPolicy.optimalOrderQuantity(predictedDemand, product.getPrice());
     }
 
     
     //Simple prediction for limited data
     
-    private InventoryPrediction getSimplePrediction(Product product, int daysToPredict) {
-        double simpleDemand = Math.max(1.0, product.getQuantity() * 0.1);
+    private InventoryPrediction getSimplePrediction(ProductDto product, int daysToPredict, ProductSalesStats stats) {
+        // A history without a single sale means no demand, not a guess from stock on hand
+        double simpleDemand = stats.getEntryCount() > 0 && stats.getSumY() == 0
+                ? 0.0
+                : Math.max(1.0, product.getQuantity() * 0.1);
         double safetyStock = simpleDemand * 0.2;
         double reorderPoint = simpleDemand * 1.5;
         double optimalOrderQty = simpleDemand * 2;
@@ -271,163 +247,17 @@ public class LinearRegressionPredictionService {
                 .build();
     }
 
-    
-    // Prepare data for multiple regression - IMPROVED
-    
-    private List<MultiFeatureDataPoint> prepareMultiFeatureData(List<StockEntry> stockHistory) {
-        Map<String, Double> dailySales = new HashMap<>();
-        
-        // Group sales by date
-        for (StockEntry entry : stockHistory) {
-            if ("SALE".equals(entry.getType().toUpperCase())) {
-                String dateKey = entry.getDate().toLocalDate().toString();
-                dailySales.put(dateKey, dailySales.getOrDefault(dateKey, 0.0) + entry.getQuantity());
-            }
-        }
-        
-        if (dailySales.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        List<MultiFeatureDataPoint> dataPoints = new ArrayList<>();
-        List<Map.Entry<String, Double>> sortedEntries = new ArrayList<>(dailySales.entrySet());
-        sortedEntries.sort(Map.Entry.comparingByKey());
-        
-        for (int i = 0; i < sortedEntries.size(); i++) {
-            int season = (i % 12) + 1; 
-            double trend = i + 1; 
-            double price = 10.0; 
-            double sales = sortedEntries.get(i).getValue();
-            
-            dataPoints.add(new MultiFeatureDataPoint(trend, season, price, sales));
-        }
-        
-        return dataPoints;
-    }
-
-
-    // Train Multiple Linear Regression 
-    private MultipleLinearRegressionModel trainMultipleRegression(List<MultiFeatureDataPoint> dataPoints) {
-        int n = dataPoints.size();
-        if (n < 4) {
-            // Not enough data for multiple regression, return default model
-            return new MultipleLinearRegressionModel(1.0, 0.1, 0.0, 0.0, 0.0);
-        }
-        
-        // Calculate means
-        double meanY = dataPoints.stream().mapToDouble(p -> p.sales).average().orElse(0.0);
-        double meanX1 = dataPoints.stream().mapToDouble(p -> p.trend).average().orElse(0.0);
-        double meanX2 = dataPoints.stream().mapToDouble(p -> p.season).average().orElse(0.0);
-        double meanX3 = dataPoints.stream().mapToDouble(p -> p.price).average().orElse(0.0);
-        
-        // Simplified multiple regression using least squares approximation
-        double sumX1Dev2 = 0, sumX2Dev2 = 0, sumX3Dev2 = 0;
-        double sumX1Y = 0, sumX2Y = 0, sumX3Y = 0;
-        
-        for (MultiFeatureDataPoint point : dataPoints) {
-            double x1Dev = point.trend - meanX1;
-            double x2Dev = point.season - meanX2;
-            double x3Dev = point.price - meanX3;
-            double yDev = point.sales - meanY;
-            
-            sumX1Dev2 += x1Dev * x1Dev;
-            sumX2Dev2 += x2Dev * x2Dev;
-            sumX3Dev2 += x3Dev * x3Dev;
-            
-            sumX1Y += x1Dev * yDev;
-            sumX2Y += x2Dev * yDev;
-            sumX3Y += x3Dev * yDev;
-        }
-        
-        // Calculate coefficients (simplified approach)
-        double beta1 = (sumX1Dev2 > 1e-10) ? sumX1Y / sumX1Dev2 : 0.0;
-        double beta2 = (sumX2Dev2 > 1e-10) ? sumX2Y / sumX2Dev2 : 0.0;
-        double beta3 = (sumX3Dev2 > 1e-10) ? sumX3Y / sumX3Dev2 : 0.0;
-        double beta0 = meanY - beta1 * meanX1 - beta2 * meanX2 - beta3 * meanX3;
-        
-        // Calculate R-squared
-        double totalSumSquares = 0;
-        double residualSumSquares = 0;
-        
-        for (MultiFeatureDataPoint point : dataPoints) {
-            double predicted = beta0 + beta1 * point.trend + beta2 * point.season + beta3 * point.price;
-            totalSumSquares += Math.pow(point.sales - meanY, 2);
-            residualSumSquares += Math.pow(point.sales - predicted, 2);
-        }
-        
-        double rSquared = 0.0;
-        if (totalSumSquares > 0) {
-            rSquared = Math.max(0.0, 1 - (residualSumSquares / totalSumSquares));
-        }
-        
-        return new MultipleLinearRegressionModel(beta0, beta1, beta2, beta3, rSquared);
-    }
-
-    private int getCurrentSeason() {
-        return LocalDateTime.now().getMonthValue();
-    }
-
-     // Data Point for simple linear regression
-
-    private static class DataPoint {
-        final double x, y;
-        
-        DataPoint(double x, double y) {
-            this.x = x;
-            this.y = y;
-        }
-    }
-
-    // Data Point for multiple regression    
-    private static class MultiFeatureDataPoint {
-        final double trend, season, price, sales;
-        
-        MultiFeatureDataPoint(double trend, double season, double price, double sales) {
-            this.trend = trend;
-            this.season = season;
-            this.price = price;
-            this.sales = sales;
-        }
-    }
-
-    //Simple Linear Regression Model
-    private static class LinearRegressionModel {
-        private final double intercept, slope, rSquared;
-        
-        LinearRegressionModel(double intercept, double slope, double rSquared) {
-            this.intercept = intercept;
-            this.slope = slope;
-            this.rSquared = rSquared;
-        }
-        
-        double predict(double x) {
-            return intercept + slope * x;
-        }
-        
-        double getRSquared() {
-            return rSquared;
-        }
+    // The fields the forecast needs, without touching the category association
+    private ProductDto snapshot(Product product) {
+        return ProductDto.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .price(product.getPrice())
+                .quantity(product.getQuantity())
+                .build();
     }
 
-    //Multiple Linear Regression Model
-
-    private static class MultipleLinearRegressionModel {
-        private final double beta0, beta1, beta2, beta3, rSquared;
-        
-        MultipleLinearRegressionModel(double beta0, double beta1, double beta2, double beta3, double rSquared) {
-            this.beta0 = beta0;
-            this.beta1 = beta1;
-            this.beta2 = beta2;
-            this.beta3 = beta3;
-            this.rSquared = rSquared;
-        }
-        
-        double predict(double trend, double season, double price) {
-            return beta0 + beta1 * trend + beta2 * season + beta3 * price;
-        }
-        
-        double getRSquared() {
-            return rSquared;
-        }
+    private ProductSalesStats statsFor(ProductDto product, Map<Long, ProductSalesStats> stats) {
+        return stats.getOrDefault(product.getId(), ProductSalesStats.builder().productId(product.getId()).build());
     }
-}
\ No newline at end of file
+}
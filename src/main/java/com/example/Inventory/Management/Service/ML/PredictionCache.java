@@ -0,0 +1,137 @@
+package com.example.Inventory.Management.Service.ML;
+
+import com.example.Inventory.Management.DTO.PredictionCacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size- and TTL-bounded cache of forecasts keyed by (product, days, method).
+ *
+ * Each product has a generation that is part of the key. A committed change to
+ * the product's inputs bumps it, so later lookups miss and the old entries are
+ * never served again; they age out under the size and TTL bounds. Because the
+ * generation is read before the forecast is computed, a computation racing
+ * with a write is stored under the old generation and cannot go stale.
+ *
+ * Concurrent misses for the same key are coalesced: the first caller computes
+ * on its own thread and the others wait on its future, for at most
+ * {@code inventory.ml.prediction-cache.coalesce-timeout}. A waiter that times
+ * out or is interrupted gives up without cancelling the shared computation,
+ * whose result is still cached for the next caller. A failed computation is
+ * reported to everyone waiting on it and is not cached.
+ */
+@Component
+public class PredictionCache {
+
+    public static final String LINEAR = "linear";
+    public static final String MULTIPLE_REGRESSION = "multiple-regression";
+    public static final String HOLT_WINTERS = "holt-winters";
+
+    private final Cache<Key, InventoryPrediction> cache;
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<InventoryPrediction>> inFlight = new ConcurrentHashMap<>();
+    private final Duration coalesceTimeout;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong coalesceTimeouts = new AtomicLong();
+
+    public PredictionCache(@Value("${inventory.ml.prediction-cache.maximum-size:10000}") long maximumSize,
+                           @Value("${inventory.ml.prediction-cache.ttl:10m}") Duration ttl,
+                           @Value("${inventory.ml.prediction-cache.coalesce-timeout:5s}") Duration coalesceTimeout) {
+        this.coalesceTimeout = coalesceTimeout;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public InventoryPrediction get(Long productId, int days, String method, Supplier<InventoryPrediction> loader) {
+        Key key = new Key(productId, generations.getOrDefault(productId, 0L), days, method);
+        InventoryPrediction cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<InventoryPrediction> flight = new CompletableFuture<>();
+        CompletableFuture<InventoryPrediction> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalesced.incrementAndGet();
+            return await(leader);
+        }
+
+        try {
+            // The previous leader may have finished between the lookup and the claim
+            InventoryPrediction prediction = cache.asMap().get(key);
+            if (prediction == null) {
+                prediction = loader.get();
+                cache.put(key, prediction);
+            }
+            flight.complete(prediction);
+            return prediction;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private InventoryPrediction await(CompletableFuture<InventoryPrediction> leader) {
+        try {
+            return leader.get(coalesceTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            coalesceTimeouts.incrementAndGet();
+            throw new RuntimeException("Timed out waiting for a forecast already being computed.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a forecast already being computed.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    // Runs after commit so readers cannot re-cache the pre-write state under the new generation
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPredictionInputsChanged(PredictionInputsChangedEvent event) {
+        for (Long productId : event.getProductIds()) {
+            generations.merge(productId, 1L, Long::sum);
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public PredictionCacheStats getStats() {
+        CacheStats stats = cache.stats();
+        return PredictionCacheStats.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .invalidations(invalidations.get())
+                .coalesced(coalesced.get())
+                .coalesceTimeouts(coalesceTimeouts.get())
+                .inFlight(inFlight.size())
+                .build();
+    }
+
+    private record Key(Long productId, long generation, int days, String method) {
+    }
+}
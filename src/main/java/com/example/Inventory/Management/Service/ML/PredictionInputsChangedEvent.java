@@ -0,0 +1,26 @@
+package com.example.Inventory.Management.Service.ML;
+
+import lombok.Value;
+
+import java.util.Collection;
+
+/**
+ * Published when a write changes what a forecast for the given products would
+ * return: a ledger entry, a product being created or deleted, or its price or
+ * quantity.
+ */
+@Value
+public class PredictionInputsChangedEvent {
+    Collection<Long> productIds;
+    // Earliest day whose sales totals changed; Long.MAX_VALUE if none did
+    long fromEpochDay;
+
+    public PredictionInputsChangedEvent(Collection<Long> productIds) {
+        this(productIds, Long.MAX_VALUE);
+    }
+
+    public PredictionInputsChangedEvent(Collection<Long> productIds, long fromEpochDay) {
+        this.productIds = productIds;
+        this.fromEpochDay = fromEpochDay;
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.Inventory.Management.Service.ML;
+
+import com.example.Inventory.Management.DTO.KeysetPage;
+import com.example.Inventory.Management.DTO.PredictionJobRequest;
+import com.example.Inventory.Management.DTO.PredictionJobStatus;
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Forecasts for large product sets run in the background. Jobs execute on a
+ * dedicated pool with a bounded queue, so a burst of submissions is rejected
+ * instead of piling up or competing with request threads. Each job walks its
+ * products in keyset pages, keeps the results in product id order for paged
+ * retrieval, and checks for cancellation between pages.
+ *
+ * Jobs and their results live in memory, so a job covers at most
+ * {@code inventory.prediction-jobs.max-results} products; larger sets are
+ * rejected and should be split by category or product ids. Finished jobs are
+ * dropped after {@code inventory.prediction-jobs.retention}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PredictionJobService {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String CANCELLED = "CANCELLED";
+    public static final String FAILED = "FAILED";
+
+    static final int PAGE_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final BatchForecaster batchForecaster;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @Value("${inventory.prediction-jobs.threads:2}")
+    private int threads;
+
+    @Value("${inventory.prediction-jobs.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${inventory.prediction-jobs.retention:1h}")
+    private Duration retention;
+
+    @Value("${inventory.prediction-jobs.max-results:50000}")
+    private int maxResults;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void startExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "prediction-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    public PredictionJobStatus submit(PredictionJobRequest request) {
+        if (request.getDays() <= 0) {
+            throw new RuntimeException("Days must be positive.");
+        }
+        String method = ForecastService.normalizeMethod(request.getMethod());
+        List<Long> productIds = request.getProductIds() == null ? null
+                : request.getProductIds().stream().distinct().sorted().toList();
+        String category = request.getCategory() == null || request.getCategory().isBlank()
+                ? null : request.getCategory();
+        evictExpired();
+
+        Job job = new Job(UUID.randomUUID().toString(), method, request.getDays(), productIds, category);
+        long total = countProducts(job);
+        if (total > maxResults) {
+            throw new RuntimeException("Prediction job covers " + total + " products; at most " + maxResults
+                    + " are allowed. Narrow it by category or product ids.");
+        }
+        job.totalProducts = total;
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new RuntimeException("Too many prediction jobs queued. Try again later.");
+        }
+        return job.status();
+    }
+
+    public PredictionJobStatus getStatus(String jobId) {
+        return find(jobId).status();
+    }
+
+    /**
+     * Results computed so far, in product id order. Pass {@code nextAfterId}
+     * back to read the next page.
+     */
+    public KeysetPage<InventoryPrediction> getResults(String jobId, Long afterId, int size) {
+        Job job = find(jobId);
+        int pageSize = KeysetPage.clampSize(size);
+        List<InventoryPrediction> rows;
+        synchronized (job.results) {
+            int from = afterId == null ? 0 : firstAfter(job.results, afterId);
+            rows = new ArrayList<>(job.results.subList(from, Math.min(job.results.size(), from + pageSize + 1)));
+        }
+        return KeysetPage.of(rows, pageSize, InventoryPrediction::getProductId, null);
+    }
+
+    public PredictionJobStatus cancel(String jobId) {
+        Job job = find(jobId);
+        job.cancelRequested = true;
+        // A queued job never starts; a running one stops at the next page and
+        // finishes itself, so its status does not change under a running page
+        if (job.cancelIfQueued() && job.future != null) {
+            job.future.cancel(false);
+            executor.purge();
+        }
+        return job.status();
+    }
+
+    private void run(Job job) {
+        if (!job.start()) {
+            return;
+        }
+        try {
+            long afterId = 0;
+            List<ProductDto> products;
+            do {
+                if (job.cancelRequested) {
+                    job.finish(CANCELLED, null);
+                    return;
+                }
+                products = loadPage(job, afterId);
+                if (job.processedProducts + products.size() > maxResults) {
+                    job.finish(FAILED, "Prediction job exceeded " + maxResults + " products");
+                    return;
+                }
+                List<InventoryPrediction> predictions = batchForecaster.forecast(products, job.days, job.method);
+                synchronized (job.results) {
+                    job.results.addAll(predictions);
+                }
+                job.processedProducts += products.size();
+                afterId = products.isEmpty() ? afterId : products.get(products.size() - 1).getId();
+            } while (products.size() == PAGE_SIZE);
+            job.finish(COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.error("Prediction job {} failed", job.id, e);
+            job.finish(FAILED, e.getMessage());
+        }
+    }
+
+    private long countProducts(Job job) {
+        if (job.productIds != null) {
+            return job.productIds.isEmpty() ? 0 : productRepository.countByIdIn(job.productIds);
+        }
+        return job.category != null ? productRepository.countProductsByCategory(job.category)
+                : productRepository.count();
+    }
+
+    private List<ProductDto> loadPage(Job job, long afterId) {
+        PageRequest page = PageRequest.ofSize(PAGE_SIZE);
+        if (job.productIds != null) {
+            return job.productIds.isEmpty() ? List.of()
+                    : productRepository.findPageAfterInIds(job.productIds, afterId, page);
+        }
+        return job.category != null
+                ? productRepository.findPageAfterInCategory(job.category, afterId, page)
+                : productRepository.findPageAfter(afterId, page);
+    }
+
+    private Job find(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Prediction job not found");
+        }
+        return job;
+    }
+
+    // Only jobs whose task has returned, so an evicted job never holds a pool slot
+    private void evictExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff)
+                && (job.future == null || job.future.isDone()));
+    }
+
+    private static int firstAfter(List<InventoryPrediction> results, long afterId) {
+        int low = 0;
+        int high = results.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (results.get(mid).getProductId() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Job {
+        final String id;
+        final String method;
+        final int days;
+        final List<Long> productIds;
+        final String category;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        final List<InventoryPrediction> results = Collections.synchronizedList(new ArrayList<>());
+
+        volatile Future<?> future;
+        volatile boolean cancelRequested;
+        volatile String state = QUEUED;
+        volatile long totalProducts;
+        volatile long processedProducts;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        Job(String id, String method, int days, List<Long> productIds, String category) {
+            this.id = id;
+            this.method = method;
+            this.days = days;
+            this.productIds = productIds;
+            this.category = category;
+        }
+
+        // False if the job was cancelled while queued
+        synchronized boolean start() {
+            if (finishedAt != null || cancelRequested) {
+                finish(CANCELLED, null);
+                return false;
+            }
+            startedAt = LocalDateTime.now();
+            state = RUNNING;
+            return true;
+        }
+
+        synchronized boolean cancelIfQueued() {
+            if (!QUEUED.equals(state) || finishedAt != null) {
+                return false;
+            }
+            finish(CANCELLED, null);
+            return true;
+        }
+
+        synchronized void finish(String finalState, String failure) {
+            if (finishedAt != null) {
+                return;
+            }
+            state = finalState;
+            error = failure;
+            finishedAt = LocalDateTime.now();
+        }
+
+        PredictionJobStatus status() {
+            long total = totalProducts;
+            long processed = processedProducts;
+            return PredictionJobStatus.builder()
+                    .jobId(id)
+                    .status(state)
+                    .method(method)
+                    .days(days)
+                    .totalProducts(total)
+                    .processedProducts(processed)
+                    .progress(total > 0 ? Math.min(1.0, (double) processed / total) : finishedAt != null ? 1.0 : 0.0)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
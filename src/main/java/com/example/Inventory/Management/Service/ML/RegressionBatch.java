@@ -0,0 +1,192 @@
+package com.example.Inventory.Management.Service.ML;
+
+import java.util.Arrays;
+
+/**
+ * Ridge least squares for many independent series at once. Each slot keeps
+ * only its normal equations (X'X, X'y, y'y), so rows are folded in one at a
+ * time and never stored; all slots share flat primitive arrays, and a fit is
+ * a Cholesky solve of a width x width system.
+ *
+ * Column 0 is taken to be the intercept and is not penalized. Not thread-safe;
+ * a batch belongs to the call that fills it.
+ */
+public final class RegressionBatch {
+
+    private final int width;
+    private final int[] counts;
+    private final double[] xtx;
+    private final double[] xty;
+    private final double[] yty;
+    private final double[] sumY;
+    private final double[] beta;
+    private final double[] residualSumSquares;
+    private final double[] rSquared;
+    private final double[] adjustedRSquared;
+    private final boolean[] solved;
+    private final double[] factor;
+
+    public RegressionBatch(int width, int slots) {
+        this.width = width;
+        this.counts = new int[slots];
+        this.xtx = new double[slots * width * width];
+        this.xty = new double[slots * width];
+        this.yty = new double[slots];
+        this.sumY = new double[slots];
+        this.beta = new double[slots * width];
+        this.residualSumSquares = new double[slots];
+        this.rSquared = new double[slots];
+        this.adjustedRSquared = new double[slots];
+        this.solved = new boolean[slots];
+        this.factor = new double[width * width];
+    }
+
+    /**
+     * Folds one observation into a slot. Only the upper triangle of X'X is kept,
+     * and zero columns (the calendar indicators, mostly) are skipped.
+     */
+    public void add(int slot, double[] row, double y) {
+        int base = slot * width * width;
+        int vector = slot * width;
+        for (int i = 0; i < width; i++) {
+            double xi = row[i];
+            if (xi == 0.0) {
+                continue;
+            }
+            int r = base + i * width;
+            for (int j = i; j < width; j++) {
+                xtx[r + j] += xi * row[j];
+            }
+            xty[vector + i] += xi * y;
+        }
+        yty[slot] += y * y;
+        sumY[slot] += y;
+        counts[slot]++;
+    }
+
+    /**
+     * Solves (X'X + lambda * D) beta = X'y, D being the identity without the
+     * intercept. Returns false if the system is not positive definite, which
+     * with lambda > 0 only happens for an empty slot.
+     */
+    public boolean solve(int slot, double lambda) {
+        int base = slot * width * width;
+        int vector = slot * width;
+        solved[slot] = false;
+        if (counts[slot] == 0) {
+            return false;
+        }
+
+        // Lower Cholesky factor of the penalized matrix
+        Arrays.fill(factor, 0.0);
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sum = xtx[base + j * width + i];
+                if (i == j && i > 0) {
+                    sum += lambda;
+                }
+                for (int k = 0; k < j; k++) {
+                    sum -= factor[i * width + k] * factor[j * width + k];
+                }
+                if (i == j) {
+                    if (sum <= 1e-12) {
+                        return false;
+                    }
+                    factor[i * width + i] = Math.sqrt(sum);
+                } else {
+                    factor[i * width + j] = sum / factor[j * width + j];
+                }
+            }
+        }
+
+        // L z = X'y, then L' beta = z
+        for (int i = 0; i < width; i++) {
+            double sum = xty[vector + i];
+            for (int k = 0; k < i; k++) {
+                sum -= factor[i * width + k] * beta[vector + k];
+            }
+            beta[vector + i] = sum / factor[i * width + i];
+        }
+        for (int i = width - 1; i >= 0; i--) {
+            double sum = beta[vector + i];
+            for (int k = i + 1; k < width; k++) {
+                sum -= factor[k * width + i] * beta[vector + k];
+            }
+            beta[vector + i] = sum / factor[i * width + i];
+        }
+
+        // RSS = y'y - 2 b'X'y + b'X'Xb, from the unpenalized normal equations
+        double fitted = 0, crossTerm = 0;
+        for (int i = 0; i < width; i++) {
+            double bi = beta[vector + i];
+            crossTerm += bi * xty[vector + i];
+            fitted += bi * bi * xtx[base + i * width + i];
+            for (int j = i + 1; j < width; j++) {
+                fitted += 2 * bi * beta[vector + j] * xtx[base + i * width + j];
+            }
+        }
+        int n = counts[slot];
+        double rss = Math.max(0.0, yty[slot] - 2 * crossTerm + fitted);
+        double tss = Math.max(0.0, yty[slot] - sumY[slot] * sumY[slot] / n);
+        residualSumSquares[slot] = rss;
+        rSquared[slot] = tss > 1e-10 ? Math.min(1.0, Math.max(0.0, 1 - rss / tss)) : 0.0;
+        adjustedRSquared[slot] = n > width
+                ? Math.max(0.0, 1 - (1 - rSquared[slot]) * (n - 1) / (n - width))
+                : 0.0;
+        solved[slot] = true;
+        return true;
+    }
+
+    public double predict(int slot, double[] row) {
+        int vector = slot * width;
+        double y = 0;
+        for (int i = 0; i < width; i++) {
+            y += beta[vector + i] * row[i];
+        }
+        return y;
+    }
+
+    /**
+     * Sum of the slot's predictions over the next {@code days}, no day below
+     * zero. Future rows continue the index after the fitted rows and take their
+     * calendar features from {@code fromEpochDay + k}.
+     */
+    public double forecastTotal(int slot, DemandFeatures features, long fromEpochDay, int days, double[] row) {
+        int n = counts[slot];
+        double total = 0;
+        for (int k = 1; k <= days; k++) {
+            total += Math.max(0, predict(slot, features.fill(n - 1 + k, fromEpochDay + k, row)));
+        }
+        return total;
+    }
+
+    public double coefficient(int slot, int column) {
+        return beta[slot * width + column];
+    }
+
+    public int count(int slot) {
+        return counts[slot];
+    }
+
+    public boolean isSolved(int slot) {
+        return solved[slot];
+    }
+
+    public double getRSquared(int slot) {
+        return rSquared[slot];
+    }
+
+    /**
+     * R squared penalized for the number of columns, so a fit with few rows per
+     * column does not look better than it is. Zero without residual degrees of
+     * freedom.
+     */
+    public double getAdjustedRSquared(int slot) {
+        return adjustedRSquared[slot];
+    }
+
+    // Population variance of the residuals
+    public double residualVariance(int slot) {
+        return counts[slot] == 0 ? 0.0 : residualSumSquares[slot] / counts[slot];
+    }
+}
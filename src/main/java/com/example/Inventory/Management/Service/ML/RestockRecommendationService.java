@@ -0,0 +1,402 @@
+package com.example.Inventory.Management.Service.ML;
+
+import com.example.Inventory.Management.Config.MLConfig;
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.Entity.ForecastSnapshot;
+import com.example.Inventory.Management.Entity.ProductSalesStats;
+import com.example.Inventory.Management.Entity.RestockRecommendation;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.ProductSalesStatsRepository;
+import com.example.Inventory.Management.Repository.RestockRecommendationRepository;
+import com.example.Inventory.Management.Util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Restock recommendations for the whole catalog.
+ *
+ * At the default horizon they are served from {@code restock_recommendation},
+ * a materialized set of the products that need restocking, ordered by days
+ * to stockout. It is maintained incrementally: after a committed stock write
+ * or product change, and after a snapshot refresh, the affected products are
+ * queued for a single maintenance worker, which merges duplicate ids and
+ * re-evaluates them against their forecast, adding, updating or removing
+ * rows. Ids from a failed run are queued again and retried. A read costs one
+ * indexed query proportional to the result. The set is populated at startup
+ * when it is empty.
+ *
+ * Other horizons, and live requests, are computed: products are read in
+ * keyset pages and each page's snapshots and sales statistics with one IN
+ * query each, and forecasts for a page run in parallel on a dedicated
+ * fork-join pool. Products without stored statistics have no recorded
+ * history and get the simple forecast.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RestockRecommendationService {
+
+    static final int PAGE_SIZE = 1000;
+
+    private static final Comparator<InventoryPrediction> BY_URGENCY =
+            Comparator.comparing(InventoryPrediction::getStockoutDays)
+                    .thenComparing(InventoryPrediction::getProductId);
+
+    private final ProductRepository productRepository;
+    private final ProductSalesStatsRepository statsRepository;
+    private final RestockRecommendationRepository restockRepository;
+    private final LinearRegressionPredictionService linearRegressionService;
+    private final ForecastSnapshotService snapshotService;
+    private final MLConfig mlConfig;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    // 0 uses one worker per core
+    @Value("${inventory.restock.parallelism:0}")
+    private int parallelism;
+
+    @Value("${inventory.restock.retry-delay:5s}")
+    private Duration retryDelay;
+
+    @Value("${inventory.restock.populate-on-startup:true}")
+    private boolean populateOnStartup;
+
+    private ForkJoinPool pool;
+
+    // Maintenance runs after the triggering commit, so it needs its own transaction
+    private TransactionTemplate maintenanceTransaction;
+
+    // Products waiting for maintenance; the worker is the only writer of the set,
+    // so the last run for a product reads its latest committed stock
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private ScheduledExecutorService maintenanceWorker;
+
+    @PostConstruct
+    void startPool() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        maintenanceTransaction = new TransactionTemplate(transactionManager);
+        maintenanceTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        maintenanceWorker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "restock-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopPool() {
+        maintenanceWorker.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    public List<InventoryPrediction> getRecommendations(String categoryName, String riskLevel, int days) {
+        return getRecommendations(categoryName, riskLevel, days, false);
+    }
+
+    public List<InventoryPrediction> getRecommendations(String categoryName, String riskLevel, int days,
+                                                        boolean live) {
+        return getRecommendations(categoryName, riskLevel, days, live, 0);
+    }
+
+    /**
+     * Products needing restock, most urgent first. A positive {@code limit}
+     * returns only the top entries.
+     */
+    public List<InventoryPrediction> getRecommendations(String categoryName, String riskLevel, int days,
+                                                        boolean live, int limit) {
+        String risk = normalizeRiskLevel(riskLevel);
+        if (servesMaterializedSet(days, live)) {
+            return restockRepository.findByUrgency(blankToNull(categoryName), risk,
+                    limit > 0 ? PageRequest.ofSize(limit) : Pageable.unpaged());
+        }
+
+        List<InventoryPrediction> recommendations = new ArrayList<>();
+        long afterId = 0;
+        List<ProductDto> products;
+        do {
+            products = loadPage(categoryName, afterId);
+            recommendations.addAll(filter(predictAll(products, days, live), risk));
+            afterId = products.isEmpty() ? afterId : products.get(products.size() - 1).getId();
+        } while (products.size() == PAGE_SIZE);
+        recommendations.sort(BY_URGENCY);
+        return limit > 0 && recommendations.size() > limit ? recommendations.subList(0, limit) : recommendations;
+    }
+
+    /**
+     * Same as {@link #getRecommendations} but written as NDJSON. Computed
+     * recommendations are written page by page in product id order, so the
+     * first results reach the client before the catalog is finished.
+     */
+    public void streamRecommendations(String categoryName, String riskLevel, int days, OutputStream out)
+            throws IOException {
+        streamRecommendations(categoryName, riskLevel, days, false, out);
+    }
+
+    public void streamRecommendations(String categoryName, String riskLevel, int days, boolean live,
+                                      OutputStream out) throws IOException {
+        String risk = normalizeRiskLevel(riskLevel);
+        if (servesMaterializedSet(days, live)) {
+            NdjsonWriter.write(restockRepository.findByUrgency(blankToNull(categoryName), risk,
+                    Pageable.unpaged()).stream(), out, objectMapper);
+            return;
+        }
+
+        long afterId = 0;
+        List<ProductDto> products;
+        do {
+            products = loadPage(categoryName, afterId);
+            NdjsonWriter.write(filter(predictAll(products, days, live), risk).stream(), out, objectMapper);
+            afterId = products.isEmpty() ? afterId : products.get(products.size() - 1).getId();
+        } while (products.size() == PAGE_SIZE);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPredictionInputsChanged(PredictionInputsChangedEvent event) {
+        enqueue(event.getProductIds());
+    }
+
+    @EventListener
+    public void onForecastSnapshotsRefreshed(ForecastSnapshotsRefreshedEvent event) {
+        if (PredictionCache.LINEAR.equals(event.getMethod())
+                && event.getDays() == mlConfig.getDefaultPredictionDays()) {
+            enqueue(event.getProductIds());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (populateOnStartup) {
+            populateIfEmpty();
+        }
+    }
+
+    /**
+     * Rebuilds the set in the background when it is empty but the catalog is
+     * not, e.g. on the first start after an upgrade.
+     */
+    public void populateIfEmpty() {
+        if (restockRepository.count() == 0 && productRepository.count() > 0) {
+            maintenanceWorker.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Populating restock recommendations at startup failed", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Re-evaluates every product, for a first deployment or after the set has
+     * been cleared. Runs on the maintenance worker and returns when it is done.
+     */
+    public void rebuildMaterializedSet() {
+        await(maintenanceWorker.submit(this::rebuild));
+    }
+
+    /**
+     * Waits until the products queued so far have been applied to the set.
+     */
+    public void awaitMaintenance() {
+        await(maintenanceWorker.submit(this::drain));
+    }
+
+    private void enqueue(Collection<Long> productIds) {
+        pending.addAll(productIds);
+        if (drainScheduled.compareAndSet(false, true)) {
+            maintenanceWorker.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        // Cleared first, so ids queued from here on schedule another run
+        drainScheduled.set(false);
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> it = pending.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        try {
+            refreshMaterializedSet(ids);
+        } catch (RuntimeException e) {
+            log.warn("Restock maintenance for {} products failed, retrying in {}", ids.size(), retryDelay, e);
+            pending.addAll(ids);
+            if (drainScheduled.compareAndSet(false, true)) {
+                maintenanceWorker.schedule(this::drain, retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void rebuild() {
+        long afterId = 0;
+        List<ProductDto> products;
+        do {
+            products = productRepository.findPageAfter(afterId, PageRequest.ofSize(PAGE_SIZE));
+            refreshMaterializedSet(products.stream().map(ProductDto::getId).toList());
+            afterId = products.isEmpty() ? afterId : products.get(products.size() - 1).getId();
+        } while (products.size() == PAGE_SIZE);
+        maintenanceTransaction.executeWithoutResult(tx -> restockRepository.deleteOrphans());
+    }
+
+    // Only called on the maintenance worker
+    private void refreshMaterializedSet(Collection<Long> productIds) {
+        List<Long> ids = productIds.stream().distinct().sorted().toList();
+        int days = mlConfig.getDefaultPredictionDays();
+        for (int from = 0; from < ids.size(); from += PAGE_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + PAGE_SIZE));
+            List<InventoryPrediction> entered = new ArrayList<>();
+            List<Long> left = new ArrayList<>();
+            maintenanceTransaction.executeWithoutResult(tx -> {
+                List<ProductDto> products = productRepository.findDtosByIdIn(chunk);
+                Map<Long, RestockRecommendation> existing = restockRepository.findAllById(chunk).stream()
+                        .collect(Collectors.toMap(RestockRecommendation::getProductId, Function.identity()));
+
+                List<RestockRecommendation> needed = new ArrayList<>();
+                for (InventoryPrediction prediction : predictAll(products, days, false)) {
+                    if (prediction.isRestockNeeded()) {
+                        RestockRecommendation row = existing.remove(prediction.getProductId());
+                        if (row == null) {
+                            entered.add(prediction);
+                        }
+                        needed.add(update(row != null ? row
+                                : RestockRecommendation.builder().productId(prediction.getProductId()).build(),
+                                prediction));
+                    }
+                }
+                restockRepository.saveAll(needed);
+                // Whatever is left no longer needs restocking or no longer exists
+                restockRepository.deleteAll(existing.values());
+                left.addAll(existing.keySet());
+            });
+            if (!entered.isEmpty() || !left.isEmpty()) {
+                eventPublisher.publishEvent(new RestockSetChangedEvent(entered, left));
+            }
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for restock maintenance", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime
+                    : new RuntimeException("Restock maintenance failed", e.getCause());
+        }
+    }
+
+    private static RestockRecommendation update(RestockRecommendation row, InventoryPrediction prediction) {
+        row.setRiskLevel(prediction.getRiskLevel());
+        row.setStockoutDays(prediction.getStockoutDays());
+        row.setRecommendedQuantity(prediction.getRecommendedOrderQuantity());
+        row.setPredictedDemand(prediction.getPredictedDemand());
+        row.setSafetyStock(prediction.getSafetyStock());
+        row.setReorderPoint(prediction.getReorderPoint());
+        row.setOptimalOrderQuantity(prediction.getOptimalOrderQuantity());
+        row.setDaysAhead(prediction.getDaysAhead());
+        row.setPredictionMethod(prediction.getPredictionMethod());
+        row.setConfidence(prediction.getConfidence());
+        row.setPredictionDate(prediction.getPredictionDate());
+        row.setSnapshotAt(prediction.getSnapshotAt());
+        return row;
+    }
+
+    private boolean servesMaterializedSet(int days, boolean live) {
+        return !live && days == mlConfig.getDefaultPredictionDays();
+    }
+
+    private List<ProductDto> loadPage(String categoryName, long afterId) {
+        PageRequest page = PageRequest.ofSize(PAGE_SIZE);
+        return categoryName == null || categoryName.isBlank()
+                ? productRepository.findPageAfter(afterId, page)
+                : productRepository.findPageAfterInCategory(categoryName, afterId, page);
+    }
+
+    /**
+     * Forecasts for a page in product order: the nightly linear snapshot where
+     * one matches, otherwise computed from the page's statistics.
+     */
+    private List<InventoryPrediction> predictAll(List<ProductDto> products, int days, boolean live) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ForecastSnapshot> snapshots = live ? Map.of() : snapshotService.findAll(
+                products.stream().map(ProductDto::getId).toList(), PredictionCache.LINEAR, days);
+        List<Long> missing = products.stream()
+                .map(ProductDto::getId)
+                .filter(id -> !snapshots.containsKey(id))
+                .toList();
+        Map<Long, ProductSalesStats> stats = missing.isEmpty() ? Map.of() : statsRepository
+                .findAllById(missing).stream()
+                .collect(Collectors.toMap(ProductSalesStats::getProductId, Function.identity()));
+
+        return pool.submit(() -> products.parallelStream()
+                .map(product -> snapshots.containsKey(product.getId())
+                        ? snapshotService.toPrediction(snapshots.get(product.getId()), product)
+                        : linearRegressionService.predictInventoryWithLinearRegression(product,
+                                stats.getOrDefault(product.getId(),
+                                        ProductSalesStats.builder().productId(product.getId()).build()),
+                                days))
+                .toList()).join();
+    }
+
+    private static List<InventoryPrediction> filter(List<InventoryPrediction> predictions, String riskLevel) {
+        return predictions.stream()
+                .filter(InventoryPrediction::isRestockNeeded)
+                .filter(prediction -> riskLevel == null || riskLevel.equals(prediction.getRiskLevel()))
+                .toList();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private String normalizeRiskLevel(String riskLevel) {
+        if (riskLevel == null || riskLevel.isBlank()) {
+            return null;
+        }
+        String normalized = riskLevel.toUpperCase();
+        if (!normalized.equals("HIGH") && !normalized.equals("MEDIUM") && !normalized.equals("LOW")) {
+            throw new RuntimeException("Invalid risk level. Must be HIGH, MEDIUM or LOW.");
+        }
+        return normalized;
+    }
+}
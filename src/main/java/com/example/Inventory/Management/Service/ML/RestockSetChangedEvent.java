@@ -0,0 +1,16 @@
+package com.example.Inventory.Management.Service.ML;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published after the materialized restock set changed: the forecasts of the
+ * products that entered it (their stock fell to the reorder point, or the
+ * reorder point rose above their stock) and the ids of those that left.
+ */
+@Value
+public class RestockSetChangedEvent {
+    List<InventoryPrediction> entered;
+    List<Long> left;
+}
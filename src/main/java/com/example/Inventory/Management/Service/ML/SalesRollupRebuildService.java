@@ -0,0 +1,75 @@
+package com.example.Inventory.Management.Service.ML;
+
+import com.example.Inventory.Management.Repository.DailyProductSalesRepository;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.StockEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Backfills the daily sales rollup and sales statistics from the ledger for
+ * every product. Products are independent, so they are rebuilt in parallel,
+ * each in its own transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupRebuildService {
+
+    private final ProductRepository productRepository;
+    private final DailyProductSalesRepository dailySalesRepository;
+    private final StockEntryRepository stockEntryRepository;
+    private final SalesStatisticsService salesStatisticsService;
+
+    @Value("${inventory.rollup.rebuild-threads:4}")
+    private int threads;
+
+    /**
+     * Whether the ledger has entries but the rollup is empty, as on a database
+     * upgraded from a version without the rollup.
+     */
+    @Transactional(readOnly = true)
+    public boolean needsBackfill() {
+        return dailySalesRepository.findFirstByOrderByProductIdAscEpochDayAsc().isEmpty()
+                && stockEntryRepository.findFirstByOrderByIdAsc().isPresent();
+    }
+
+    public int rebuildAll() {
+        List<Long> productIds = productRepository.findAllIds();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        AtomicInteger rebuilt = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>(productIds.size());
+            for (Long productId : productIds) {
+                futures.add(executor.submit(() -> {
+                    salesStatisticsService.rebuild(productId);
+                    rebuilt.incrementAndGet();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Sales rollup rebuild interrupted after " + rebuilt.get() + " products", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Sales rollup rebuild failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Rebuilt sales rollup for {} products", rebuilt.get());
+        return rebuilt.get();
+    }
+}
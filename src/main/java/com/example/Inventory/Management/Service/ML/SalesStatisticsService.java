@@ -0,0 +1,241 @@
+package com.example.Inventory.Management.Service.ML;
+
+import com.example.Inventory.Management.DTO.DailySalesDto;
+import com.example.Inventory.Management.Entity.DailyProductSales;
+import com.example.Inventory.Management.Entity.ProductSalesStats;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.DailyProductSalesRepository;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.ProductSalesStatsRepository;
+import com.example.Inventory.Management.Repository.StockEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the forecasting inputs alongside the ledger: the daily sales rollup
+ * ({@code daily_product_sales}) and the per-product {@link ProductSalesStats}.
+ * Callers invoke it in the same transaction as the ledger write, after the
+ * product row is locked (the stock UPDATE or the batch lock), so updates for one
+ * product are serialized.
+ *
+ * Each write upserts the touched days of the rollup. Appending a sale on or
+ * after the last sale day updates the statistics in O(1); anything that shifts
+ * earlier days (back-dated sales, removing a whole day) recomputes them from
+ * the rollup, one row per sale day. A product without a statistics record may
+ * have ledger history written before the rollup existed, so its first write
+ * rebuilds the product from the ledger instead.
+ *
+ * Every change publishes a {@link PredictionInputsChangedEvent} for the
+ * products it touched.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesStatisticsService {
+
+    private final ProductSalesStatsRepository statsRepository;
+    private final DailyProductSalesRepository dailySalesRepository;
+    private final StockEntryRepository stockEntryRepository;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Current statistics for a product. Products without a stored record yet are
+     * computed from the rollup without being stored; the next write persists them.
+     */
+    @Transactional(readOnly = true)
+    public ProductSalesStats getStats(Long productId) {
+        return statsRepository.findById(productId)
+                .orElseGet(() -> computeFromRollup(productId));
+    }
+
+    /**
+     * Days with at least one sale, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<DailySalesDto> getDailySales(Long productId) {
+        return dailySalesRepository.findSaleDays(productId);
+    }
+
+    /**
+     * Sale days of several products in one query, grouped by product and oldest
+     * first within each.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyProductSales> getDailySales(Collection<Long> productIds) {
+        return dailySalesRepository.findSaleDaysForProducts(productIds);
+    }
+
+    @Transactional
+    public void recordEntries(Collection<StockEntry> entries) {
+        Map<Long, List<StockEntry>> byProduct = new TreeMap<>();
+        for (StockEntry entry : entries) {
+            byProduct.computeIfAbsent(entry.getProduct().getId(), id -> new ArrayList<>()).add(entry);
+        }
+
+        TimeSeriesKernel.Workspace workspace = TimeSeriesKernel.workspace();
+        long earliestDay = Long.MAX_VALUE;
+        for (Map.Entry<Long, List<StockEntry>> group : byProduct.entrySet()) {
+            Long productId = group.getKey();
+            List<StockEntry> added = group.getValue();
+            int n = added.size();
+            int[] days = workspace.days(n);
+            for (int i = 0; i < n; i++) {
+                days[i] = Math.toIntExact(added.get(i).getDate().toLocalDate().toEpochDay());
+            }
+            int[] order = workspace.order(n);
+            TimeSeriesKernel.countingSortByDay(days, n, order, workspace);
+            earliestDay = Math.min(earliestDay, days[order[0]]);
+
+            ProductSalesStats stats = statsRepository.findByIdForUpdate(productId).orElse(null);
+            if (stats == null) {
+                // The ledger already holds the new entries
+                rebuildFromLedger(productId);
+                earliestDay = Long.MIN_VALUE;
+                continue;
+            }
+            boolean incremental = true;
+
+            // One rollup upsert and one statistics step per touched day, oldest first
+            int k = 0;
+            while (k < n) {
+                int day = days[order[k]];
+                long sold = 0, purchased = 0;
+                int count = 0;
+                for (; k < n && days[order[k]] == day; k++, count++) {
+                    StockEntry entry = added.get(order[k]);
+                    if (isSale(entry.getType())) {
+                        sold += entry.getQuantity();
+                    } else {
+                        purchased += entry.getQuantity();
+                    }
+                }
+                dailySalesRepository.upsert(productId, day, sold, purchased, count);
+                if (incremental) {
+                    stats.setEntryCount(stats.getEntryCount() + count);
+                    incremental = sold == 0 || stats.addSale(day, sold);
+                }
+            }
+            // A back-dated sale is recomputed from the updated rollup
+            save(incremental ? stats : computeFromRollup(productId));
+        }
+        eventPublisher.publishEvent(new PredictionInputsChangedEvent(List.copyOf(byProduct.keySet()), earliestDay));
+    }
+
+    @Transactional
+    public void recordEntry(StockEntry entry) {
+        recordEntries(List.of(entry));
+    }
+
+    /**
+     * Account for an entry that has been deleted from the ledger.
+     */
+    @Transactional
+    public void removeEntry(Long productId, String type, int quantity, LocalDateTime date) {
+        ProductSalesStats stats = statsRepository.findByIdForUpdate(productId).orElse(null);
+        if (stats == null) {
+            rebuildFromLedger(productId);
+            eventPublisher.publishEvent(new PredictionInputsChangedEvent(List.of(productId), Long.MIN_VALUE));
+            return;
+        }
+
+        removeFromRollup(productId, type, quantity, date);
+        eventPublisher.publishEvent(new PredictionInputsChangedEvent(List.of(productId),
+                date.toLocalDate().toEpochDay()));
+
+        stats.setEntryCount(stats.getEntryCount() - 1);
+        if (isSale(type) && !stats.removeSale(date.toLocalDate().toEpochDay(), quantity)) {
+            stats = computeFromRollup(productId);
+        }
+        save(stats);
+    }
+
+    /**
+     * Account for an entry changed in place, given its values before the change.
+     */
+    @Transactional
+    public void replaceEntry(Long oldProductId, String oldType, int oldQuantity, LocalDateTime oldDate,
+                             StockEntry updated) {
+        Long productId = updated.getProduct().getId();
+        if (!productId.equals(oldProductId)) {
+            removeEntry(oldProductId, oldType, oldQuantity, oldDate);
+            recordEntry(updated);
+            return;
+        }
+
+        ProductSalesStats stats = statsRepository.findByIdForUpdate(productId).orElse(null);
+        if (stats == null) {
+            rebuildFromLedger(productId);
+            eventPublisher.publishEvent(new PredictionInputsChangedEvent(List.of(productId), Long.MIN_VALUE));
+            return;
+        }
+
+        removeFromRollup(productId, oldType, oldQuantity, oldDate);
+        dailySalesRepository.upsert(productId, updated.getDate().toLocalDate().toEpochDay(),
+                isSale(updated.getType()) ? updated.getQuantity() : 0,
+                isSale(updated.getType()) ? 0 : updated.getQuantity(), 1);
+        eventPublisher.publishEvent(new PredictionInputsChangedEvent(List.of(productId),
+                Math.min(oldDate.toLocalDate().toEpochDay(), updated.getDate().toLocalDate().toEpochDay())));
+
+        boolean incremental = (!isSale(oldType) || stats.removeSale(oldDate.toLocalDate().toEpochDay(), oldQuantity))
+                && (!isSale(updated.getType())
+                        || stats.addSale(updated.getDate().toLocalDate().toEpochDay(), updated.getQuantity()));
+        save(incremental ? stats : computeFromRollup(productId));
+    }
+
+    /**
+     * Rebuild a product's rollup from the ledger and its statistics from the
+     * rollup. Locks the product row so live writes wait for the rebuild.
+     */
+    @Transactional
+    public ProductSalesStats rebuild(Long productId) {
+        productRepository.findAllByIdForUpdate(List.of(productId));
+        ProductSalesStats stats = rebuildFromLedger(productId);
+        eventPublisher.publishEvent(new PredictionInputsChangedEvent(List.of(productId), Long.MIN_VALUE));
+        return stats;
+    }
+
+    private ProductSalesStats rebuildFromLedger(Long productId) {
+        dailySalesRepository.deleteByProductId(productId);
+        for (DailyProductSales day : stockEntryRepository.aggregateDailyTotals(productId)) {
+            dailySalesRepository.upsert(productId, day.getEpochDay(),
+                    day.getQtySold(), day.getQtyPurchased(), day.getEntryCount());
+        }
+        return save(computeFromRollup(productId));
+    }
+
+    private void removeFromRollup(Long productId, String type, int quantity, LocalDateTime date) {
+        long epochDay = date.toLocalDate().toEpochDay();
+        dailySalesRepository.upsert(productId, epochDay,
+                isSale(type) ? -quantity : 0, isSale(type) ? 0 : -quantity, -1);
+        dailySalesRepository.deleteIfEmpty(productId, epochDay);
+    }
+
+    private ProductSalesStats computeFromRollup(Long productId) {
+        ProductSalesStats stats = ProductSalesStats.builder()
+                .productId(productId)
+                .entryCount(dailySalesRepository.sumEntryCount(productId))
+                .build();
+        for (DailySalesDto day : dailySalesRepository.findSaleDays(productId)) {
+            stats.addSale(day.getEpochDay(), day.getQtySold());
+        }
+        return stats;
+    }
+
+    private ProductSalesStats save(ProductSalesStats stats) {
+        stats.setUpdatedAt(LocalDateTime.now());
+        return statsRepository.save(stats);
+    }
+
+    private boolean isSale(String type) {
+        return "SALE".equalsIgnoreCase(type);
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.Inventory.Management.Service.ML;
+
+import java.util.Arrays;
+
+/**
+ * Primitive building blocks for the demand models: epoch-day buffers are owned
+ * by a per-thread {@link Workspace}, and line fits are written into reusable
+ * holders, so a forecast does not allocate beyond its result.
+ *
+ * Buffers handed out by a workspace are only valid until the next request for
+ * the same buffer on that thread; callers must not keep them.
+ */
+public final class TimeSeriesKernel {
+
+    private static final ThreadLocal<Workspace> WORKSPACES = ThreadLocal.withInitial(Workspace::new);
+
+    private TimeSeriesKernel() {
+    }
+
+    public static Workspace workspace() {
+        return WORKSPACES.get();
+    }
+
+    /**
+     * Day of week of an epoch day, Monday = 0 through Sunday = 6.
+     */
+    public static int dayOfWeek(long epochDay) {
+        // 1970-01-01 was a Thursday
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+
+    // Counting sort is used while the day range is at most this many times the input size
+    static final int MAX_SPAN_PER_ENTRY = 4;
+
+    /**
+     * Stable sort of {@code days[0..n)} by day: writes the sorted index order to
+     * {@code order}. Sales histories span few distinct days relative to their
+     * length, so this is a linear counting sort; a range much wider than the
+     * input (the days are client supplied) falls back to a comparison sort
+     * instead of sizing the counts by it.
+     */
+    public static void countingSortByDay(int[] days, int n, int[] order, Workspace workspace) {
+        if (n == 0) {
+            return;
+        }
+        int min = days[0], max = days[0];
+        for (int i = 1; i < n; i++) {
+            min = Math.min(min, days[i]);
+            max = Math.max(max, days[i]);
+        }
+        long span = (long) max - min + 1;
+        if (span > (long) MAX_SPAN_PER_ENTRY * n + 64) {
+            comparisonSortByDay(days, n, order, workspace);
+            return;
+        }
+        int[] counts = workspace.counts((int) span + 1);
+        for (int i = 0; i < n; i++) {
+            counts[days[i] - min + 1]++;
+        }
+        for (int d = 1; d <= span; d++) {
+            counts[d] += counts[d - 1];
+        }
+        for (int i = 0; i < n; i++) {
+            order[counts[days[i] - min]++] = i;
+        }
+    }
+
+    // Day in the high half and index in the low half, so ties keep input order
+    private static void comparisonSortByDay(int[] days, int n, int[] order, Workspace workspace) {
+        long[] keys = workspace.keys(n);
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) days[i] << 32) | i;
+        }
+        Arrays.sort(keys, 0, n);
+        for (int k = 0; k < n; k++) {
+            order[k] = (int) keys[k];
+        }
+    }
+
+    /**
+     * Least-squares line from sufficient statistics. R^2 and the residual sum of
+     * squares are expanded in terms of the sums, so no second pass is needed.
+     */
+    public static LineFit fitFromSums(int n, double sumX, double sumX2, double sumY, double sumXY, double sumY2,
+                                      LineFit out) {
+        out.n = n;
+        if (n < 2) {
+            // Default model
+            out.intercept = 1.0;
+            out.slope = 0.0;
+            out.rSquared = 0.0;
+            out.residualSumSquares = 0.0;
+            return out;
+        }
+
+        double denominator = n * sumX2 - sumX * sumX;
+        double slope = 0.0;
+        double intercept = sumY / n;
+        if (Math.abs(denominator) > 1e-10) { // Avoid division by zero
+            slope = (n * sumXY - sumX * sumY) / denominator;
+            intercept = (sumY - slope * sumX) / n;
+        }
+
+        double totalSumSquares = Math.max(0.0, sumY2 - sumY * sumY / n);
+        double residualSumSquares = Math.max(0.0, sumY2
+                - 2 * intercept * sumY - 2 * slope * sumXY
+                + n * intercept * intercept + 2 * intercept * slope * sumX + slope * slope * sumX2);
+
+        out.intercept = intercept;
+        out.slope = slope;
+        out.residualSumSquares = residualSumSquares;
+        out.rSquared = totalSumSquares > 1e-10
+                ? Math.min(1.0, Math.max(0.0, 1 - residualSumSquares / totalSumSquares))
+                : 0.0;
+        return out;
+    }
+
+    /**
+     * A fitted line y = intercept + slope * x.
+     */
+    public static final class LineFit {
+        int n;
+        double intercept;
+        double slope;
+        double rSquared;
+        double residualSumSquares;
+
+        public double predict(double x) {
+            return intercept + slope * x;
+        }
+
+        public double getRSquared() {
+            return rSquared;
+        }
+
+        public double getResidualSumSquares() {
+            return residualSumSquares;
+        }
+
+        // Population variance of the residuals
+        public double residualVariance() {
+            return n == 0 ? 0.0 : residualSumSquares / n;
+        }
+    }
+
+    /**
+     * Per-thread scratch buffers, grown on demand and reused across calls.
+     * Requests above {@link #MAX_RETAINED_CAPACITY} get a one-off buffer, so a
+     * single large batch does not pin its buffers to the thread.
+     */
+    public static final class Workspace {
+        static final int MAX_RETAINED_CAPACITY = 1 << 16;
+
+        private int[] days = new int[64];
+        private int[] order = new int[64];
+        private int[] counts = new int[64];
+        private long[] keys = new long[64];
+        private final LineFit lineFit = new LineFit();
+
+        public int[] days(int capacity) {
+            if (capacity > MAX_RETAINED_CAPACITY) {
+                return new int[capacity];
+            }
+            if (days.length < capacity) {
+                days = new int[grow(capacity)];
+            }
+            return days;
+        }
+
+        public LineFit lineFit() {
+            return lineFit;
+        }
+
+        int[] order(int capacity) {
+            if (capacity > MAX_RETAINED_CAPACITY) {
+                return new int[capacity];
+            }
+            if (order.length < capacity) {
+                order = new int[grow(capacity)];
+            }
+            return order;
+        }
+
+        // Returned cleared
+        int[] counts(int capacity) {
+            if (capacity > MAX_RETAINED_CAPACITY) {
+                return new int[capacity];
+            }
+            if (counts.length < capacity) {
+                counts = new int[grow(capacity)];
+            } else {
+                Arrays.fill(counts, 0, capacity, 0);
+            }
+            return counts;
+        }
+
+        long[] keys(int capacity) {
+            if (capacity > MAX_RETAINED_CAPACITY) {
+                return new long[capacity];
+            }
+            if (keys.length < capacity) {
+                keys = new long[grow(capacity)];
+            }
+            return keys;
+        }
+
+        private static int grow(int capacity) {
+            return Math.min(MAX_RETAINED_CAPACITY, Math.max(capacity, Integer.highestOneBit(capacity) << 1));
+        }
+    }
+}
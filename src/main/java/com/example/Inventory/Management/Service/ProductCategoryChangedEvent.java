@@ -0,0 +1,14 @@
+package com.example.Inventory.Management.Service;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published by product writes that add or remove a product from categories,
+ * changing their product counts.
+ */
+@Value
+public class ProductCategoryChangedEvent {
+    List<Long> categoryIds;
+}
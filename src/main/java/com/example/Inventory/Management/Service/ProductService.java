@@ -1,6 +1,11 @@
 package com.example.Inventory.Management.Service;
 
+import com.example.Inventory.Management.DTO.KeysetPage;
+import com.example.Inventory.Management.DTO.ProductDto;
 import com.example.Inventory.Management.Entity.Product;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ProductService {
@@ -12,4 +17,15 @@ public interface ProductService {
     List<Product> searchProductsByName(String name);
     List<Product> getProductsByCategory(String categoryName);
     List<Product> getLowStockProducts(Integer threshold);
+    List<ProductDto> getAllProductDtos(boolean includeSuppliers);
+    ProductDto getProductDtoById(Long id, boolean includeSuppliers);
+    List<ProductDto> searchProductDtosByName(String name, boolean includeSuppliers);
+    List<ProductDto> searchProductDtosByName(String name, boolean prefix, int offset, int size,
+                                             boolean includeSuppliers);
+    List<ProductDto> getProductDtosByCategory(String categoryName, boolean includeSuppliers);
+    List<ProductDto> getLowStockProductDtos(Integer threshold, boolean includeSuppliers);
+    List<ProductDto> getLowestStockProductDtos(int limit, boolean includeSuppliers);
+    long countLowStockProducts(Integer threshold);
+    KeysetPage<ProductDto> getProductsPage(Long afterId, int size);
+    void exportProducts(OutputStream out) throws IOException;
 }
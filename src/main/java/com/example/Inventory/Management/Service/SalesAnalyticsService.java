@@ -0,0 +1,12 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.SalesQuery;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface SalesAnalyticsService {
+    SalesQuery query(LocalDate from, LocalDate to, String bucket, String groupBy);
+    void streamSales(SalesQuery query, OutputStream out) throws IOException;
+}
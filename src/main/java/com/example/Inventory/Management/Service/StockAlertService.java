@@ -0,0 +1,17 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.StockAlert;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+public interface StockAlertService {
+
+    /**
+     * Opens a Server-Sent Events stream of stock alerts. With a
+     * {@code lastEventId} the retained alerts after it are replayed first.
+     */
+    SseEmitter subscribe(Long lastEventId);
+
+    List<StockAlert> getAlertsAfter(long afterId);
+}
@@ -1,13 +1,26 @@
 package com.example.Inventory.Management.Service;
 
+import com.example.Inventory.Management.DTO.BatchStockEntryResult;
+import com.example.Inventory.Management.DTO.KeysetPage;
+import com.example.Inventory.Management.DTO.StockEntryDto;
 import com.example.Inventory.Management.Entity.StockEntry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface StockEntryService {
     StockEntry addStockEntry(StockEntry stockEntry);
+    BatchStockEntryResult addStockEntries(List<StockEntry> stockEntries);
     List<StockEntry> getStockEntriesByProduct(Long productId);
     StockEntry updateStockEntry(Long id, StockEntry stockEntry);
     StockEntry getStockEntryById(Long id);
     void deleteStockEntry(Long id);
     List<StockEntry> getAllStockEntries();
+    List<StockEntryDto> getAllStockEntryDtos();
+    StockEntryDto getStockEntryDtoById(Long id);
+    List<StockEntryDto> getStockEntryDtosByProduct(Long productId);
+    KeysetPage<StockEntryDto> getStockEntriesPage(Long afterId, int size);
+    KeysetPage<StockEntryDto> getStockEntriesPageByProduct(Long productId, LocalDateTime afterDate, Long afterId, int size);
+    void exportStockEntries(OutputStream out) throws IOException;
 }
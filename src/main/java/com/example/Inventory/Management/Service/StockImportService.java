@@ -0,0 +1,9 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.StockImportResult;
+
+import java.io.InputStream;
+
+public interface StockImportService {
+    StockImportResult importStockHistory(String importId, String format, InputStream input);
+}
@@ -0,0 +1,21 @@
+package com.example.Inventory.Management.Service;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published by stock writes with each touched product's quantity before and
+ * after the write.
+ */
+@Value
+public class StockLevelChangedEvent {
+    List<Change> changes;
+
+    @Value
+    public static class Change {
+        Long productId;
+        int previousQuantity;
+        int quantity;
+    }
+}
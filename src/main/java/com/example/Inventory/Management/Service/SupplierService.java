@@ -1,5 +1,7 @@
 package com.example.Inventory.Management.Service;
 
+import com.example.Inventory.Management.DTO.ReferenceCacheStats;
+import com.example.Inventory.Management.DTO.SupplierDto;
 import com.example.Inventory.Management.Entity.Supplier;
 import java.util.List;
 
@@ -9,4 +11,8 @@ public interface SupplierService {
     List<Supplier> getAllSuppliers();
     void deleteSupplier(Long id);
     Supplier updateSupplier(Long id, Supplier supplier);
+    List<SupplierDto> getAllSupplierDtos();
+    SupplierDto getSupplierDtoById(Long id);
+    SupplierDto getSupplierDtoByName(String name);
+    ReferenceCacheStats getCacheStats();
 }
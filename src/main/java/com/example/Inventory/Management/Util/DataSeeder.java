@@ -2,6 +2,7 @@ package com.example.Inventory.Management.Util;
 
 import com.example.Inventory.Management.Entity.*;
 import com.example.Inventory.Management.Repository.*;
+import com.example.Inventory.Management.Service.ML.SalesStatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -18,6 +19,8 @@ public class DataSeeder implements CommandLineRunner {
     private CategoryRepository categoryRepository;
     @Autowired
     private StockEntryRepository stockEntryRepository;
+    @Autowired
+    private SalesStatisticsService salesStatisticsService;
 
     @Override
     public void run(String... args) throws Exception {
@@ -57,5 +60,6 @@ public class DataSeeder implements CommandLineRunner {
                 .build();
             stockEntryRepository.save(sale);
         }
+        salesStatisticsService.rebuild(laptop.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.example.Inventory.Management.Util;
+
+import com.example.Inventory.Management.Entity.ForecastSnapshotRun;
+import com.example.Inventory.Management.Service.ML.ForecastSnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refreshes the forecast snapshots of products whose inputs changed, nightly
+ * by default ({@code inventory.forecast.snapshot.cron}). A failed run is left
+ * checkpointed and the next one resumes it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true")
+public class ForecastSnapshotScheduler {
+
+    @Autowired
+    private ForecastSnapshotService snapshotService;
+
+    @Scheduled(cron = "${inventory.forecast.snapshot.cron:0 0 2 * * *}")
+    public void refreshSnapshots() {
+        try {
+            ForecastSnapshotRun run = snapshotService.refresh(false);
+            log.info("Forecast snapshot run {} {}: {} products refitted",
+                    run.getId(), run.getStatus(), run.getRefitted());
+        } catch (RuntimeException e) {
+            log.error("Forecast snapshot refresh failed", e);
+        }
+    }
+}
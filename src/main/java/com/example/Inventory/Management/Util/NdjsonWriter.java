@@ -0,0 +1,27 @@
+package com.example.Inventory.Management.Util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of rows as newline-delimited JSON without buffering the
+ * whole result.
+ */
+public final class NdjsonWriter {
+
+    private NdjsonWriter() {
+    }
+
+    public static void write(Stream<?> rows, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        Iterator<?> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            out.write(objectMapper.writeValueAsBytes(iterator.next()));
+            out.write('\n');
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.Inventory.Management.Util;
+
+import com.example.Inventory.Management.DTO.NameIndexStats;
+import com.example.Inventory.Management.DTO.ProductNameView;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over product names for case-insensitive substring
+ * and word-prefix search.
+ *
+ * Every lower-cased name is split into overlapping three-character grams,
+ * each mapped to a sorted array of product ids. A query of three or more
+ * characters intersects the id arrays of its grams, smallest first, and
+ * checks the few candidates against the name; shorter queries scan the
+ * names, which are held in memory anyway.
+ *
+ * Built once the application is ready and kept current by
+ * {@code ProductServiceImpl}. Writes that bypass the service are not seen, so
+ * {@link #reconcile()} periodically corrects it from the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductNameIndex {
+
+    // Exact name, name prefix, word prefix, anywhere else
+    static final int EXACT = 0;
+    static final int NAME_PREFIX = 1;
+    static final int WORD_PREFIX = 2;
+    static final int SUBSTRING = 3;
+
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::rank)
+            .thenComparingInt(Match::length)
+            .thenComparingLong(Match::id);
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, SortedLongSet> grams = new HashMap<>();
+    // Ids written while a reconciliation reads the table; their fresher name wins
+    private Set<Long> touched;
+    private volatile boolean built;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reconcile();
+    }
+
+    /**
+     * Brings the index in line with the products table and returns how many
+     * products had drifted (renamed, missing or no longer existing).
+     */
+    public synchronized int reconcile() {
+        setTouched(new HashSet<>());
+        List<ProductNameView> products;
+        try {
+            products = productRepository.findAllNames();
+        } catch (RuntimeException e) {
+            setTouched(null);
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int corrected = 0;
+            Set<Long> stale = new HashSet<>(names.keySet());
+            for (ProductNameView product : products) {
+                Long id = product.getId();
+                stale.remove(id);
+                if (touched.contains(id)) {
+                    continue;
+                }
+                String current = names.get(id);
+                if (!Objects.equals(current, product.getName() == null ? null : normalize(product.getName()))) {
+                    remove(id, current);
+                    add(id, product.getName());
+                    corrected++;
+                }
+            }
+            stale.removeAll(touched);
+            for (Long id : stale) {
+                remove(id, names.get(id));
+                corrected++;
+            }
+            if (built && corrected > 0) {
+                log.info("Product name index reconciled: {} products corrected", corrected);
+            }
+            built = true;
+            return corrected;
+        } finally {
+            touched = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Long id, String name) {
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            remove(id, names.get(id));
+            add(id, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            remove(id, names.get(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the products whose name contains {@code query}, or with
+     * {@code prefix} has a word starting with it, ranked: exact match, name
+     * prefix, word prefix, then elsewhere, shorter names first. A
+     * {@code size} of 0 returns every match from {@code offset}.
+     */
+    public List<Long> search(String query, boolean prefix, int offset, int size) {
+        if (!built) {
+            reconcile();
+        }
+        String needle = normalize(query);
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (needle.length() >= 3) {
+                for (long id : candidates(needle)) {
+                    collect(matches, id, names.get(id), needle, prefix);
+                }
+            } else {
+                names.forEach((id, name) -> collect(matches, id, name, needle, prefix));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(RANKING);
+        int from = Math.min(Math.max(0, offset), matches.size());
+        int to = size > 0 ? Math.min(matches.size(), from + size) : matches.size();
+        return matches.subList(from, to).stream().map(Match::id).toList();
+    }
+
+    public NameIndexStats getStats() {
+        lock.readLock().lock();
+        try {
+            long postings = 0;
+            long bytes = 0;
+            for (String name : names.values()) {
+                // Map entry and boxed key, plus the string and its Latin-1 bytes
+                bytes += 48 + 16 + 40 + name.length();
+            }
+            for (SortedLongSet list : grams.values()) {
+                postings += list.size;
+                bytes += 48 + 16 + 32 + 8L * list.ids.length;
+            }
+            return NameIndexStats.builder()
+                    .products(names.size())
+                    .trigrams(grams.size())
+                    .postings(postings)
+                    .estimatedBytes(bytes)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setTouched(Set<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            touched = ids;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void markTouched(Long id) {
+        if (touched != null) {
+            touched.add(id);
+        }
+    }
+
+    private long[] candidates(String needle) {
+        List<SortedLongSet> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= needle.length(); i++) {
+            SortedLongSet list = grams.get(gram(needle, i));
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        long[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        int length = result.length;
+        for (int l = 1; l < lists.size() && length > 0; l++) {
+            SortedLongSet list = lists.get(l);
+            int kept = 0;
+            for (int i = 0; i < length; i++) {
+                if (Arrays.binarySearch(list.ids, 0, list.size, result[i]) >= 0) {
+                    result[kept++] = result[i];
+                }
+            }
+            length = kept;
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    private static void collect(List<Match> matches, long id, String name, String needle, boolean prefix) {
+        int rank;
+        if (name.equals(needle)) {
+            rank = EXACT;
+        } else if (name.startsWith(needle)) {
+            rank = NAME_PREFIX;
+        } else if (name.contains(" " + needle)) {
+            rank = WORD_PREFIX;
+        } else if (!prefix && name.contains(needle)) {
+            rank = SUBSTRING;
+        } else {
+            return;
+        }
+        matches.add(new Match(id, rank, name.length()));
+    }
+
+    private void add(Long id, String name) {
+        if (name == null) {
+            return;
+        }
+        String normalized = normalize(name);
+        names.put(id, normalized);
+        for (int i = 0; i + 3 <= normalized.length(); i++) {
+            grams.computeIfAbsent(gram(normalized, i), key -> new SortedLongSet()).add(id);
+        }
+    }
+
+    private void remove(Long id, String normalized) {
+        if (normalized == null) {
+            return;
+        }
+        names.remove(id);
+        for (int i = 0; i + 3 <= normalized.length(); i++) {
+            long key = gram(normalized, i);
+            SortedLongSet list = grams.get(key);
+            if (list != null && list.remove(id) && list.size == 0) {
+                grams.remove(key);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long gram(String text, int at) {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    private record Match(long id, int rank, int length) {
+    }
+}
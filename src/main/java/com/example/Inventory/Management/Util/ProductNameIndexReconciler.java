@@ -0,0 +1,30 @@
+package com.example.Inventory.Management.Util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically corrects drift in the in-memory product name index
+ * ({@code inventory.name-index.reconcile-interval}, 5 minutes by default).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true")
+public class ProductNameIndexReconciler {
+
+    @Autowired
+    private ProductNameIndex productNameIndex;
+
+    @Scheduled(initialDelayString = "${inventory.name-index.reconcile-interval:5m}",
+            fixedDelayString = "${inventory.name-index.reconcile-interval:5m}")
+    public void reconcile() {
+        try {
+            productNameIndex.reconcile();
+        } catch (RuntimeException e) {
+            log.error("Product name index reconciliation failed", e);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.Inventory.Management.Util;
+
+import com.example.Inventory.Management.DTO.ProductQuantityView;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Service.StockLevelChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of product stock levels for low-stock queries.
+ *
+ * Products are bucketed by quantity: a sorted map from each distinct
+ * quantity to the sorted ids holding it. Threshold and lowest-N queries walk
+ * the buckets from the bottom and stop early, and counts add up bucket sizes,
+ * so none of them reads the products table.
+ *
+ * Stock entry writes update it once committed; product writes go through
+ * {@code ProductServiceImpl}. Two commits on the same product can apply out
+ * of order, and writes that bypass both are not seen at all, so
+ * {@link #reconcile()} periodically corrects it from the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductQuantityIndex {
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> quantities = new HashMap<>();
+    private final TreeMap<Integer, SortedLongSet> buckets = new TreeMap<>();
+    // Ids written while a reconciliation reads the table; their fresher value wins
+    private Set<Long> touched;
+    private volatile boolean built;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reconcile();
+    }
+
+    /**
+     * Brings the index in line with the products table and returns how many
+     * products had drifted (stale, missing or no longer existing).
+     */
+    public synchronized int reconcile() {
+        setTouched(new HashSet<>());
+        List<ProductQuantityView> products;
+        try {
+            products = productRepository.findAllQuantities();
+        } catch (RuntimeException e) {
+            setTouched(null);
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int corrected = 0;
+            Set<Long> stale = new HashSet<>(quantities.keySet());
+            for (ProductQuantityView product : products) {
+                Long id = product.getId();
+                stale.remove(id);
+                if (touched.contains(id)) {
+                    continue;
+                }
+                int quantity = product.getQuantity() == null ? 0 : product.getQuantity();
+                if (!Objects.equals(quantities.get(id), quantity)) {
+                    set(id, quantity);
+                    corrected++;
+                }
+            }
+            stale.removeAll(touched);
+            for (Long id : stale) {
+                unset(id);
+                corrected++;
+            }
+            if (built && corrected > 0) {
+                log.info("Stock level index reconciled: {} products corrected", corrected);
+            }
+            built = true;
+            return corrected;
+        } finally {
+            touched = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (StockLevelChangedEvent.Change change : event.getChanges()) {
+                markTouched(change.getProductId());
+                set(change.getProductId(), change.getQuantity());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Long id, Integer quantity) {
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            set(id, quantity == null ? 0 : quantity);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            unset(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of products with quantity below {@code threshold}, lowest stock
+     * first and by id within a quantity. A {@code limit} of 0 returns all.
+     */
+    public List<Long> findBelow(int threshold, int limit) {
+        ensureBuilt();
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (SortedLongSet bucket : buckets.headMap(threshold, false).values()) {
+                for (int i = 0; i < bucket.size; i++) {
+                    if (limit > 0 && ids.size() == limit) {
+                        return ids;
+                    }
+                    ids.add(bucket.ids[i]);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} products with the least stock, lowest first.
+     */
+    public List<Long> findLowest(int limit) {
+        return findBelow(Integer.MAX_VALUE, limit);
+    }
+
+    public long countBelow(int threshold) {
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            long count = 0;
+            for (SortedLongSet bucket : buckets.headMap(threshold, false).values()) {
+                count += bucket.size;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            reconcile();
+        }
+    }
+
+    private void setTouched(Set<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            touched = ids;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void markTouched(Long id) {
+        if (touched != null) {
+            touched.add(id);
+        }
+    }
+
+    private void set(Long id, int quantity) {
+        Integer previous = quantities.put(id, quantity);
+        if (previous != null) {
+            if (previous == quantity) {
+                return;
+            }
+            removeFromBucket(id, previous);
+        }
+        buckets.computeIfAbsent(quantity, key -> new SortedLongSet()).add(id);
+    }
+
+    private void unset(Long id) {
+        Integer previous = quantities.remove(id);
+        if (previous != null) {
+            removeFromBucket(id, previous);
+        }
+    }
+
+    private void removeFromBucket(Long id, int quantity) {
+        SortedLongSet bucket = buckets.get(quantity);
+        if (bucket != null && bucket.remove(id) && bucket.size == 0) {
+            buckets.remove(quantity);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.Inventory.Management.Util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically corrects drift in the in-memory stock level index
+ * ({@code inventory.low-stock-index.reconcile-interval}, 5 minutes by default).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true")
+public class ProductQuantityIndexReconciler {
+
+    @Autowired
+    private ProductQuantityIndex productQuantityIndex;
+
+    @Scheduled(initialDelayString = "${inventory.low-stock-index.reconcile-interval:5m}",
+            fixedDelayString = "${inventory.low-stock-index.reconcile-interval:5m}")
+    public void reconcile() {
+        try {
+            productQuantityIndex.reconcile();
+        } catch (RuntimeException e) {
+            log.error("Stock level index reconciliation failed", e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.Inventory.Management.Util;
+
+import com.example.Inventory.Management.DTO.ReferenceCacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for a small reference table (categories, suppliers):
+ * rows by id, rows by name and the full list, each bounded by size and TTL.
+ *
+ * Writers call {@link #put} with the saved row or {@link #invalidate} after
+ * their change is committed. Both bump a version that loads compare before
+ * and after storing, so a load that read the table before a write cannot
+ * leave the pre-write row behind. When disabled every call goes straight to
+ * the loader.
+ */
+public class ReferenceCache<T> {
+
+    private static final String ALL = "all";
+
+    private final boolean enabled;
+    private final Function<T, Long> idOf;
+    private final Function<T, String> nameOf;
+    private final Cache<Long, T> byId;
+    private final Cache<String, T> byName;
+    private final Cache<String, List<T>> all;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ReferenceCache(boolean enabled, long maximumSize, Duration ttl,
+                          Function<T, Long> idOf, Function<T, String> nameOf) {
+        this.enabled = enabled;
+        this.idOf = idOf;
+        this.nameOf = nameOf;
+        this.byId = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        this.byName = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        this.all = Caffeine.newBuilder().maximumSize(1).expireAfterWrite(ttl).recordStats().build();
+    }
+
+    public Optional<T> get(Long id, Function<Long, Optional<T>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        T cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long seen = version.get();
+        Optional<T> loaded = loader.apply(id);
+        loaded.ifPresent(row -> store(byId, id, row, seen));
+        return loaded;
+    }
+
+    public Optional<T> getByName(String name, Function<String, Optional<T>> loader) {
+        if (!enabled) {
+            return loader.apply(name);
+        }
+        T cached = byName.getIfPresent(name);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long seen = version.get();
+        Optional<T> loaded = loader.apply(name);
+        loaded.ifPresent(row -> store(byName, name, row, seen));
+        return loaded;
+    }
+
+    public List<T> getAll(Supplier<List<T>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        List<T> cached = all.getIfPresent(ALL);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = version.get();
+        List<T> loaded = List.copyOf(loader.get());
+        store(all, ALL, loaded, seen);
+        loaded.forEach(row -> store(byId, idOf.apply(row), row, seen));
+        return loaded;
+    }
+
+    /**
+     * Write-through of a saved row; the full list is reloaded on next use.
+     */
+    public void put(T row) {
+        if (!enabled) {
+            return;
+        }
+        Long id = idOf.apply(row);
+        version.incrementAndGet();
+        byName.asMap().values().removeIf(cached -> id.equals(idOf.apply(cached)));
+        byId.put(id, row);
+        byName.put(nameOf.apply(row), row);
+        all.invalidateAll();
+    }
+
+    public void invalidate(Long id) {
+        if (!enabled) {
+            return;
+        }
+        version.incrementAndGet();
+        byId.invalidate(id);
+        byName.asMap().values().removeIf(cached -> id.equals(idOf.apply(cached)));
+        all.invalidateAll();
+        invalidations.incrementAndGet();
+    }
+
+    public ReferenceCacheStats getStats() {
+        CacheStats stats = byId.stats().plus(byName.stats()).plus(all.stats());
+        return ReferenceCacheStats.builder()
+                .enabled(enabled)
+                .size(byId.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .invalidations(invalidations.get())
+                .build();
+    }
+
+    private <K, V> void store(Cache<K, V> cache, K key, V value, long seen) {
+        if (version.get() != seen) {
+            return;
+        }
+        cache.put(key, value);
+        // A write that landed between the check and the put may have missed this entry
+        if (version.get() != seen) {
+            cache.invalidate(key);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.Inventory.Management.Util;
+
+import com.example.Inventory.Management.Service.ML.SalesRollupRebuildService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the daily sales rollup at startup when the rollup is empty but the
+ * ledger is not, i.e. after upgrading a database whose ledger predates the
+ * rollup, or always when started with
+ * {@code --inventory.rollup.rebuild-on-startup=true}.
+ */
+@Component
+public class SalesRollupRebuildRunner implements CommandLineRunner {
+
+    @Autowired
+    private SalesRollupRebuildService salesRollupRebuildService;
+
+    @Value("${inventory.rollup.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Override
+    public void run(String... args) {
+        if (rebuildOnStartup || salesRollupRebuildService.needsBackfill()) {
+            salesRollupRebuildService.rebuildAll();
+        }
+    }
+}
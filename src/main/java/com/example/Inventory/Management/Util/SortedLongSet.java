@@ -0,0 +1,37 @@
+package com.example.Inventory.Management.Util;
+
+import java.util.Arrays;
+
+/**
+ * Growable sorted array of distinct longs, the posting list behind the
+ * in-memory product indexes. Not thread-safe; owners guard it with their
+ * own lock.
+ */
+final class SortedLongSet {
+    long[] ids = new long[2];
+    int size;
+
+    void add(long id) {
+        int at = Arrays.binarySearch(ids, 0, size, id);
+        if (at >= 0) {
+            return;
+        }
+        at = -at - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, at, ids, at + 1, size - at);
+        ids[at] = id;
+        size++;
+    }
+
+    boolean remove(long id) {
+        int at = Arrays.binarySearch(ids, 0, size, id);
+        if (at < 0) {
+            return false;
+        }
+        System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+        size--;
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.Inventory.Management.Util;
+
+import com.example.Inventory.Management.DTO.StockImportResult;
+import com.example.Inventory.Management.Service.StockImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Imports a stock history file at startup when started with
+ * {@code --inventory.import.file=/path/history.ndjson} (or {@code .csv}).
+ * The import id defaults to the file name, so rerunning the same command
+ * resumes an interrupted import.
+ */
+@Slf4j
+@Component
+public class StockImportRunner implements CommandLineRunner {
+
+    @Autowired
+    private StockImportService stockImportService;
+
+    @Value("${inventory.import.file:}")
+    private String importFile;
+
+    @Value("${inventory.import.id:}")
+    private String importId;
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (importFile.isBlank()) {
+            return;
+        }
+
+        Path path = Path.of(importFile);
+        String format = importFile.toLowerCase().endsWith(".csv") ? "csv" : "ndjson";
+        String id = importId.isBlank() ? path.getFileName().toString() : importId;
+
+        try (InputStream input = Files.newInputStream(path)) {
+            StockImportResult result = stockImportService.importStockHistory(id, format, input);
+            log.info("Stock import {} {}: {} imported, {} rejected, {} lines processed",
+                    result.getImportId(), result.getStatus(), result.getImported(),
+                    result.getRejected(), result.getLinesProcessed());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+-- One-off MySQL migration for databases created while stock_entry.type was a
+-- VARCHAR. Run before deploying: ddl-auto=update adds the new indexes but does
+-- not change the type of an existing column. Codes match StockEntryTypeConverter.
+ALTER TABLE stock_entry ADD COLUMN type_code TINYINT;
+UPDATE stock_entry SET type_code = CASE UPPER(type) WHEN 'SALE' THEN 1 ELSE 0 END;
+ALTER TABLE stock_entry DROP COLUMN type;
+ALTER TABLE stock_entry CHANGE COLUMN type_code type TINYINT NOT NULL;
@@ -0,0 +1,130 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.BacktestResult;
+import com.example.Inventory.Management.DTO.ModelAccuracy;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.StockEntryRepository;
+import com.example.Inventory.Management.Service.ML.BacktestService;
+import com.example.Inventory.Management.Service.ML.PredictionValidationService;
+import com.example.Inventory.Management.Service.ML.SalesStatisticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BacktestServiceTest {
+
+    @Autowired
+    private BacktestService backtestService;
+
+    @Autowired
+    private PredictionValidationService validationService;
+
+    @Autowired
+    private SalesStatisticsService salesStatisticsService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockEntryRepository stockEntryRepository;
+
+    @Test
+    void backtest_ShouldScoreEveryModelExactlyOnSteadyDemand() {
+        // Given: 5 units every day for 60 days
+        Product product = productWithDailySales(60, 5, 5);
+
+        // When
+        BacktestResult result = backtestService.backtest(product.getId(), 20, List.of(7, 1));
+
+        // Then: three models at two horizons, every point exact
+        assertEquals(20, result.getOrigins());
+        assertEquals(6, result.getModels().size());
+        for (ModelAccuracy accuracy : result.getModels()) {
+            assertEquals(accuracy.getHorizonDays() == 1 ? 20 : 14, accuracy.getPoints(), accuracy.getModel());
+            assertEquals(0.0, accuracy.getMae(), 1e-6, accuracy.getModel());
+            assertEquals(0.0, accuracy.getBias(), 1e-6, accuracy.getModel());
+            assertEquals(0.0, accuracy.getMape(), 1e-6, accuracy.getModel());
+            assertEquals(100.0, accuracy.getAccuracy(), 1e-9, accuracy.getModel());
+        }
+    }
+
+    @Test
+    void backtest_ShouldNotLetLaterDaysInfluenceEarlierForecasts() {
+        // Given: steady demand with a spike on the last complete day
+        Product product = productWithDailySales(60, 5, 500);
+
+        // When
+        BacktestResult result = backtestService.backtest(product.getId(), 20, List.of(1));
+
+        // Then: only the last origin, whose actual is the spike, has any error
+        for (ModelAccuracy accuracy : result.getModels()) {
+            assertEquals(495.0, accuracy.getMae() * accuracy.getPoints(), 1e-6, accuracy.getModel());
+            assertEquals(95.0, accuracy.getAccuracy(), 1e-9, accuracy.getModel());
+        }
+    }
+
+    @Test
+    void backtest_ShouldReturnResultsInRequestOrder() {
+        // Given
+        Product steady = productWithDailySales(40, 3, 3);
+        Product fresh = productWithDailySales(5, 3, 3);
+
+        // When
+        List<BacktestResult> results = backtestService.backtest(
+                List.of(fresh.getId(), Long.MAX_VALUE, steady.getId()), 10, List.of(1, 7));
+
+        // Then
+        assertEquals(List.of(fresh.getId(), Long.MAX_VALUE, steady.getId()),
+                results.stream().map(BacktestResult::getProductId).toList());
+        assertTrue(results.get(1).getModels().isEmpty());
+        assertEquals(6, results.get(2).getModels().size());
+        // Too short for Holt-Winters and the multiple regression
+        assertTrue(results.get(0).getModels().stream().allMatch(m -> m.getModel().equals("linear")));
+    }
+
+    @Test
+    void validateModel_ShouldReportOneDayLinearRegressionBacktest() {
+        // Given
+        Product product = productWithDailySales(30, 4, 4);
+
+        // When
+        PredictionValidationService.ModelValidationResult result = validationService.validateModel(product.getId(), 7);
+
+        // Then
+        assertEquals("Linear Regression", result.getModelName());
+        assertEquals(0.0, result.getMeanSquaredError(), 1e-9);
+        assertEquals(100.0, result.getAccuracy(), 1e-9);
+        assertEquals("EXCELLENT", result.getPerformanceLevel());
+    }
+
+    // One sale a day through yesterday; the last day sells lastDayQuantity
+    private Product productWithDailySales(int days, int quantity, int lastDayQuantity) {
+        Product product = productRepository.save(Product.builder()
+                .name("Backtest " + System.nanoTime())
+                .price(3.0)
+                .quantity(100)
+                .build());
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        List<StockEntry> entries = new ArrayList<>();
+        for (int i = days - 1; i >= 0; i--) {
+            entries.add(StockEntry.builder()
+                    .product(product)
+                    .type("SALE")
+                    .quantity(i == 0 ? lastDayQuantity : quantity)
+                    .date(yesterday.minusDays(i).atTime(10, 0))
+                    .build());
+        }
+        stockEntryRepository.saveAll(entries);
+        salesStatisticsService.rebuild(product.getId());
+        return product;
+    }
+}
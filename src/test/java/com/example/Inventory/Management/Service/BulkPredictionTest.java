@@ -0,0 +1,154 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Service.ML.ForecastService;
+import com.example.Inventory.Management.Service.ML.HoltWintersForecastService;
+import com.example.Inventory.Management.Service.ML.InventoryPrediction;
+import com.example.Inventory.Management.Service.ML.PredictionCache;
+import com.example.Inventory.Management.Service.ML.RestockRecommendationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BulkPredictionTest {
+
+    private static final int PRODUCTS = 40;
+
+    @Autowired
+    private ForecastService forecastService;
+
+    @Autowired
+    private HoltWintersForecastService holtWintersService;
+
+    @Autowired
+    private StockEntryService stockEntryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RestockRecommendationService restockRecommendationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Long> productIds;
+
+    @BeforeEach
+    void setUp() {
+        productIds = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(45);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("Bulk Item " + i)
+                    .price(9.0)
+                    .quantity(2_000)
+                    .build());
+            List<StockEntry> sales = new ArrayList<>();
+            for (int day = 0; day < 40; day++) {
+                sales.add(StockEntry.builder()
+                        .product(Product.builder().id(product.getId()).build())
+                        .type("SALE")
+                        .quantity(1 + (day * (i + 1)) % 7)
+                        .date(start.plusDays(day))
+                        .build());
+            }
+            stockEntryService.addStockEntries(sales);
+            productIds.add(product.getId());
+        }
+        restockRecommendationService.awaitMaintenance();
+    }
+
+    @Test
+    void forecastAll_ShouldMatchPerProductForecasts() {
+        // When
+        Map<Long, InventoryPrediction> linear = forecastService.forecastAll(productIds, 30, null, true);
+        Map<Long, InventoryPrediction> multiple =
+                forecastService.forecastAll(productIds, 30, PredictionCache.MULTIPLE_REGRESSION, true);
+
+        // Then
+        assertEquals(productIds, List.copyOf(linear.keySet()));
+        for (Long id : productIds) {
+            assertEquals(forecastService.forecast(id, 30, PredictionCache.LINEAR, true).getPredictedDemand(),
+                    linear.get(id).getPredictedDemand(), 1e-9);
+            assertEquals(forecastService.forecast(id, 30, PredictionCache.MULTIPLE_REGRESSION, true)
+                    .getPredictedDemand(), multiple.get(id).getPredictedDemand(), 1e-6);
+        }
+    }
+
+    @Test
+    void forecastAll_ShouldUseSetBasedQueries() {
+        // Given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        forecastService.forecastAll(productIds, 30, PredictionCache.LINEAR, true);
+
+        // Then: one product IN query and one statistics IN query
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        // And multiple regression adds one query for the sale days
+        statistics.clear();
+        forecastService.forecastAll(productIds, 30, PredictionCache.MULTIPLE_REGRESSION, true);
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void forecastAll_HoltWinters_ShouldReadSaleDaysWithOneQuery() {
+        // Given
+        restockRecommendationService.awaitMaintenance();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        Map<Long, InventoryPrediction> batch =
+                forecastService.forecastAll(productIds, 30, PredictionCache.HOLT_WINTERS, true);
+
+        // Then: one product IN query and one sale-day IN query
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(productIds, List.copyOf(batch.keySet()));
+        for (Long id : productIds) {
+            InventoryPrediction single = holtWintersService.predict(id, 30);
+            assertEquals("Holt-Winters", batch.get(id).getPredictionMethod());
+            assertEquals(single.getPredictedDemand(), batch.get(id).getPredictedDemand(), 1e-9);
+            assertEquals(single.getSafetyStock(), batch.get(id).getSafetyStock(), 1e-9);
+        }
+
+        // And fitted states are reused
+        statistics.clear();
+        forecastService.forecastAll(productIds, 30, PredictionCache.HOLT_WINTERS, true);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void forecastAll_ShouldSkipUnknownIdsAndRejectOversizedRequests() {
+        // Given
+        List<Long> ids = List.of(productIds.get(1), Long.MAX_VALUE, productIds.get(0));
+
+        // When
+        Map<Long, InventoryPrediction> results = forecastService.forecastAll(ids, 7, null, true);
+
+        // Then
+        assertEquals(List.of(productIds.get(0), productIds.get(1)), List.copyOf(results.keySet()));
+        List<Long> tooMany = new ArrayList<>();
+        for (long id = 1; id <= 1001; id++) {
+            tooMany.add(id);
+        }
+        assertThrows(RuntimeException.class, () -> forecastService.forecastAll(tooMany, 7, null, true));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.CategoryDto;
+import com.example.Inventory.Management.Entity.Category;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Service.ML.RestockRecommendationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CategoryCacheTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private RestockRecommendationService restockRecommendationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void cachedCategory_ShouldServeRepeatReadsWithoutQueries() {
+        // Given
+        Category category = categoryService.saveCategory(Category.builder().name("Cached Tools").build());
+        restockRecommendationService.awaitMaintenance();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        CategoryDto byId = categoryService.getCategoryDtoById(category.getId());
+        CategoryDto byName = categoryService.getCategoryDtoByName("Cached Tools");
+        categoryService.getCategoryDtoById(category.getId());
+
+        // Then: written through on save, by id and by name
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0L, byId.getProductCount());
+        assertEquals(category.getId(), byName.getId());
+    }
+
+    @Test
+    void productWrites_ShouldRefreshCachedProductCounts() {
+        // Given
+        Category tools = categoryService.saveCategory(Category.builder().name("Hand Tools").build());
+        Category garden = categoryService.saveCategory(Category.builder().name("Garden").build());
+        assertEquals(0L, categoryService.getCategoryDtoById(tools.getId()).getProductCount());
+
+        // When
+        Product saw = productService.saveProduct(Product.builder()
+                .name("Saw").price(20.0).quantity(5).category(tools).build());
+
+        // Then
+        assertEquals(1L, categoryService.getCategoryDtoById(tools.getId()).getProductCount());
+
+        // When: moved to another category
+        productService.updateProduct(saw.getId(), Product.builder()
+                .name("Saw").price(20.0).quantity(5).category(garden).build());
+
+        // Then
+        assertEquals(0L, categoryService.getCategoryDtoById(tools.getId()).getProductCount());
+        assertEquals(1L, categoryService.getCategoryDtoById(garden.getId()).getProductCount());
+        assertTrue(categoryService.getAllCategoryDtos().stream()
+                .anyMatch(dto -> dto.getId().equals(garden.getId()) && dto.getProductCount() == 1L));
+    }
+}
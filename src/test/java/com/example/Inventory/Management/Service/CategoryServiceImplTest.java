@@ -1,10 +1,12 @@
 package com.example.Inventory.Management.Service;
 
+import com.example.Inventory.Management.DTO.CategoryDto;
 import com.example.Inventory.Management.Entity.Category;
 import com.example.Inventory.Management.Entity.Product;
 import com.example.Inventory.Management.Exception.CategoryNotFoundException;
 import com.example.Inventory.Management.Repository.CategoryRepository;
 import com.example.Inventory.Management.Service.Impl.CategoryServiceImpl;
+import com.example.Inventory.Management.Util.ReferenceCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,9 +14,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.Optional;
-import java.util.Set;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,6 +28,9 @@ class CategoryServiceImplTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ReferenceCache<CategoryDto> categoryCache;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -37,7 +42,7 @@ class CategoryServiceImplTest {
                 .id(1L)
                 .name("Electronics")
                 .description("Electronic products")
-                .products(new HashSet<>())
+                .products(new ArrayList<>())
                 .build();
     }
 
@@ -95,7 +100,7 @@ class CategoryServiceImplTest {
     @Test
     void deleteCategory_ShouldThrowException_WhenHasAssociatedProducts() {
         // Given
-        Set<Product> products = new HashSet<>();
+        List<Product> products = new ArrayList<>();
         products.add(Product.builder().id(1L).name("Laptop").build());
         category.setProducts(products);
 
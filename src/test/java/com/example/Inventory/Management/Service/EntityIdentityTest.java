@@ -0,0 +1,94 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.Entity.Category;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Entity.Supplier;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityIdentityTest {
+
+    @Test
+    void cyclicGraph_ShouldHashAndPrintWithoutRecursion() {
+        // Given: category -> product -> supplier -> product and product <-> stock entry
+        Category category = Category.builder().id(1L).name("Electronics").build();
+        Supplier supplier = Supplier.builder().id(2L).name("Acme").build();
+        Product product = Product.builder().id(3L).name("Laptop").price(999.0).category(category).build();
+        category.getProducts().add(product);
+        product.getSuppliers().add(supplier);
+        supplier.getProducts().add(product);
+        StockEntry entry = StockEntry.builder().id(4L).product(product).quantity(1).type("SALE").build();
+        product.getStockEntries().add(entry);
+
+        // When / Then
+        assertDoesNotThrow(() -> Set.of(category.hashCode(), supplier.hashCode(), product.hashCode(), entry.hashCode()));
+        assertFalse(product.toString().contains("Electronics"));
+        assertFalse(entry.toString().contains("Laptop"));
+        assertTrue(product.toString().contains("Laptop"));
+    }
+
+    @Test
+    void equals_ShouldUseIdOnly() {
+        // Given
+        Product persisted = Product.builder().id(7L).name("Old name").build();
+        Product renamed = Product.builder().id(7L).name("New name").build();
+        Product transientA = Product.builder().name("Draft").build();
+        Product transientB = Product.builder().name("Draft").build();
+
+        // Then
+        assertEquals(persisted, renamed);
+        assertNotEquals(transientA, transientB);
+        assertNotEquals(persisted, Category.builder().id(7L).build());
+    }
+
+    @Test
+    void hashCode_ShouldStayStableWhenIdIsAssigned() {
+        // Given: a new entity placed in a hash set before it is persisted
+        Set<StockEntry> pending = new HashSet<>();
+        StockEntry entry = StockEntry.builder().quantity(1).type("PURCHASE").build();
+        pending.add(entry);
+
+        // When
+        entry.setId(42L);
+
+        // Then
+        assertTrue(pending.contains(entry));
+    }
+
+    @Test
+    void identityAndPrinting_ShouldNeverTouchTheLedger() {
+        // Given: a product whose ledger fails on any access, as an uninitialized
+        // history of unbounded size would cost a full load
+        List<StockEntry> untouchable = new AbstractList<>() {
+            @Override
+            public StockEntry get(int index) {
+                throw new AssertionError("stock entries read");
+            }
+
+            @Override
+            public int size() {
+                throw new AssertionError("stock entries read");
+            }
+        };
+        Product product = Product.builder().id(1L).name("Ledger").price(1.0).stockEntries(untouchable).build();
+        StockEntry entry = StockEntry.builder().product(product).quantity(1).type("PURCHASE").build();
+
+        // When / Then: hashing, comparing and printing either side stays off the ledger
+        Set<Object> touched = new HashSet<>();
+        assertDoesNotThrow(() -> {
+            touched.add(product);
+            touched.add(entry);
+            assertEquals(product, Product.builder().id(1L).build());
+            assertTrue(product.toString().contains("Ledger"));
+            assertFalse(entry.toString().isEmpty());
+        });
+        assertTrue(touched.contains(entry.getProduct()));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.Entity.ForecastSnapshotRun;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Service.ML.ForecastService;
+import com.example.Inventory.Management.Service.ML.ForecastSnapshotService;
+import com.example.Inventory.Management.Service.ML.InventoryPrediction;
+import com.example.Inventory.Management.Service.ML.PredictionCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ForecastSnapshotServiceTest {
+
+    @Autowired
+    private ForecastSnapshotService snapshotService;
+
+    @Autowired
+    private ForecastService forecastService;
+
+    @Autowired
+    private StockEntryService stockEntryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Product first;
+    private Product second;
+
+    @BeforeEach
+    void setUp() {
+        first = seedProduct("Snapshot A " + System.nanoTime());
+        second = seedProduct("Snapshot B " + System.nanoTime());
+    }
+
+    @Test
+    void refresh_ShouldOnlyRefitProductsWhoseInputsChanged() {
+        // Given
+        snapshotService.refresh(false);
+
+        // When: nothing changed
+        ForecastSnapshotRun unchanged = snapshotService.refresh(false);
+
+        // And: one product sold again
+        stockEntryService.addStockEntry(sale(first, LocalDateTime.now(), 4));
+        ForecastSnapshotRun afterSale = snapshotService.refresh(false);
+
+        // Then
+        assertEquals(ForecastSnapshotRun.COMPLETED, unchanged.getStatus());
+        assertNotNull(unchanged.getFinishedAt());
+        assertEquals(0, unchanged.getRefitted());
+        assertEquals(1, afterSale.getRefitted());
+        assertEquals(afterSale.getId(), snapshotService.getLatestRun().orElseThrow().getId());
+    }
+
+    @Test
+    void refresh_WithFull_ShouldRefitEveryProduct() {
+        // Given
+        snapshotService.refresh(false);
+
+        // When
+        ForecastSnapshotRun run = snapshotService.refresh(true);
+
+        // Then
+        assertEquals(productRepository.count(), run.getRefitted());
+    }
+
+    @Test
+    void start_ShouldRefreshInTheBackground() throws InterruptedException {
+        // When
+        ForecastSnapshotRun started = snapshotService.start(true);
+
+        // Then: the run is reported as the latest until it completes
+        assertEquals(ForecastSnapshotRun.RUNNING, started.getStatus());
+        ForecastSnapshotRun finished = awaitFinished(started.getId());
+        assertEquals(ForecastSnapshotRun.COMPLETED, finished.getStatus());
+        assertEquals(productRepository.count(), finished.getRefitted());
+    }
+
+    @Test
+    void forecast_ShouldServeSnapshotWithLiveStock() {
+        // Given
+        snapshotService.refresh(false);
+        InventoryPrediction live = forecastService.forecast(second.getId(), 30, PredictionCache.LINEAR, true);
+        Product product = productRepository.findById(second.getId()).orElseThrow();
+        product.setQuantity(product.getQuantity() - 100);
+        productRepository.save(product);
+
+        // When
+        InventoryPrediction served = forecastService.forecast(second.getId(), 30, PredictionCache.LINEAR);
+
+        // Then
+        assertNull(live.getSnapshotAt());
+        assertNotNull(served.getSnapshotAt());
+        assertEquals(live.getPredictedDemand(), served.getPredictedDemand(), 1e-9);
+        assertEquals(live.getReorderPoint(), served.getReorderPoint(), 1e-9);
+        assertEquals(live.getCurrentStock() - 100, served.getCurrentStock());
+
+        // And another horizon is computed live
+        assertNull(forecastService.forecast(second.getId(), 7, PredictionCache.LINEAR).getSnapshotAt());
+    }
+
+    private ForecastSnapshotRun awaitFinished(Long runId) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            ForecastSnapshotRun latest = snapshotService.getLatestRun().orElseThrow();
+            assertEquals(runId, latest.getId());
+            if (!ForecastSnapshotRun.RUNNING.equals(latest.getStatus())) {
+                return latest;
+            }
+            Thread.sleep(20);
+        }
+        fail("Forecast snapshot run did not finish");
+        return null;
+    }
+
+        private Product seedProduct(String name) {
+        Product product = productRepository.save(Product.builder()
+                .name(name)
+                .price(12.0)
+                .quantity(5_000)
+                .build());
+        List<StockEntry> sales = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(15);
+        for (int day = 0; day < 12; day++) {
+            sales.add(sale(product, start.plusDays(day), 5 + day % 4));
+        }
+        stockEntryService.addStockEntries(sales);
+        return product;
+    }
+
+    private StockEntry sale(Product product, LocalDateTime date, int quantity) {
+        return StockEntry.builder()
+                .product(Product.builder().id(product.getId()).build())
+                .type("SALE")
+                .quantity(quantity)
+                .date(date)
+                .build();
+    }
+}
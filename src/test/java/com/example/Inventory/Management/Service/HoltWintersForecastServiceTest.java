@@ -0,0 +1,136 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.StockEntryRepository;
+import com.example.Inventory.Management.Service.ML.ForecastService;
+import com.example.Inventory.Management.Service.ML.HoltWintersForecastService;
+import com.example.Inventory.Management.Service.ML.InventoryPrediction;
+import com.example.Inventory.Management.Service.ML.SalesStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class HoltWintersForecastServiceTest {
+
+    @Autowired
+    private HoltWintersForecastService holtWintersService;
+
+    @Autowired
+    private ForecastService forecastService;
+
+    @Autowired
+    private StockEntryService stockEntryService;
+
+    @Autowired
+    private SalesStatisticsService salesStatisticsService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockEntryRepository stockEntryRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(Product.builder()
+                .name("Weekend SKU " + System.nanoTime())
+                .price(8.0)
+                .quantity(10_000)
+                .build());
+    }
+
+    @Test
+    void predict_ShouldFollowWeeklySeasonality() {
+        // Given: 5 a day and 20 on Saturdays for eight weeks
+        seedWeeklyPattern(56);
+
+        // When
+        InventoryPrediction prediction = holtWintersService.predict(product.getId(), 7);
+
+        // Then: one week ahead is six ordinary days and one Saturday
+        assertEquals("Holt-Winters", prediction.getPredictionMethod());
+        assertEquals(50.0, prediction.getPredictedDemand(), 5.0);
+        assertTrue(prediction.getConfidence() > 0.5);
+        assertTrue(prediction.getSafetyStock() >= 1.0);
+    }
+
+    @Test
+    void predict_ShouldKeepStateForTodayAndRefitForBackDatedSales() {
+        // Given
+        seedWeeklyPattern(56);
+        double before = holtWintersService.predict(product.getId(), 7).getPredictedDemand();
+
+        // When: today is not folded into the model yet
+        stockEntryService.addStockEntry(sale(LocalDateTime.now(), 500));
+        double afterToday = holtWintersService.predict(product.getId(), 7).getPredictedDemand();
+
+        // and a back-dated sale changes a day the model has seen
+        stockEntryService.addStockEntry(sale(LocalDateTime.now().minusDays(1), 500));
+        double afterBackDated = holtWintersService.predict(product.getId(), 7).getPredictedDemand();
+
+        // Then
+        assertEquals(before, afterToday, 1e-9);
+        assertTrue(afterBackDated > before);
+    }
+
+    @Test
+    void predict_ShouldFallBackToLinearRegression_WhenLessThanTwoWeeks() {
+        // Given
+        seedWeeklyPattern(10);
+
+        // When
+        InventoryPrediction prediction = holtWintersService.predict(product.getId(), 7);
+
+        // Then
+        assertEquals("Linear Regression", prediction.getPredictionMethod());
+    }
+
+    @Test
+    void forecast_ShouldSelectMethodByName() {
+        // Given
+        seedWeeklyPattern(28);
+
+        // When & Then
+        assertEquals("Holt-Winters",
+                forecastService.forecast(product.getId(), 7, "Holt-Winters").getPredictionMethod());
+        assertEquals("Linear Regression",
+                forecastService.forecast(product.getId(), 7, null).getPredictionMethod());
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> forecastService.forecast(product.getId(), 7, "arima"));
+        assertTrue(exception.getMessage().contains("holt-winters"));
+    }
+
+    private void seedWeeklyPattern(int days) {
+        List<StockEntry> entries = new ArrayList<>();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        for (int i = days; i >= 1; i--) {
+            LocalDate day = yesterday.minusDays(i - 1);
+            entries.add(sale(day.atTime(12, 0), day.getDayOfWeek() == DayOfWeek.SATURDAY ? 20 : 5));
+        }
+        stockEntryRepository.saveAll(entries);
+        salesStatisticsService.rebuild(product.getId());
+    }
+
+    private StockEntry sale(LocalDateTime date, int quantity) {
+        return StockEntry.builder()
+                .product(Product.builder().id(product.getId()).build())
+                .type("SALE")
+                .quantity(quantity)
+                .date(date)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.KeysetPage;
+import com.example.Inventory.Management.DTO.StockEntryDto;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.StockEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class KeysetPaginationTest {
+
+    @Autowired
+    private StockEntryService stockEntryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockEntryRepository stockEntryRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(Product.builder()
+                .name("Paged Product " + System.nanoTime())
+                .price(1.0)
+                .quantity(0)
+                .build());
+
+        // Several entries share a timestamp so the id tie-breaker is exercised
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 12, 0);
+        List<StockEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            entries.add(StockEntry.builder()
+                    .product(product)
+                    .quantity(i + 1)
+                    .type("SALE")
+                    .date(base.plusDays(i / 3))
+                    .build());
+        }
+        stockEntryRepository.saveAll(entries);
+    }
+
+    @Test
+    void getStockEntriesPageByProduct_ShouldVisitEveryEntryOnceInDateOrder() {
+        // When
+        List<StockEntryDto> seen = new ArrayList<>();
+        KeysetPage<StockEntryDto> page = stockEntryService.getStockEntriesPageByProduct(product.getId(), null, null, 5);
+        seen.addAll(page.getItems());
+        while (page.isHasMore()) {
+            page = stockEntryService.getStockEntriesPageByProduct(
+                    product.getId(), page.getNextAfterDate(), page.getNextAfterId(), 5);
+            seen.addAll(page.getItems());
+        }
+
+        // Then
+        assertEquals(23, seen.size());
+        assertEquals(23, seen.stream().map(StockEntryDto::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            StockEntryDto previous = seen.get(i - 1);
+            StockEntryDto current = seen.get(i);
+            assertTrue(previous.getDate().isBefore(current.getDate())
+                    || (previous.getDate().equals(current.getDate()) && previous.getId() < current.getId()));
+        }
+        assertNull(page.getNextAfterId());
+    }
+
+    @Test
+    void getStockEntriesPage_ShouldContinueAfterCursor() {
+        // Given
+        KeysetPage<StockEntryDto> first = stockEntryService.getStockEntriesPage(null, 10);
+
+        // When
+        KeysetPage<StockEntryDto> second = stockEntryService.getStockEntriesPage(first.getNextAfterId(), 10);
+
+        // Then
+        assertEquals(10, first.getItems().size());
+        assertTrue(first.isHasMore());
+        assertTrue(second.getItems().get(0).getId() > first.getNextAfterId());
+    }
+
+    @Test
+    void exportStockEntries_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        stockEntryService.exportStockEntries(out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(stockEntryRepository.count(), lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":"));
+        assertTrue(lines[0].contains("\"productName\""));
+    }
+}
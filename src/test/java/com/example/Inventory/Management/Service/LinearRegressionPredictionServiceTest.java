@@ -1,23 +1,35 @@
 package com.example.Inventory.Management.Service;
 
+import com.example.Inventory.Management.Config.MLConfig;
+import com.example.Inventory.Management.DTO.DailySalesDto;
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.Entity.DailyProductSales;
 import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.ProductSalesStats;
 import com.example.Inventory.Management.Entity.StockEntry;
 import com.example.Inventory.Management.Repository.ProductRepository;
-import com.example.Inventory.Management.Repository.StockEntryRepository;
+import com.example.Inventory.Management.Service.ML.InventoryPolicy;
 import com.example.Inventory.Management.Service.ML.InventoryPrediction;
 import com.example.Inventory.Management.Service.ML.LinearRegressionPredictionService;
+import com.example.Inventory.Management.Service.ML.SalesStatisticsService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,7 +41,13 @@ class LinearRegressionPredictionServiceTest {
     private ProductRepository productRepository;
 
     @Mock
-    private StockEntryRepository stockEntryRepository;
+    private SalesStatisticsService salesStatisticsService;
+
+    @Spy
+    private MLConfig mlConfig = new MLConfig();
+
+    @Spy
+    private InventoryPolicy inventoryPolicy = new InventoryPolicy(new MLConfig());
 
     @InjectMocks
     private LinearRegressionPredictionService predictionService;
@@ -61,24 +79,14 @@ class LinearRegressionPredictionServiceTest {
                 createStockEntry(10L, LocalDateTime.now().minusDays(1), "SALE", 5)
         );
 
-        // Create larger stock history for multiple regression 
-        largeStockHistory = Arrays.asList(
-                createStockEntry(1L, LocalDateTime.now().minusDays(20), "SALE", 5),
-                createStockEntry(2L, LocalDateTime.now().minusDays(19), "SALE", 3),
-                createStockEntry(3L, LocalDateTime.now().minusDays(18), "SALE", 7),
-                createStockEntry(4L, LocalDateTime.now().minusDays(17), "SALE", 4),
-                createStockEntry(5L, LocalDateTime.now().minusDays(16), "SALE", 6),
-                createStockEntry(6L, LocalDateTime.now().minusDays(15), "SALE", 8),
-                createStockEntry(7L, LocalDateTime.now().minusDays(14), "SALE", 2),
-                createStockEntry(8L, LocalDateTime.now().minusDays(13), "SALE", 9),
-                createStockEntry(9L, LocalDateTime.now().minusDays(12), "SALE", 5),
-                createStockEntry(10L, LocalDateTime.now().minusDays(11), "SALE", 4),
-                createStockEntry(11L, LocalDateTime.now().minusDays(10), "SALE", 7),
-                createStockEntry(12L, LocalDateTime.now().minusDays(9), "SALE", 6),
-                createStockEntry(13L, LocalDateTime.now().minusDays(8), "SALE", 3),
-                createStockEntry(14L, LocalDateTime.now().minusDays(7), "SALE", 8),
-                createStockEntry(15L, LocalDateTime.now().minusDays(6), "SALE", 5)
-        );
+        // Create larger stock history for multiple regression: more sale days than
+        // the regression has columns, with room to spare
+        largeStockHistory = new ArrayList<>();
+        int[] pattern = {5, 3, 7, 4, 6, 8, 2, 9, 5, 4, 7, 6, 3, 8, 5};
+        for (int day = 0; day < 45; day++) {
+            largeStockHistory.add(createStockEntry((long) day + 1, LocalDateTime.now().minusDays(50 - day),
+                    "SALE", pattern[day % pattern.length]));
+        }
     }
 
     private StockEntry createStockEntry(Long id, LocalDateTime date, String type, int quantity) {
@@ -91,11 +99,37 @@ class LinearRegressionPredictionServiceTest {
                 .build();
     }
 
+    // Statistics as the service would maintain them for the given history
+    private ProductSalesStats statsFor(Long productId, List<StockEntry> history) {
+        ProductSalesStats stats = ProductSalesStats.builder().productId(productId).build();
+        history.stream()
+                .sorted(Comparator.comparing(StockEntry::getDate))
+                .forEach(entry -> {
+                    stats.setEntryCount(stats.getEntryCount() + 1);
+                    if ("SALE".equals(entry.getType())) {
+                        stats.addSale(entry.getDate().toLocalDate().toEpochDay(), entry.getQuantity());
+                    }
+                });
+        return stats;
+    }
+
+    // The daily sales rollup for the given history
+    private List<DailySalesDto> dailySalesFor(List<StockEntry> history) {
+        Map<Long, Long> sold = new TreeMap<>();
+        history.stream()
+                .filter(entry -> "SALE".equals(entry.getType()))
+                .forEach(entry -> sold.merge(entry.getDate().toLocalDate().toEpochDay(),
+                        (long) entry.getQuantity(), Long::sum));
+        return sold.entrySet().stream()
+                .map(day -> DailySalesDto.builder().epochDay(day.getKey()).qtySold(day.getValue()).build())
+                .toList();
+    }
+
     @Test
     void predictInventoryWithLinearRegression_ShouldReturnPrediction_WhenSufficientData() {
         // Given
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(stockEntryRepository.findByProduct_Id(1L)).thenReturn(stockHistory);
+        when(salesStatisticsService.getStats(1L)).thenReturn(statsFor(1L, stockHistory));
 
         // When
         InventoryPrediction prediction = predictionService.predictInventoryWithLinearRegression(1L, 30);
@@ -128,7 +162,7 @@ class LinearRegressionPredictionServiceTest {
         );
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(stockEntryRepository.findByProduct_Id(1L)).thenReturn(limitedHistory);
+        when(salesStatisticsService.getStats(1L)).thenReturn(statsFor(1L, limitedHistory));
 
         // When
         InventoryPrediction prediction = predictionService.predictInventoryWithLinearRegression(1L, 30);
@@ -158,7 +192,8 @@ class LinearRegressionPredictionServiceTest {
     void predictWithMultipleFeatures_ShouldReturnAdvancedPrediction_WhenSufficientData() {
         // Given 
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(stockEntryRepository.findByProduct_Id(1L)).thenReturn(largeStockHistory);
+        when(salesStatisticsService.getStats(1L)).thenReturn(statsFor(1L, largeStockHistory));
+        when(salesStatisticsService.getDailySales(1L)).thenReturn(dailySalesFor(largeStockHistory));
 
         // When
         InventoryPrediction prediction = predictionService.predictWithMultipleFeatures(1L, 30);
@@ -188,23 +223,70 @@ class LinearRegressionPredictionServiceTest {
     void predictWithMultipleFeatures_ShouldFallBackToLinearRegression_WhenInsufficientData() {
         // Given 
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(stockEntryRepository.findByProduct_Id(1L)).thenReturn(stockHistory); // Only 10 entries
+        when(salesStatisticsService.getStats(1L)).thenReturn(statsFor(1L, stockHistory)); // Only 10 entries
 
         // When
         InventoryPrediction prediction = predictionService.predictWithMultipleFeatures(1L, 30);
 
         // Then
         assertNotNull(prediction);
-        // Should fall back to linear regression since we have exactly 10 entries (not > 10)
+        // Should fall back to linear regression: 9 sale days cannot fit one coefficient per feature
         assertEquals("Linear Regression", prediction.getPredictionMethod());
         assertNotNull(prediction.getPredictedDemand());
     }
 
+    @Test
+    void predictWithMultipleFeatures_ShouldFallBackToLinearRegression_WhenFewerSaleDaysThanColumnsAndMargin() {
+        // Given: 28 sale days, more entries than columns but no margin to spare
+        List<StockEntry> history = largeStockHistory.subList(0, 28);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(salesStatisticsService.getStats(1L)).thenReturn(statsFor(1L, history));
+
+        // When
+        InventoryPrediction prediction = predictionService.predictWithMultipleFeatures(1L, 30);
+
+        // Then
+        assertEquals("Linear Regression", prediction.getPredictionMethod());
+        verify(salesStatisticsService, never()).getDailySales(anyLong());
+    }
+
+    @Test
+    void predictWithMultipleFeatures_Batch_ShouldFitEligibleProductsFromOneQuery() {
+        // Given: product 1 has enough history, product 2 does not
+        ProductDto first = ProductDto.builder().id(1L).name("Test Product").price(50.0).quantity(100).build();
+        ProductDto second = ProductDto.builder().id(2L).name("New Product").price(5.0).quantity(10).build();
+        Map<Long, ProductSalesStats> stats = Map.of(
+                1L, statsFor(1L, largeStockHistory),
+                2L, statsFor(2L, stockHistory));
+        List<DailyProductSales> rows = dailySalesFor(largeStockHistory).stream()
+                .map(day -> DailyProductSales.builder().productId(1L).epochDay(day.getEpochDay())
+                        .qtySold(day.getQtySold()).build())
+                .toList();
+        when(salesStatisticsService.getDailySales(Set.of(1L))).thenReturn(rows);
+
+        // When
+        List<InventoryPrediction> predictions =
+                predictionService.predictWithMultipleFeatures(List.of(first, second), stats, 30);
+
+        // Then: same order as the input, and the same fit as the single-product path
+        assertEquals(2, predictions.size());
+        assertEquals("Multiple Linear Regression", predictions.get(0).getPredictionMethod());
+        assertEquals("Linear Regression", predictions.get(1).getPredictionMethod());
+        verify(salesStatisticsService, times(1)).getDailySales(anyCollection());
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(salesStatisticsService.getStats(1L)).thenReturn(stats.get(1L));
+        when(salesStatisticsService.getDailySales(1L)).thenReturn(dailySalesFor(largeStockHistory));
+        InventoryPrediction single = predictionService.predictWithMultipleFeatures(1L, 30);
+        assertEquals(single.getPredictedDemand(), predictions.get(0).getPredictedDemand(), 1e-9);
+        assertEquals(single.getConfidence(), predictions.get(0).getConfidence(), 1e-9);
+    }
+
     @Test
     void inventoryPrediction_ShouldCalculateRestockCorrectly() {
         // Given
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(stockEntryRepository.findByProduct_Id(1L)).thenReturn(stockHistory);
+        when(salesStatisticsService.getStats(1L)).thenReturn(statsFor(1L, stockHistory));
 
         // When
         InventoryPrediction prediction = predictionService.predictInventoryWithLinearRegression(1L, 30);
@@ -236,7 +318,7 @@ class LinearRegressionPredictionServiceTest {
                 .build();
 
         when(productRepository.findById(2L)).thenReturn(Optional.of(lowStockProduct));
-        when(stockEntryRepository.findByProduct_Id(2L)).thenReturn(stockHistory);
+        when(salesStatisticsService.getStats(2L)).thenReturn(statsFor(2L, stockHistory));
 
         // When
         InventoryPrediction prediction = predictionService.predictInventoryWithLinearRegression(2L, 30);
@@ -255,7 +337,7 @@ class LinearRegressionPredictionServiceTest {
     void inventoryPrediction_ShouldCalculateRiskLevelCorrectly() {
         // Given
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(stockEntryRepository.findByProduct_Id(1L)).thenReturn(stockHistory);
+        when(salesStatisticsService.getStats(1L)).thenReturn(statsFor(1L, stockHistory));
 
         // When
         InventoryPrediction prediction = predictionService.predictInventoryWithLinearRegression(1L, 30);
@@ -287,7 +369,7 @@ class LinearRegressionPredictionServiceTest {
         );
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(stockEntryRepository.findByProduct_Id(1L)).thenReturn(noDemandHistory);
+        when(salesStatisticsService.getStats(1L)).thenReturn(statsFor(1L, noDemandHistory));
 
         // When
         InventoryPrediction prediction = predictionService.predictInventoryWithLinearRegression(1L, 30);
@@ -0,0 +1,211 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.PredictionCacheStats;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Service.ML.InventoryPrediction;
+import com.example.Inventory.Management.Service.ML.LinearRegressionPredictionService;
+import com.example.Inventory.Management.Service.ML.PredictionCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class PredictionCacheTest {
+
+    @Autowired
+    private PredictionCache predictionCache;
+
+    @Autowired
+    private LinearRegressionPredictionService linearRegressionService;
+
+    @Autowired
+    private StockEntryService stockEntryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Product product;
+    private Product other;
+    private AtomicInteger computations;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(Product.builder().name("Cached " + System.nanoTime()).price(4.0).quantity(50).build());
+        other = productRepository.save(Product.builder().name("Other " + System.nanoTime()).price(4.0).quantity(50).build());
+        computations = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldServeRepeatedLookupsFromCache() {
+        // When
+        InventoryPrediction first = predict(product, 30);
+        InventoryPrediction second = predict(product, 30);
+        predict(product, 7);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(2, computations.get());
+        PredictionCacheStats stats = predictionCache.getStats();
+        assertTrue(stats.getHitCount() >= 1);
+        assertTrue(stats.getMissCount() >= 2);
+    }
+
+    @Test
+    void stockEntryWrites_ShouldInvalidateOnlyTheirProduct() {
+        // Given
+        predict(product, 30);
+        predict(other, 30);
+
+        // When
+        StockEntry sale = stockEntryService.addStockEntry(StockEntry.builder()
+                .product(Product.builder().id(product.getId()).build())
+                .type("SALE").quantity(5).date(LocalDateTime.now()).build());
+        InventoryPrediction afterSale = predict(product, 30);
+        predict(other, 30);
+
+        // Then
+        assertEquals(3, computations.get());
+        assertEquals(45, afterSale.getCurrentStock());
+
+        // And deletes invalidate too
+        stockEntryService.deleteStockEntry(sale.getId());
+        assertEquals(50, predict(product, 30).getCurrentStock());
+        assertEquals(4, computations.get());
+    }
+
+    @Test
+    void updateProduct_ShouldInvalidateOnlyWhenPriceOrQuantityChanges() {
+        // Given
+        predict(product, 30);
+        Product changes = Product.builder().name("Renamed " + System.nanoTime()).price(4.0).quantity(50).build();
+
+        // When: a rename keeps the cached forecast
+        productService.updateProduct(product.getId(), changes);
+        predict(product, 30);
+        assertEquals(1, computations.get());
+
+        // When: a quantity change drops it
+        changes.setQuantity(80);
+        productService.updateProduct(product.getId(), changes);
+
+        // Then
+        assertEquals(80, predict(product, 30).getCurrentStock());
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    void get_ShouldCoalesceConcurrentIdenticalLookups() throws Exception {
+        // Given: the first computation blocks until every caller has arrived
+        int callers = 8;
+        long coalescedBefore = predictionCache.getStats().getCoalesced();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<InventoryPrediction>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> predictionCache.get(product.getId(), 30, PredictionCache.LINEAR, () -> {
+                    computations.incrementAndGet();
+                    await(release);
+                    return linearRegressionService.predictInventoryWithLinearRegression(product.getId(), 30);
+                })));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (predictionCache.getStats().getCoalesced() - coalescedBefore < callers - 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Then
+            InventoryPrediction first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<InventoryPrediction> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, computations.get());
+        assertEquals(callers - 1, predictionCache.getStats().getCoalesced() - coalescedBefore);
+        assertEquals(0, predictionCache.getStats().getInFlight());
+    }
+
+    @Test
+    void get_ShouldTimeOutWaitersWithoutCancellingTheComputation() throws Exception {
+        // Given
+        PredictionCache cache = new PredictionCache(100, Duration.ofMinutes(10), Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InventoryPrediction computed = InventoryPrediction.builder().productId(product.getId()).build();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<InventoryPrediction> leader = executor.submit(() -> cache.get(product.getId(), 30, PredictionCache.LINEAR, () -> {
+                started.countDown();
+                await(release);
+                return computed;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // When
+            RuntimeException timeout = assertThrows(RuntimeException.class,
+                    () -> cache.get(product.getId(), 30, PredictionCache.LINEAR, () -> fail("computed twice")));
+            release.countDown();
+
+            // Then: the leader still finishes and its result is cached
+            assertTrue(timeout.getMessage().contains("Timed out"));
+            assertSame(computed, leader.get(5, TimeUnit.SECONDS));
+            assertSame(computed, cache.get(product.getId(), 30, PredictionCache.LINEAR, () -> fail("not cached")));
+            assertEquals(1, cache.getStats().getCoalesceTimeouts());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_ShouldNotCacheFailures() {
+        // When
+        assertThrows(RuntimeException.class, () -> predictionCache.get(product.getId(), 30, PredictionCache.LINEAR, () -> {
+            throw new RuntimeException("fit failed");
+        }));
+
+        // Then
+        predict(product, 30);
+        assertEquals(1, computations.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private InventoryPrediction predict(Product target, int days) {
+        return predictionCache.get(target.getId(), days, PredictionCache.LINEAR, () -> {
+            computations.incrementAndGet();
+            return linearRegressionService.predictInventoryWithLinearRegression(target.getId(), days);
+        });
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.KeysetPage;
+import com.example.Inventory.Management.DTO.PredictionJobRequest;
+import com.example.Inventory.Management.DTO.PredictionJobStatus;
+import com.example.Inventory.Management.Entity.Category;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.CategoryRepository;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Service.ML.InventoryPrediction;
+import com.example.Inventory.Management.Service.ML.LinearRegressionPredictionService;
+import com.example.Inventory.Management.Service.ML.PredictionJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "inventory.prediction-jobs.max-results=" + PredictionJobServiceTest.MAX_RESULTS)
+class PredictionJobServiceTest {
+
+    static final int MAX_RESULTS = 20;
+    private static final int PRODUCTS = 12;
+
+    @Autowired
+    private PredictionJobService predictionJobService;
+
+    @Autowired
+    private LinearRegressionPredictionService linearRegressionService;
+
+    @Autowired
+    private StockEntryService stockEntryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category category;
+    private List<Long> productIds;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().name("Jobs " + System.nanoTime()).build());
+        productIds = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(12);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("Job Item " + i)
+                    .price(15.0)
+                    .quantity(500)
+                    .category(category)
+                    .build());
+            List<StockEntry> sales = new ArrayList<>();
+            for (int day = 0; day < 8; day++) {
+                sales.add(StockEntry.builder()
+                        .product(Product.builder().id(product.getId()).build())
+                        .type("SALE")
+                        .quantity(2 + (day + i) % 4)
+                        .date(start.plusDays(day))
+                        .build());
+            }
+            stockEntryService.addStockEntries(sales);
+            productIds.add(product.getId());
+        }
+    }
+
+    @Test
+    void submit_ShouldForecastCategoryInBackground() throws Exception {
+        // When
+        PredictionJobStatus submitted = predictionJobService.submit(PredictionJobRequest.builder()
+                .category(category.getName())
+                .days(14)
+                .build());
+        PredictionJobStatus finished = awaitFinished(submitted.getJobId());
+
+        // Then
+        assertEquals(PredictionJobService.COMPLETED, finished.getStatus());
+        assertEquals(PRODUCTS, finished.getTotalProducts());
+        assertEquals(PRODUCTS, finished.getProcessedProducts());
+        assertEquals(1.0, finished.getProgress());
+
+        List<InventoryPrediction> results = readAll(submitted.getJobId(), 5);
+        assertEquals(productIds, results.stream().map(InventoryPrediction::getProductId).toList());
+        for (InventoryPrediction result : results) {
+            assertEquals(linearRegressionService.predictInventoryWithLinearRegression(result.getProductId(), 14)
+                    .getPredictedDemand(), result.getPredictedDemand(), 1e-9);
+        }
+    }
+
+    @Test
+    void submit_ShouldForecastGivenProductsWithMethod() throws Exception {
+        // Given
+        List<Long> subset = List.of(productIds.get(3), productIds.get(0), productIds.get(3));
+
+        // When
+        PredictionJobStatus submitted = predictionJobService.submit(PredictionJobRequest.builder()
+                .productIds(subset)
+                .method("Multiple-Regression")
+                .build());
+        awaitFinished(submitted.getJobId());
+
+        // Then: each product once, in id order
+        List<InventoryPrediction> results = readAll(submitted.getJobId(), 100);
+        assertEquals(List.of(productIds.get(0), productIds.get(3)),
+                results.stream().map(InventoryPrediction::getProductId).toList());
+        assertEquals("multiple-regression", submitted.getMethod());
+    }
+
+    @Test
+    void cancel_ShouldStopJobAndKeepItsResults() throws Exception {
+        // When
+        PredictionJobStatus submitted = predictionJobService.submit(PredictionJobRequest.builder()
+                .category(category.getName())
+                .build());
+        PredictionJobStatus cancelled = predictionJobService.cancel(submitted.getJobId());
+        PredictionJobStatus finished = awaitFinished(submitted.getJobId());
+
+        // Then: cancelled, unless it already finished; a running job reports it once its page is done
+        assertTrue(List.of(PredictionJobService.CANCELLED, PredictionJobService.COMPLETED)
+                .contains(finished.getStatus()));
+        if (PredictionJobService.RUNNING.equals(cancelled.getStatus())) {
+            assertNull(cancelled.getFinishedAt());
+        }
+        assertEquals(finished.getProcessedProducts(), readAll(submitted.getJobId(), 1000).size());
+    }
+
+    @Test
+    void submit_ShouldRejectJobsOverTheResultLimit() {
+        // Given: more products in the catalog than a job may hold
+        for (int i = 0; i < MAX_RESULTS; i++) {
+            productRepository.save(Product.builder().name("Job Extra " + i).price(1.0).quantity(1).build());
+        }
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> predictionJobService.submit(PredictionJobRequest.builder().build()));
+        assertTrue(exception.getMessage().contains("at most " + MAX_RESULTS));
+    }
+
+    @Test
+    void submit_ShouldRejectInvalidRequests() {
+        assertThrows(RuntimeException.class, () -> predictionJobService.submit(
+                PredictionJobRequest.builder().method("arima").build()));
+        assertThrows(RuntimeException.class, () -> predictionJobService.submit(
+                PredictionJobRequest.builder().days(0).build()));
+        assertThrows(RuntimeException.class, () -> predictionJobService.getStatus("missing"));
+    }
+
+    private PredictionJobStatus awaitFinished(String jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            PredictionJobStatus status = predictionJobService.getStatus(jobId);
+            if (status.getFinishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        fail("Prediction job did not finish");
+        return null;
+    }
+
+    private List<InventoryPrediction> readAll(String jobId, int size) {
+        List<InventoryPrediction> results = new ArrayList<>();
+        Long afterId = null;
+        KeysetPage<InventoryPrediction> page;
+        do {
+            page = predictionJobService.getResults(jobId, afterId, size);
+            results.addAll(page.getItems());
+            afterId = page.getNextAfterId();
+        } while (page.isHasMore());
+        return results;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.NameIndexStats;
+import com.example.Inventory.Management.DTO.ProductNameView;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Util.ProductNameIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductNameIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findAllNames()).thenReturn(List.of(
+                name(1L, "Gaming Laptop Pro"),
+                name(2L, "Laptop"),
+                name(3L, "Laptop Stand"),
+                name(4L, "USB-C Hub"),
+                name(5L, "Wireless Mouse"),
+                name(6L, "Mouse Pad")));
+        index = new ProductNameIndex(productRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void search_ShouldRankExactThenPrefixThenWordThenSubstring() {
+        // When & Then: case-insensitive, shorter names first within a rank
+        assertEquals(List.of(2L, 3L, 1L), index.search("LAPTOP", false, 0, 0));
+        assertEquals(List.of(6L, 5L), index.search("mouse", false, 0, 0));
+        assertEquals(List.of(5L), index.search("ireless", false, 0, 0));
+        assertEquals(List.of(), index.search("laptops", false, 0, 0));
+    }
+
+    @Test
+    void search_ShouldMatchWordPrefixesOnlyInPrefixMode() {
+        assertEquals(List.of(), index.search("ireless", true, 0, 0));
+        assertEquals(List.of(6L, 5L), index.search("mou", true, 0, 0));
+        assertEquals(List.of(4L), index.search("u", true, 0, 0));
+        assertEquals(List.of(4L, 6L, 5L), index.search("u", false, 0, 0));
+    }
+
+    @Test
+    void search_ShouldPage() {
+        assertEquals(List.of(2L, 3L), index.search("laptop", false, 0, 2));
+        assertEquals(List.of(1L), index.search("laptop", false, 2, 2));
+        assertEquals(List.of(), index.search("laptop", false, 9, 2));
+    }
+
+    @Test
+    void putAndRemove_ShouldKeepIndexCurrent() {
+        // When
+        index.put(2L, "Notebook");
+        index.put(7L, "Laptop Sleeve");
+        index.remove(3L);
+
+        // Then
+        assertEquals(List.of(7L, 1L), index.search("laptop", false, 0, 0));
+        assertEquals(List.of(2L), index.search("noteb", false, 0, 0));
+        NameIndexStats stats = index.getStats();
+        assertEquals(6, stats.getProducts());
+        assertTrue(stats.getTrigrams() > 0);
+        assertTrue(stats.getEstimatedBytes() > 0);
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDrift() {
+        // Given: writes the index never saw
+        when(productRepository.findAllNames()).thenReturn(List.of(
+                name(1L, "Gaming Laptop Pro"),
+                name(2L, "Notebook"),
+                name(4L, "USB-C Hub"),
+                name(5L, "Wireless Mouse"),
+                name(6L, "Mouse Pad"),
+                name(8L, "Laptop Bag")));
+
+        // When
+        int corrected = index.reconcile();
+
+        // Then: 2 renamed, 3 deleted, 8 added
+        assertEquals(3, corrected);
+        assertEquals(List.of(8L, 1L), index.search("laptop", false, 0, 0));
+        assertEquals(0, index.reconcile());
+    }
+
+    @Test
+    void reconcile_ShouldKeepWritesMadeWhileReadingTheTable() {
+        // Given: a rename and a delete land after the table was read
+        when(productRepository.findAllNames()).thenAnswer(invocation -> {
+            List<ProductNameView> read = List.of(
+                    name(1L, "Gaming Laptop Pro"),
+                    name(2L, "Laptop"),
+                    name(3L, "Laptop Stand"),
+                    name(4L, "USB-C Hub"),
+                    name(5L, "Wireless Mouse"),
+                    name(6L, "Mouse Pad"));
+            index.put(2L, "Notebook");
+            index.put(7L, "Laptop Sleeve");
+            index.remove(3L);
+            return read;
+        });
+
+        // When
+        index.reconcile();
+
+        // Then: the newer writes survive
+        assertEquals(List.of(7L, 1L), index.search("laptop", false, 0, 0));
+        assertEquals(List.of(2L), index.search("notebook", false, 0, 0));
+    }
+
+    private static ProductNameView name(Long id, String name) {
+        return new ProductNameView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.ProductQuantityView;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Util.ProductQuantityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductQuantityIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductQuantityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findAllQuantities()).thenReturn(List.of(
+                quantity(1L, 50),
+                quantity(2L, 3),
+                quantity(3L, 0),
+                quantity(4L, 3),
+                quantity(5L, 12)));
+        index = new ProductQuantityIndex(productRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void findBelow_ShouldReturnLowestStockFirst() {
+        // When & Then: by quantity, then id within a quantity
+        assertEquals(List.of(3L, 2L, 4L), index.findBelow(10, 0));
+        assertEquals(List.of(3L, 2L), index.findBelow(10, 2));
+        assertEquals(List.of(), index.findBelow(0, 0));
+        assertEquals(List.of(3L, 2L, 4L, 5L), index.findLowest(4));
+        assertEquals(3, index.countBelow(10));
+        assertEquals(5, index.countBelow(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void stockChanges_ShouldMoveProductsBetweenBuckets() {
+        // When
+        index.onStockLevelChanged(new StockLevelChangedEvent(List.of(
+                new StockLevelChangedEvent.Change(3L, 0, 40),
+                new StockLevelChangedEvent.Change(1L, 50, 1))));
+        index.put(6L, 2);
+        index.remove(4L);
+
+        // Then
+        assertEquals(List.of(1L, 6L, 2L), index.findBelow(10, 0));
+        assertEquals(5, index.countBelow(100));
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDrift() {
+        // Given: writes the index never saw
+        when(productRepository.findAllQuantities()).thenReturn(List.of(
+                quantity(1L, 50),
+                quantity(2L, 30),
+                quantity(3L, 0),
+                quantity(5L, 12),
+                quantity(7L, 1)));
+
+        // When
+        int corrected = index.reconcile();
+
+        // Then: 2 restocked, 4 deleted, 7 added
+        assertEquals(3, corrected);
+        assertEquals(List.of(3L, 7L), index.findBelow(10, 0));
+        assertEquals(0, index.reconcile());
+    }
+
+    private static ProductQuantityView quantity(Long id, Integer quantity) {
+        return new ProductQuantityView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
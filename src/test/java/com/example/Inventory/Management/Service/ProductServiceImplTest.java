@@ -5,12 +5,16 @@ import com.example.Inventory.Management.Entity.Product;
 import com.example.Inventory.Management.Exception.ProductNotFoundException;
 import com.example.Inventory.Management.Repository.ProductRepository;
 import com.example.Inventory.Management.Service.Impl.ProductServiceImpl;
+import com.example.Inventory.Management.Util.ProductNameIndex;
+import com.example.Inventory.Management.Util.ProductQuantityIndex;
+import com.example.Inventory.Management.Service.ML.PredictionInputsChangedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -27,6 +31,15 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductNameIndex productNameIndex;
+
+    @Mock
+    private ProductQuantityIndex productQuantityIndex;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -137,6 +150,7 @@ class ProductServiceImplTest {
         assertEquals(15, result.getQuantity());
         verify(productRepository).findById(1L);
         verify(productRepository).save(existingProduct);
+        verify(eventPublisher).publishEvent(any(PredictionInputsChangedEvent.class));
     }
 
     @Test
@@ -179,7 +193,8 @@ class ProductServiceImplTest {
         List<Product> lowStockProducts = Arrays.asList(
                 Product.builder().id(1L).name("Low Stock Item").quantity(2).build()
         );
-        when(productRepository.findByQuantityLessThan(5)).thenReturn(lowStockProducts);
+        when(productQuantityIndex.findBelow(5, 0)).thenReturn(List.of(1L));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(lowStockProducts);
 
         // When
         List<Product> result = productService.getLowStockProducts(5);
@@ -188,6 +203,6 @@ class ProductServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(2, result.get(0).getQuantity());
-        verify(productRepository).findByQuantityLessThan(5);
+        verify(productRepository).findAllById(List.of(1L));
     }
 }
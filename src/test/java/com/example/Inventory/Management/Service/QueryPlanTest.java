@@ -0,0 +1,161 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.Entity.Category;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Repository.CategoryRepository;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.StockEntryRepository;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EXPLAIN checks of the ledger and lookup queries against the H2 schema
+ * generated from the entity mappings. Repository queries are explained as the
+ * SQL Hibernate generates for them. Each test rolls back its rows.
+ */
+@SpringBootTest
+@Transactional
+class QueryPlanTest {
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer sqlCaptureCustomizer(SqlCapture sqlCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+        }
+    }
+
+    static class SqlCapture implements StatementInspector {
+        private volatile String last;
+
+        @Override
+        public String inspect(String sql) {
+            last = sql;
+            return sql;
+        }
+    }
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @Autowired
+    private StockEntryRepository stockEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Long productId;
+
+    /**
+     * MySQL serves the product foreign key from idx_stock_entry_product_date, but
+     * H2 always adds a single-column index for it and prefers that one, so the
+     * constraint and its index are dropped to plan as MySQL does. This context
+     * is private to the class because of its test configuration.
+     */
+    @BeforeAll
+    static void dropProductForeignKey(@Autowired JdbcTemplate jdbcTemplate) {
+        String constraint = jdbcTemplate.queryForObject("SELECT tc.constraint_name "
+                + "FROM information_schema.table_constraints tc JOIN information_schema.key_column_usage k "
+                + "ON k.constraint_name = tc.constraint_name "
+                + "WHERE tc.table_name = 'STOCK_ENTRY' AND tc.constraint_type = 'FOREIGN KEY' "
+                + "AND k.column_name = 'PRODUCT_ID'", String.class);
+        jdbcTemplate.execute("ALTER TABLE stock_entry DROP CONSTRAINT " + constraint);
+    }
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder().name("Plan Category").build());
+        productId = productRepository.save(Product.builder()
+                .name("Plan Item").price(1.0).quantity(10).category(category).build()).getId();
+        Long otherId = productRepository.save(Product.builder()
+                .name("Other Plan Item").price(1.0).quantity(10).build()).getId();
+
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        for (int i = 0; i < 2_000; i++) {
+            rows.add(new Object[]{1_000_000L + productId * 10_000 + i, i % 2 == 0 ? productId : otherId,
+                    Timestamp.valueOf(start.plusMinutes(i))});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO stock_entry (id, product_id, quantity, type, date) VALUES (?, ?, 1, 1, ?)", rows);
+    }
+
+    @Test
+    void dateRange_ShouldUseTheDateIndexInOrder() {
+        String plan = explain("SELECT * FROM stock_entry WHERE date BETWEEN ? AND ? ORDER BY date, id",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(20)), Timestamp.valueOf(LocalDateTime.now()));
+
+        assertTrue(plan.contains("IDX_STOCK_ENTRY_DATE"), plan);
+        assertTrue(plan.contains("/* index sorted */"), plan);
+    }
+
+    @Test
+    void productHistory_ShouldBeServedInOrderByTheProductDateIndex() {
+        stockEntryRepository.findByProduct_Id(productId);
+        String plan = explain(sqlCapture.last, productId);
+
+        assertTrue(plan.contains("IDX_STOCK_ENTRY_PRODUCT_DATE: PRODUCT_ID ="), plan);
+        assertTrue(plan.contains("/* index sorted */"), plan);
+    }
+
+    @Test
+    void productPage_ShouldBeServedInOrderByTheProductDateIndex() {
+        Timestamp after = Timestamp.valueOf(LocalDateTime.now().minusDays(20));
+        stockEntryRepository.findProductPageAfter(productId, after.toLocalDateTime(), 0, PageRequest.of(0, 50));
+        String plan = explain(sqlCapture.last, productId, after, after, 0L, 50);
+
+        assertTrue(plan.contains("IDX_STOCK_ENTRY_PRODUCT_DATE: PRODUCT_ID ="), plan);
+        assertTrue(plan.contains("/* index sorted */"), plan);
+    }
+
+    @Test
+    void nameLookups_ShouldUseNameIndexes() {
+        assertTrue(explain("SELECT * FROM product WHERE name = ?", "Plan Item")
+                .contains("IDX_PRODUCT_NAME: NAME ="));
+        assertTrue(explain("SELECT * FROM supplier WHERE name = ?", "Acme")
+                .contains("IDX_SUPPLIER_NAME: NAME ="));
+        assertTrue(explain("SELECT p.* FROM product p JOIN category c ON p.category_id = c.id WHERE c.name = ?",
+                "Plan Category").contains("IDX_CATEGORY_NAME: NAME ="));
+    }
+
+    @Test
+    void entryType_ShouldBeStoredAsTinyint() {
+        assertEquals("TINYINT", jdbcTemplate.queryForObject("SELECT data_type FROM information_schema.columns "
+                + "WHERE table_name = 'STOCK_ENTRY' AND column_name = 'TYPE'", String.class));
+        assertEquals(1000, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_entry WHERE product_id = ? AND type = 1", Integer.class, productId));
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.CategoryDto;
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.Entity.Category;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.Supplier;
+import com.example.Inventory.Management.Repository.CategoryRepository;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.SupplierRepository;
+import com.example.Inventory.Management.Service.ML.RestockRecommendationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReadModelQueryTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private RestockRecommendationService restockRecommendationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().name("Tools " + System.nanoTime()).build());
+        Supplier acme = supplierRepository.save(Supplier.builder().name("Acme").contactNumber("1").build());
+        Supplier globex = supplierRepository.save(Supplier.builder().name("Globex").contactNumber("2").build());
+        for (int i = 0; i < 10; i++) {
+            productRepository.save(Product.builder()
+                    .name("Hammer " + i)
+                    .price(9.5)
+                    .quantity(i)
+                    .category(category)
+                    .suppliers(i % 2 == 0 ? Set.of(acme, globex) : Set.of(acme))
+                    .build());
+        }
+    }
+
+    @Test
+    void getProductDtosByCategory_ShouldUseOneQueryPlusOneSupplierBatch() {
+        // Given
+        restockRecommendationService.awaitMaintenance();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<ProductDto> products = productService.getProductDtosByCategory(category.getName(), true);
+
+        // Then
+        assertEquals(10, products.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(category.getName(), products.get(0).getCategoryName());
+        assertEquals(2, products.get(0).getSuppliers().size());
+        assertEquals(1, products.get(1).getSuppliers().size());
+    }
+
+    @Test
+    void getProductDtosByCategory_ShouldOmitSuppliersUnlessRequested() {
+        // When
+        List<ProductDto> products = productService.getProductDtosByCategory(category.getName(), false);
+
+        // Then
+        assertNull(products.get(0).getSuppliers());
+    }
+
+    @Test
+    void getCategoryDtoById_ShouldCountProductsInTheSameQuery() {
+        // Given
+        restockRecommendationService.awaitMaintenance();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        CategoryDto dto = categoryService.getCategoryDtoById(category.getId());
+
+        // Then
+        assertEquals(10L, dto.getProductCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.ReferenceCacheStats;
+import com.example.Inventory.Management.DTO.SupplierDto;
+import com.example.Inventory.Management.Util.ReferenceCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceCacheTest {
+
+    private final ReferenceCache<SupplierDto> cache = new ReferenceCache<>(
+            true, 100, Duration.ofMinutes(10), SupplierDto::getId, SupplierDto::getName);
+
+    @Test
+    void get_ShouldLoadOnceAndCountHits() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            cache.get(1L, id -> {
+                loads.incrementAndGet();
+                return Optional.of(supplier(id, "Acme"));
+            });
+        }
+        Optional<SupplierDto> missing = cache.get(2L, id -> Optional.empty());
+
+        // Then: absent rows are not cached
+        assertEquals(1, loads.get());
+        assertTrue(missing.isEmpty());
+        ReferenceCacheStats stats = cache.getStats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void put_ShouldWriteThroughAndDropTheOldName() {
+        // Given
+        cache.getAll(() -> List.of(supplier(1L, "Acme"), supplier(2L, "Globex")));
+        cache.getByName("Acme", name -> Optional.of(supplier(1L, name)));
+
+        // When: renamed
+        cache.put(supplier(1L, "Acme Corp"));
+
+        // Then
+        assertEquals("Acme Corp", cache.get(1L, id -> Optional.empty()).orElseThrow().getName());
+        assertEquals(1L, cache.getByName("Acme Corp", name -> Optional.empty()).orElseThrow().getId());
+        assertTrue(cache.getByName("Acme", name -> Optional.empty()).isEmpty());
+        assertEquals(List.of(), cache.getAll(List::of));
+    }
+
+    @Test
+    void invalidate_ShouldDiscardALoadThatRacedWithIt() {
+        // When: the row is deleted while a load that already read it is running
+        Optional<SupplierDto> loaded = cache.get(1L, id -> {
+            cache.invalidate(id);
+            return Optional.of(supplier(id, "Acme"));
+        });
+
+        // Then: returned to its caller but not cached
+        assertTrue(loaded.isPresent());
+        assertTrue(cache.get(1L, id -> Optional.empty()).isEmpty());
+        assertEquals(1, cache.getStats().getInvalidations());
+    }
+
+    @Test
+    void disabledCache_ShouldAlwaysLoad() {
+        // Given
+        ReferenceCache<SupplierDto> disabled = new ReferenceCache<>(
+                false, 100, Duration.ofMinutes(10), SupplierDto::getId, SupplierDto::getName);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            disabled.get(1L, id -> {
+                loads.incrementAndGet();
+                return Optional.of(supplier(id, "Acme"));
+            });
+        }
+
+        // Then
+        assertEquals(2, loads.get());
+        assertFalse(disabled.getStats().isEnabled());
+    }
+
+    private static SupplierDto supplier(Long id, String name) {
+        return SupplierDto.builder().id(id).name(name).contactNumber("555-0100").build();
+    }
+}
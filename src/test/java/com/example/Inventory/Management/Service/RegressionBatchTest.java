@@ -0,0 +1,95 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.Service.ML.DemandFeature;
+import com.example.Inventory.Management.Service.ML.DemandFeatures;
+import com.example.Inventory.Management.Service.ML.RegressionBatch;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegressionBatchTest {
+
+    private static final DemandFeatures FEATURES =
+            DemandFeatures.of(DemandFeature.TREND, DemandFeature.DAY_OF_WEEK);
+
+    @Test
+    void solve_ShouldRecoverJointCoefficientsOfNoiselessData() {
+        // Given: demand = 4 + 0.5 * trend + 6 on Saturdays, over eight weeks
+        RegressionBatch batch = new RegressionBatch(FEATURES.width(), 1);
+        double[] row = FEATURES.newRow();
+        long start = LocalDate.of(2024, 1, 1).toEpochDay();
+        for (int i = 0; i < 56; i++) {
+            long day = start + i;
+            double demand = 4 + 0.5 * (i + 1)
+                    + (LocalDate.ofEpochDay(day).getDayOfWeek() == DayOfWeek.SATURDAY ? 6 : 0);
+            batch.add(0, FEATURES.fill(i, day, row), demand);
+        }
+
+        // When
+        assertTrue(batch.solve(0, 0.0));
+
+        // Then: intercept, trend and the Saturday indicator (Tuesday..Sunday start at column 2)
+        assertEquals(4.0, batch.coefficient(0, 0), 1e-8);
+        assertEquals(0.5, batch.coefficient(0, 1), 1e-8);
+        assertEquals(6.0, batch.coefficient(0, 2 + DayOfWeek.SATURDAY.getValue() - 2), 1e-8);
+        assertEquals(0.0, batch.coefficient(0, 2 + DayOfWeek.WEDNESDAY.getValue() - 2), 1e-8);
+        assertEquals(1.0, batch.getRSquared(0), 1e-9);
+        assertEquals(1.0, batch.getAdjustedRSquared(0), 1e-9);
+        assertEquals(0.0, batch.residualVariance(0), 1e-8);
+    }
+
+    @Test
+    void solve_ShouldMatchResidualsComputedFromTheRows() {
+        // Given: noisy demand in two slots of one batch
+        Random random = new Random(7);
+        RegressionBatch batch = new RegressionBatch(FEATURES.width(), 2);
+        double[] row = FEATURES.newRow();
+        int n = 90;
+        long[] days = new long[n];
+        double[] demand = new double[n];
+        for (int i = 0; i < n; i++) {
+            days[i] = 19_800 + i * 2L;
+            demand[i] = 10 + 0.1 * i + random.nextGaussian() * 3;
+            batch.add(0, FEATURES.fill(i, days[i], row), demand[i]);
+            batch.add(1, FEATURES.fill(i, days[i], row), demand[i] * 2);
+        }
+
+        // When
+        assertTrue(batch.solve(0, 1.0));
+        assertTrue(batch.solve(1, 1.0));
+
+        // Then: the sums-based RSS agrees with a second pass over the data
+        double rss = 0;
+        for (int i = 0; i < n; i++) {
+            double residual = demand[i] - batch.predict(0, FEATURES.fill(i, days[i], row));
+            rss += residual * residual;
+        }
+        assertEquals(rss / n, batch.residualVariance(0), 1e-6);
+        double expectedAdjusted = 1 - (1 - batch.getRSquared(0)) * (n - 1) / (n - FEATURES.width());
+        assertEquals(expectedAdjusted, batch.getAdjustedRSquared(0), 1e-9);
+        assertTrue(batch.getAdjustedRSquared(0) < batch.getRSquared(0));
+        assertEquals(batch.getRSquared(0), batch.getRSquared(1), 0.01);
+        assertNotEquals(batch.coefficient(0, 1), batch.coefficient(1, 1));
+    }
+
+    @Test
+    void solve_ShouldKeepCollinearColumnsSolvableWithRidge() {
+        // Given: history on Mondays only, so every weekday indicator is all zeros
+        RegressionBatch batch = new RegressionBatch(FEATURES.width(), 1);
+        double[] row = FEATURES.newRow();
+        long monday = LocalDate.of(2024, 1, 1).toEpochDay();
+        for (int i = 0; i < 10; i++) {
+            batch.add(0, FEATURES.fill(i, monday + 7L * i, row), 5 + i);
+        }
+
+        // When / Then
+        assertFalse(batch.solve(0, 0.0));
+        assertTrue(batch.solve(0, 1.0));
+        assertEquals(0.0, batch.coefficient(0, 4), 1e-12);
+        assertTrue(batch.getRSquared(0) > 0.99);
+    }
+}
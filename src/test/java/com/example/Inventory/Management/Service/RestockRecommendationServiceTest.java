@@ -0,0 +1,245 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.Entity.Category;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.CategoryRepository;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.RestockRecommendationRepository;
+import com.example.Inventory.Management.Service.ML.ForecastSnapshotService;
+import com.example.Inventory.Management.Service.ML.InventoryPrediction;
+import com.example.Inventory.Management.Service.ML.LinearRegressionPredictionService;
+import com.example.Inventory.Management.Service.ML.RestockRecommendationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RestockRecommendationServiceTest {
+
+    private static final int PRODUCTS = 30;
+
+    @Autowired
+    private RestockRecommendationService restockRecommendationService;
+
+    @Autowired
+    private LinearRegressionPredictionService linearRegressionService;
+
+    @Autowired
+    private ForecastSnapshotService snapshotService;
+
+    @Autowired
+    private StockEntryService stockEntryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RestockRecommendationRepository restockRecommendationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category category;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().name("Restock " + System.nanoTime()).build());
+        products = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(20);
+        for (int i = 0; i < PRODUCTS; i++) {
+            // Stock levels from nearly empty to plenty against the same sales pattern
+            Product product = productRepository.save(Product.builder()
+                    .name("Restock Item " + i)
+                    .price(20.0)
+                    .quantity(1_000)
+                    .category(category)
+                    .build());
+            List<StockEntry> sales = new ArrayList<>();
+            for (int day = 0; day < 10; day++) {
+                sales.add(StockEntry.builder()
+                        .product(Product.builder().id(product.getId()).build())
+                        .type("SALE")
+                        .quantity(3 + day % 3)
+                        .date(start.plusDays(day))
+                        .build());
+            }
+            sales.add(StockEntry.builder()
+                    .product(Product.builder().id(product.getId()).build())
+                    .type("SALE")
+                    .quantity(1_000 - i * 10 - 1 - 39)
+                    .date(start.plusDays(10))
+                    .build());
+            stockEntryService.addStockEntries(sales);
+            products.add(productRepository.findById(product.getId()).orElseThrow());
+        }
+        restockRecommendationService.awaitMaintenance();
+    }
+
+    @Test
+    void getRecommendations_ShouldMatchPerProductForecasts() {
+        // When
+        List<InventoryPrediction> recommendations =
+                restockRecommendationService.getRecommendations(category.getName(), null, 30);
+
+        // Then
+        List<Long> expected = products.stream()
+                .filter(p -> linearRegressionService.predictInventoryWithLinearRegression(p.getId(), 30)
+                        .isRestockNeeded())
+                .map(Product::getId)
+                .toList();
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, recommendations.stream().map(InventoryPrediction::getProductId).sorted().toList());
+        assertEquals(restockRecommendationService.getRecommendations(category.getName(), null, 30, true)
+                        .stream().map(InventoryPrediction::getProductId).toList(),
+                recommendations.stream().map(InventoryPrediction::getProductId).toList());
+
+        // Most urgent first
+        for (int i = 1; i < recommendations.size(); i++) {
+            assertTrue(recommendations.get(i - 1).getStockoutDays() <= recommendations.get(i).getStockoutDays());
+        }
+    }
+
+    @Test
+    void getRecommendations_ShouldUseSetBasedQueries() {
+        // Given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        restockRecommendationService.getRecommendations(category.getName(), null, 30, true);
+
+        // Then: one product page and one statistics IN query
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        // And the default horizon is one read of the materialized set
+        statistics.clear();
+        restockRecommendationService.getRecommendations(category.getName(), null, 30);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getRecommendations_ShouldServeSnapshotsWithoutRefitting() {
+        // Given
+        snapshotService.refresh(true);
+        restockRecommendationService.awaitMaintenance();
+        List<InventoryPrediction> live = restockRecommendationService.getRecommendations(category.getName(), null, 30, true);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<InventoryPrediction> served = restockRecommendationService.getRecommendations(category.getName(), null, 30);
+
+        // Then: the refresh updated the set, and reading it fits nothing
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(live.stream().map(InventoryPrediction::getProductId).toList(),
+                served.stream().map(InventoryPrediction::getProductId).toList());
+        assertTrue(served.stream().allMatch(p -> p.getSnapshotAt() != null));
+        assertTrue(live.stream().allMatch(p -> p.getSnapshotAt() == null));
+    }
+
+    @Test
+    void stockWrites_ShouldMoveProductsInAndOutOfTheMaterializedSet() {
+        // Given: the least stocked product needs restocking
+        Product product = products.get(0);
+        assertTrue(recommendedIds().contains(product.getId()));
+
+        // When: a purchase restocks it
+        stockEntryService.addStockEntry(StockEntry.builder()
+                .product(Product.builder().id(product.getId()).build())
+                .type("PURCHASE").quantity(100_000).date(LocalDateTime.now()).build());
+
+        // Then
+        assertFalse(recommendedIds().contains(product.getId()));
+
+        // When: a sale takes it back below its reorder point
+        stockEntryService.addStockEntry(StockEntry.builder()
+                .product(Product.builder().id(product.getId()).build())
+                .type("SALE").quantity(100_000).date(LocalDateTime.now()).build());
+
+        // Then
+        restockRecommendationService.awaitMaintenance();
+        InventoryPrediction added = restockRecommendationService.getRecommendations(category.getName(), null, 30)
+                .stream().filter(p -> p.getProductId().equals(product.getId())).findFirst().orElseThrow();
+        assertEquals(product.getQuantity(), added.getCurrentStock());
+        assertEquals("HIGH", added.getRiskLevel());
+    }
+
+    @Test
+    void getRecommendations_ShouldReturnTopNByUrgency() {
+        // When
+        List<InventoryPrediction> all = restockRecommendationService.getRecommendations(category.getName(), null, 30);
+        List<InventoryPrediction> top = restockRecommendationService.getRecommendations(category.getName(), null, 30, false, 3);
+
+        // Then
+        assertEquals(all.subList(0, 3).stream().map(InventoryPrediction::getProductId).toList(),
+                top.stream().map(InventoryPrediction::getProductId).toList());
+    }
+
+    @Test
+    void populateIfEmpty_ShouldRebuildAnEmptySet() {
+        // Given
+        List<Long> before = recommendedIds();
+        restockRecommendationRepository.deleteAll();
+        assertTrue(recommendedIds().isEmpty());
+
+        // When
+        restockRecommendationService.populateIfEmpty();
+        restockRecommendationService.awaitMaintenance();
+
+        // Then
+        assertFalse(before.isEmpty());
+        assertEquals(before, recommendedIds());
+    }
+
+    private List<Long> recommendedIds() {
+        restockRecommendationService.awaitMaintenance();
+        return restockRecommendationService.getRecommendations(category.getName(), null, 30).stream()
+                .map(InventoryPrediction::getProductId)
+                .toList();
+    }
+
+    @Test
+    void getRecommendations_ShouldFilterByRiskLevel() {
+        // When
+        List<InventoryPrediction> high = restockRecommendationService.getRecommendations(category.getName(), "high", 30);
+        List<InventoryPrediction> all = restockRecommendationService.getRecommendations(category.getName(), null, 30);
+
+        // Then
+        assertTrue(high.stream().allMatch(p -> "HIGH".equals(p.getRiskLevel())));
+        assertEquals(all.stream().filter(p -> "HIGH".equals(p.getRiskLevel())).count(), high.size());
+        assertThrows(RuntimeException.class,
+                () -> restockRecommendationService.getRecommendations(null, "urgent", 30));
+    }
+
+    @Test
+    void streamRecommendations_ShouldWriteOneLinePerRecommendation() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        restockRecommendationService.streamRecommendations(category.getName(), null, 30, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(restockRecommendationService.getRecommendations(category.getName(), null, 30).size(),
+                lines.length);
+        assertTrue(lines[0].contains("\"restockNeeded\":true"));
+    }
+}
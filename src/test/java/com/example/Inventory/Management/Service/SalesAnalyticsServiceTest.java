@@ -0,0 +1,194 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.SalesBucketDto;
+import com.example.Inventory.Management.DTO.SalesQuery;
+import com.example.Inventory.Management.Entity.Category;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.CategoryRepository;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Service.ML.RestockRecommendationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SalesAnalyticsServiceTest {
+
+    // Wednesday 2019-01-30 to Tuesday 2019-02-05: two weeks and two months
+    private static final LocalDate FROM = LocalDate.of(2019, 1, 30);
+    private static final LocalDate TO = LocalDate.of(2019, 2, 5);
+    private static final String DAY = "day";
+    private static final String WEEK = "week";
+    private static final String MONTH = "month";
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private StockEntryService stockEntryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RestockRecommendationService restockRecommendationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category category;
+    private Product first;
+    private Product second;
+    private Product uncategorized;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().name("Analytics " + System.nanoTime()).build());
+        first = product("Analytics A", category);
+        second = product("Analytics B", category);
+        uncategorized = product("Analytics C", null);
+
+        List<StockEntry> entries = new ArrayList<>();
+        for (LocalDate day = FROM.minusDays(1); !day.isAfter(TO.plusDays(1)); day = day.plusDays(1)) {
+            entries.add(entry(first, "SALE", 1, day));
+            entries.add(entry(second, "SALE", 2, day));
+            entries.add(entry(uncategorized, "SALE", 4, day));
+        }
+        entries.add(entry(first, "PURCHASE", 10, LocalDate.of(2019, 2, 1)));
+        stockEntryService.addStockEntries(entries);
+        restockRecommendationService.awaitMaintenance();
+    }
+
+    @Test
+    void dailyByProduct_ShouldTotalEachDayInRange() throws IOException {
+        // When
+        List<SalesBucketDto> rows = onlyOurs(stream(DAY, "product"));
+
+        // Then: 7 days x 3 products, in bucket then product order
+        assertEquals(21, rows.size());
+        assertEquals(FROM, rows.get(0).getBucket());
+        assertEquals(first.getId(), rows.get(0).getId());
+        assertEquals("Analytics A", rows.get(0).getName());
+        assertEquals(1, rows.get(0).getQtySold());
+        SalesBucketDto restock = rows.stream()
+                .filter(row -> row.getBucket().equals(LocalDate.of(2019, 2, 1)) && row.getId().equals(first.getId()))
+                .findFirst().orElseThrow();
+        assertEquals(10, restock.getQtyPurchased());
+        assertEquals(2, restock.getEntryCount());
+    }
+
+    @Test
+    void weeksAndMonths_ShouldGroupOnTheirFirstDay() throws IOException {
+        // When
+        List<SalesBucketDto> weeks = onlyOurs(stream(WEEK, "product"));
+        List<SalesBucketDto> months = onlyOurs(stream(MONTH, "product"));
+
+        // Then: Wed-Sun in the week of Jan 28, Mon-Tue in the week of Feb 4
+        assertEquals(List.of(LocalDate.of(2019, 1, 28), LocalDate.of(2019, 2, 4)),
+                weeks.stream().map(SalesBucketDto::getBucket).distinct().toList());
+        assertEquals(5 * 2, weeks.get(1).getQtySold());
+        assertEquals(2 * 2, weeks.get(4).getQtySold());
+
+        // Jan 30-31 and Feb 1-5
+        assertEquals(List.of(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 2, 1)),
+                months.stream().map(SalesBucketDto::getBucket).distinct().toList());
+        assertEquals(2 * 4, months.get(2).getQtySold());
+        assertEquals(5 * 4, months.get(5).getQtySold());
+    }
+
+    @Test
+    void byCategory_ShouldTotalProductsAndKeepUncategorizedApart() throws IOException {
+        // When
+        List<SalesBucketDto> months = stream(MONTH, "category").stream()
+                .filter(row -> row.getId() == null || row.getId().equals(category.getId()))
+                .toList();
+
+        // Then: other tests' entries are dated elsewhere, so the uncategorized sales are
+        // those of every "Analytics C" created by this class
+        long uncategorizedProducts = productRepository.findByNameContainingIgnoreCase("Analytics C").size();
+        SalesBucketDto february = months.stream()
+                .filter(row -> category.getId().equals(row.getId()) && row.getBucket().getMonthValue() == 2)
+                .findFirst().orElseThrow();
+        assertEquals(5 * (1 + 2), february.getQtySold());
+        assertEquals(category.getName(), february.getName());
+        SalesBucketDto none = months.stream()
+                .filter(row -> row.getId() == null && row.getBucket().getMonthValue() == 2)
+                .findFirst().orElseThrow();
+        assertEquals(5 * 4 * uncategorizedProducts, none.getQtySold());
+    }
+
+    @Test
+    void repeatedQuery_ShouldBeServedFromTheResultCache() throws IOException {
+        // Given
+        List<SalesBucketDto> firstRun = stream(WEEK, "category");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<SalesBucketDto> secondRun = stream(WEEK, "category");
+
+        // Then
+        assertEquals(firstRun, secondRun);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void query_ShouldRejectInvalidParameters() {
+        assertThrows(RuntimeException.class, () -> salesAnalyticsService.query(TO, FROM, DAY, "product"));
+        assertThrows(RuntimeException.class, () -> salesAnalyticsService.query(FROM, TO, "year", "product"));
+        assertThrows(RuntimeException.class, () -> salesAnalyticsService.query(FROM, TO, DAY, "supplier"));
+        assertEquals(MONTH, salesAnalyticsService.query(FROM, TO, "Month", null).getBucket());
+    }
+
+    private List<SalesBucketDto> stream(String bucket, String groupBy) throws IOException {
+        SalesQuery query = salesAnalyticsService.query(FROM, TO, bucket, groupBy);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        salesAnalyticsService.streamSales(query, out);
+        List<SalesBucketDto> rows = new ArrayList<>();
+        for (String line : out.toString().split("\n")) {
+            if (!line.isBlank()) {
+                rows.add(objectMapper.readValue(line, SalesBucketDto.class));
+            }
+        }
+        return rows;
+    }
+
+    private List<SalesBucketDto> onlyOurs(List<SalesBucketDto> rows) {
+        List<Long> ids = List.of(first.getId(), second.getId(), uncategorized.getId());
+        return rows.stream().filter(row -> ids.contains(row.getId())).toList();
+    }
+
+    private Product product(String name, Category category) {
+        return productRepository.save(Product.builder()
+                .name(name).price(5.0).quantity(1_000).category(category).build());
+    }
+
+    private static StockEntry entry(Product product, String type, int quantity, LocalDate day) {
+        return StockEntry.builder()
+                .product(Product.builder().id(product.getId()).build())
+                .type(type)
+                .quantity(quantity)
+                .date(day.atTime(12, 0))
+                .build();
+    }
+}
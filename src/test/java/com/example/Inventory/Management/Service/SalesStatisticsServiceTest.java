@@ -0,0 +1,206 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.DailySalesDto;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.ProductSalesStats;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.ProductSalesStatsRepository;
+import com.example.Inventory.Management.Repository.StockEntryRepository;
+import com.example.Inventory.Management.Service.ML.SalesRollupRebuildService;
+import com.example.Inventory.Management.Service.ML.SalesStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SalesStatisticsServiceTest {
+
+    private static final LocalDateTime DAY_1 = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @Autowired
+    private StockEntryService stockEntryService;
+
+    @Autowired
+    private StockImportService stockImportService;
+
+    @Autowired
+    private SalesStatisticsService salesStatisticsService;
+
+    @Autowired
+    private ProductSalesStatsRepository statsRepository;
+
+    @Autowired
+    private SalesRollupRebuildService salesRollupRebuildService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockEntryRepository stockEntryRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(Product.builder()
+                .name("Stats Product " + System.nanoTime())
+                .price(3.0)
+                .quantity(1_000)
+                .build());
+    }
+
+    @Test
+    void addStockEntry_ShouldUpdateStatisticsIncrementally() {
+        // When
+        stockEntryService.addStockEntry(entry("SALE", 4, DAY_1));
+        stockEntryService.addStockEntry(entry("SALE", 2, DAY_1.plusHours(3)));
+        stockEntryService.addStockEntry(entry("PURCHASE", 50, DAY_1.plusDays(1)));
+        stockEntryService.addStockEntry(entry("SALE", 5, DAY_1.plusDays(2)));
+
+        // Then: days (x=1, y=6) and (x=2, y=5)
+        ProductSalesStats stats = stored();
+        assertEquals(4, stats.getEntryCount());
+        assertEquals(2, stats.getDayCount());
+        assertEquals(11, stats.getSumY());
+        assertEquals(6 + 2 * 5, stats.getSumXY());
+        assertEquals(36 + 25, stats.getSumY2());
+        assertMatchesLedger(stats);
+    }
+
+    @Test
+    void backDatedUpdatesAndDeletes_ShouldMatchRebuild() {
+        // Given
+        StockEntry first = stockEntryService.addStockEntry(entry("SALE", 3, DAY_1));
+        StockEntry second = stockEntryService.addStockEntry(entry("SALE", 7, DAY_1.plusDays(1)));
+        StockEntry third = stockEntryService.addStockEntry(entry("SALE", 2, DAY_1.plusDays(3)));
+
+        // When: a back-dated sale, an update that moves a day and deletes at both ends
+        stockEntryService.addStockEntry(entry("SALE", 9, DAY_1.minusDays(2)));
+        assertMatchesLedger(stored());
+
+        stockEntryService.updateStockEntry(second.getId(), entry("SALE", 1, DAY_1.plusDays(5)));
+        assertMatchesLedger(stored());
+
+        stockEntryService.deleteStockEntry(third.getId());
+        assertMatchesLedger(stored());
+
+        stockEntryService.deleteStockEntry(first.getId());
+
+        // Then
+        assertMatchesLedger(stored());
+        assertEquals(2, stored().getDayCount());
+    }
+
+    @Test
+    void batchAndImport_ShouldKeepStatisticsCurrent() {
+        // Given
+        stockEntryService.addStockEntries(List.of(
+                entry("SALE", 2, DAY_1.plusDays(1)),
+                entry("SALE", 4, DAY_1),
+                entry("PURCHASE", 10, DAY_1)));
+
+        // When
+        String body = String.format(
+                "{\"productId\":%d,\"type\":\"SALE\",\"quantity\":6,\"date\":\"2024-04-20\"}%n"
+                        + "{\"productId\":%d,\"type\":\"SALE\",\"quantity\":1,\"date\":\"2024-05-09\"}%n",
+                product.getId(), product.getId());
+        stockImportService.importStockHistory(null, "ndjson",
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        ProductSalesStats stats = stored();
+        assertEquals(5, stats.getEntryCount());
+        assertEquals(4, stats.getDayCount());
+        assertMatchesLedger(stats);
+    }
+
+    @Test
+    void addStockEntry_ShouldKeepOneRollupRowPerDay() {
+        // When
+        stockEntryService.addStockEntry(entry("SALE", 4, DAY_1));
+        stockEntryService.addStockEntry(entry("SALE", 2, DAY_1.plusHours(3)));
+        stockEntryService.addStockEntry(entry("PURCHASE", 50, DAY_1));
+        StockEntry later = stockEntryService.addStockEntry(entry("SALE", 5, DAY_1.plusDays(2)));
+        stockEntryService.deleteStockEntry(later.getId());
+
+        // Then
+        List<DailySalesDto> days = salesStatisticsService.getDailySales(product.getId());
+        assertEquals(1, days.size());
+        assertEquals(DAY_1.toLocalDate().toEpochDay(), days.get(0).getEpochDay());
+        assertEquals(6, days.get(0).getQtySold());
+        assertEquals(50, days.get(0).getQtyPurchased());
+    }
+
+    @Test
+    void rebuildAll_ShouldBackfillLedgerWrittenWithoutRollup() {
+        // Given: history written straight to the ledger
+        for (int day = 0; day < 10; day++) {
+            stockEntryRepository.save(StockEntry.builder()
+                    .product(product).type("SALE").quantity(day + 1).date(DAY_1.plusDays(day)).build());
+        }
+        assertTrue(salesStatisticsService.getDailySales(product.getId()).isEmpty());
+
+        // When
+        int rebuilt = salesRollupRebuildService.rebuildAll();
+
+        // Then
+        assertEquals(productRepository.count(), rebuilt);
+        assertEquals(10, salesStatisticsService.getDailySales(product.getId()).size());
+        assertEquals(10, stored().getDayCount());
+        assertEquals(55, stored().getSumY());
+    }
+
+    @Test
+    void addStockEntry_ShouldRebuildFromLedger_WhenProductHasNoStatistics() {
+        // Given: history written straight to the ledger
+        for (int day = 0; day < 10; day++) {
+            stockEntryRepository.save(StockEntry.builder()
+                    .product(product).type("SALE").quantity(day + 1).date(DAY_1.plusDays(day)).build());
+        }
+
+        // When
+        stockEntryService.addStockEntry(entry("SALE", 7, DAY_1.plusDays(10)));
+
+        // Then: the statistics cover the earlier history as well
+        ProductSalesStats stats = stored();
+        assertEquals(11, stats.getEntryCount());
+        assertEquals(11, stats.getDayCount());
+        assertEquals(55 + 7, stats.getSumY());
+        assertMatchesLedger(stats);
+    }
+
+    private ProductSalesStats stored() {
+        return statsRepository.findById(product.getId()).orElseThrow();
+    }
+
+    private void assertMatchesLedger(ProductSalesStats stats) {
+        List<DailySalesDto> days = salesStatisticsService.getDailySales(product.getId());
+        ProductSalesStats rebuilt = salesStatisticsService.rebuild(product.getId());
+        assertEquals(salesStatisticsService.getDailySales(product.getId()), days);
+        assertEquals(rebuilt.getEntryCount(), stats.getEntryCount());
+        assertEquals(rebuilt.getDayCount(), stats.getDayCount());
+        assertEquals(rebuilt.getLastEpochDay(), stats.getLastEpochDay());
+        assertEquals(rebuilt.getLastDayQuantity(), stats.getLastDayQuantity());
+        assertEquals(rebuilt.getSumY(), stats.getSumY());
+        assertEquals(rebuilt.getSumXY(), stats.getSumXY());
+        assertEquals(rebuilt.getSumY2(), stats.getSumY2());
+    }
+
+    private StockEntry entry(String type, int quantity, LocalDateTime date) {
+        return StockEntry.builder()
+                .product(Product.builder().id(product.getId()).build())
+                .type(type)
+                .quantity(quantity)
+                .date(date)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.Entity.Supplier;
+import com.example.Inventory.Management.Repository.SupplierRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "inventory.reference-cache.backend=hibernate",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void hibernateBackend_ShouldServeEntityLoadsFromTheSecondLevelCache() {
+        // Given
+        Supplier supplier = supplierService.saveSupplier(Supplier.builder()
+                .name("Initech").contactNumber("555-0199").build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When: two separate sessions
+        supplierRepository.findById(supplier.getId()).orElseThrow();
+        supplierRepository.findById(supplier.getId()).orElseThrow();
+
+        // Then: only the first load reads the table
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(supplierService.getCacheStats().isEnabled());
+    }
+}
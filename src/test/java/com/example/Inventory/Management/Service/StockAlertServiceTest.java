@@ -0,0 +1,150 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.StockAlert;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Service.ML.RestockRecommendationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StockAlertServiceTest {
+
+    @Autowired
+    private StockAlertService stockAlertService;
+
+    @Autowired
+    private StockEntryService stockEntryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RestockRecommendationService restockRecommendationService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Product product;
+    private long marker;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(Product.builder()
+                .name("Alerted " + System.nanoTime())
+                .price(6.0)
+                .quantity(15)
+                .build());
+        List<StockAlert> existing = stockAlertService.getAlertsAfter(0);
+        marker = existing.isEmpty() ? 0 : existing.get(existing.size() - 1).getId();
+    }
+
+    @Test
+    void stockWrites_ShouldAlertWhenCrossingTheThreshold() {
+        // When: 15 -> 9 -> 0 -> 20
+        stockEntryService.addStockEntry(entry("SALE", 6));
+        stockEntryService.addStockEntry(entry("SALE", 9));
+        stockEntryService.addStockEntry(entry("PURCHASE", 20));
+
+        // Then
+        List<StockAlert> alerts = alertsForProduct();
+        assertEquals(List.of(StockAlert.LOW_STOCK, StockAlert.STOCKOUT, StockAlert.RESTOCKED),
+                alerts.stream().map(StockAlert::getType).filter(type -> !type.equals(StockAlert.REORDER_POINT)).toList());
+        StockAlert lowStock = alerts.get(0);
+        assertEquals(15, lowStock.getPreviousQuantity());
+        assertEquals(9, lowStock.getQuantity());
+        assertEquals(product.getName(), lowStock.getProductName());
+        for (int i = 1; i < alerts.size(); i++) {
+            assertTrue(alerts.get(i).getId() > alerts.get(i - 1).getId());
+        }
+    }
+
+    @Test
+    void stockWrites_ShouldAlertWhenStockReachesTheReorderPoint() {
+        // Given: steady sales and plenty of stock
+        restock(5_000);
+        List<StockEntry> history = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(12);
+        for (int day = 0; day < 10; day++) {
+            history.add(StockEntry.builder()
+                    .product(Product.builder().id(product.getId()).build())
+                    .type("SALE").quantity(20).date(start.plusDays(day)).build());
+        }
+        stockEntryService.addStockEntries(history);
+        restockRecommendationService.awaitMaintenance();
+        assertTrue(alertsForProduct().stream().noneMatch(a -> a.getType().equals(StockAlert.REORDER_POINT)));
+
+        // When: most of the stock goes at once
+        stockEntryService.addStockEntry(entry("SALE", 4_700));
+        restockRecommendationService.awaitMaintenance();
+
+        // Then
+        StockAlert alert = alertsForProduct().stream()
+                .filter(a -> a.getType().equals(StockAlert.REORDER_POINT))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(115, alert.getQuantity());
+        assertTrue(alert.getReorderPoint() >= 115);
+    }
+
+    @Test
+    void subscribe_ShouldResumeAfterLastEventId() throws Exception {
+        // Given
+        stockEntryService.addStockEntry(entry("SALE", 6));
+        stockEntryService.addStockEntry(entry("SALE", 9));
+        List<StockAlert> alerts = alertsForProduct();
+        long first = alerts.get(0).getId();
+        long second = alerts.get(1).getId();
+
+        // When
+        MvcResult result = mockMvc.perform(get("/products/low-stock/alerts")
+                        .header("Last-Event-ID", String.valueOf(first)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = "";
+        for (int attempt = 0; attempt < 100 && !body.contains("id:" + second); attempt++) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertTrue(body.contains("id:" + second));
+        assertTrue(body.contains("event:" + StockAlert.STOCKOUT));
+        assertFalse(body.contains("id:" + first + "\n"));
+    }
+
+    private List<StockAlert> alertsForProduct() {
+        return stockAlertService.getAlertsAfter(marker).stream()
+                .filter(alert -> alert.getProductId().equals(product.getId()))
+                .toList();
+    }
+
+    private void restock(int quantity) {
+        stockEntryService.addStockEntry(entry("PURCHASE", quantity));
+    }
+
+    private StockEntry entry(String type, int quantity) {
+        return StockEntry.builder()
+                .product(Product.builder().id(product.getId()).build())
+                .type(type)
+                .quantity(quantity)
+                .date(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.BatchStockEntryResult;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Entity.StockEntry;
+import com.example.Inventory.Management.Exception.InsufficientStockException;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.StockEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StockEntryConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private StockEntryService stockEntryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockEntryRepository stockEntryRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(Product.builder()
+                .name("Hot SKU " + System.nanoTime())
+                .price(10.0)
+                .quantity(200)
+                .build());
+    }
+
+    @Test
+    void concurrentSales_ShouldNeverOversellOrLoseUpdates() throws Exception {
+        // Given: 400 single-unit sales racing for 200 units
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // When
+        runConcurrently(400, i -> {
+            try {
+                stockEntryService.addStockEntry(entry("SALE", 1));
+                accepted.incrementAndGet();
+            } catch (InsufficientStockException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        // Then
+        assertEquals(200, accepted.get());
+        assertEquals(200, rejected.get());
+        assertEquals(0, currentQuantity());
+        assertEquals(200, stockEntryRepository.findByProduct_Id(product.getId()).size());
+    }
+
+    @Test
+    void concurrentMixedEntries_ShouldMatchLedger() throws Exception {
+        // Given: interleaved purchases and sales that never exceed available stock
+        // When
+        runConcurrently(400, i -> stockEntryService.addStockEntry(entry(i % 2 == 0 ? "PURCHASE" : "SALE", 1)));
+
+        // Then: every movement is reflected exactly once
+        int expected = 200;
+        for (StockEntry e : stockEntryRepository.findByProduct_Id(product.getId())) {
+            expected += "SALE".equals(e.getType()) ? -e.getQuantity() : e.getQuantity();
+        }
+        assertEquals(400, stockEntryRepository.findByProduct_Id(product.getId()).size());
+        assertEquals(expected, currentQuantity());
+        assertEquals(200, currentQuantity());
+    }
+
+    @Test
+    void concurrentDeletes_ShouldRestoreEveryUnit() throws Exception {
+        // Given
+        List<Long> saleIds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            saleIds.add(stockEntryService.addStockEntry(entry("SALE", 2)).getId());
+        }
+        assertEquals(0, currentQuantity());
+
+        // When
+        runConcurrently(saleIds.size(), i -> stockEntryService.deleteStockEntry(saleIds.get(i)));
+
+        // Then
+        assertEquals(200, currentQuantity());
+        assertTrue(stockEntryRepository.findByProduct_Id(product.getId()).isEmpty());
+    }
+
+    @Test
+    void concurrentBatches_ShouldNeverOversell() throws Exception {
+        // Given: 40 batches of 10 single-unit sales racing for 200 units
+        AtomicInteger accepted = new AtomicInteger();
+
+        // When
+        runConcurrently(40, i -> {
+            List<StockEntry> batch = new ArrayList<>();
+            for (int j = 0; j < 10; j++) {
+                batch.add(entry("SALE", 1));
+            }
+            BatchStockEntryResult result = stockEntryService.addStockEntries(batch);
+            accepted.addAndGet(result.getAccepted());
+        });
+
+        // Then
+        assertEquals(200, accepted.get());
+        assertEquals(0, currentQuantity());
+        assertEquals(200, stockEntryRepository.findByProduct_Id(product.getId()).size());
+    }
+
+    private StockEntry entry(String type, int quantity) {
+        return StockEntry.builder()
+                .product(Product.builder().id(product.getId()).build())
+                .quantity(quantity)
+                .type(type)
+                .date(LocalDateTime.now())
+                .build();
+    }
+
+    private int currentQuantity() {
+        return productRepository.findById(product.getId()).orElseThrow().getQuantity();
+    }
+
+    private void runConcurrently(int tasks, IndexedTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index);
+    }
+}
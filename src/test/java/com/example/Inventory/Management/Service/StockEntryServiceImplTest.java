@@ -1,5 +1,6 @@
 package com.example.Inventory.Management.Service;
 
+import com.example.Inventory.Management.DTO.BatchStockEntryResult;
 import com.example.Inventory.Management.Entity.Product;
 import com.example.Inventory.Management.Entity.StockEntry;
 import com.example.Inventory.Management.Exception.InsufficientStockException;
@@ -8,18 +9,23 @@ import com.example.Inventory.Management.Exception.StockEntryNotFoundException;
 import com.example.Inventory.Management.Repository.ProductRepository;
 import com.example.Inventory.Management.Repository.StockEntryRepository;
 import com.example.Inventory.Management.Service.Impl.StockEntryServiceImpl;
+import com.example.Inventory.Management.Service.ML.SalesStatisticsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +37,12 @@ class StockEntryServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private SalesStatisticsService salesStatisticsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private StockEntryServiceImpl stockEntryService;
 
@@ -58,8 +70,8 @@ class StockEntryServiceImplTest {
     @Test
     void addStockEntry_Purchase_ShouldIncreaseProductQuantity() {
         // Given
+        when(productRepository.incrementQuantity(1L, 5)).thenReturn(1);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
         when(stockEntryRepository.save(any(StockEntry.class))).thenReturn(stockEntry);
 
         // When
@@ -68,8 +80,8 @@ class StockEntryServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals("PURCHASE", result.getType());
-        assertEquals(25, product.getQuantity()); 
-        verify(productRepository).save(product);
+        verify(productRepository).incrementQuantity(1L, 5);
+        verify(productRepository, never()).save(any(Product.class));
         verify(stockEntryRepository).save(stockEntry);
     }
 
@@ -79,11 +91,11 @@ class StockEntryServiceImplTest {
         StockEntry saleEntry = StockEntry.builder()
                 .product(product)
                 .quantity(3)
-                .type("SALE")
+                .type("sale")
                 .build();
 
+        when(productRepository.decrementQuantity(1L, 3)).thenReturn(1);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
         when(stockEntryRepository.save(any(StockEntry.class))).thenReturn(saleEntry);
 
         // When
@@ -92,8 +104,8 @@ class StockEntryServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals("SALE", result.getType());
-        assertEquals(17, product.getQuantity()); 
-        verify(productRepository).save(product);
+        verify(productRepository).decrementQuantity(1L, 3);
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
@@ -111,20 +123,22 @@ class StockEntryServiceImplTest {
                 .type("SALE")
                 .build();
 
+        when(productRepository.decrementQuantity(1L, 5)).thenReturn(0);
         when(productRepository.findById(1L)).thenReturn(Optional.of(lowStockProduct));
 
         // When & Then
-        assertThrows(InsufficientStockException.class, () -> {
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class, () -> {
             stockEntryService.addStockEntry(largeSaleEntry);
         });
 
-        verify(productRepository, never()).save(any(Product.class));
+        assertTrue(exception.getMessage().contains("Available: 2, Requested: 5"));
         verify(stockEntryRepository, never()).save(any(StockEntry.class));
     }
 
     @Test
     void addStockEntry_ShouldThrowException_WhenProductNotFound() {
         // Given
+        when(productRepository.incrementQuantity(999L, 5)).thenReturn(0);
         when(productRepository.findById(999L)).thenReturn(Optional.empty());
 
         StockEntry entryWithInvalidProduct = StockEntry.builder()
@@ -137,13 +151,12 @@ class StockEntryServiceImplTest {
         assertThrows(ProductNotFoundException.class, () -> {
             stockEntryService.addStockEntry(entryWithInvalidProduct);
         });
+        verify(stockEntryRepository, never()).save(any(StockEntry.class));
     }
 
     @Test
     void addStockEntry_ShouldThrowException_WhenInvalidType() {
         // Given
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-
         StockEntry invalidTypeEntry = StockEntry.builder()
                 .product(product)
                 .quantity(5)
@@ -156,6 +169,38 @@ class StockEntryServiceImplTest {
         });
 
         assertTrue(exception.getMessage().contains("Invalid stock entry type"));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void addStockEntries_ShouldAdmitEntriesInOrderAndReportRejections() {
+        // Given
+        List<StockEntry> batch = List.of(
+                StockEntry.builder().product(product).quantity(15).type("SALE").build(),
+                StockEntry.builder().product(product).quantity(10).type("SALE").build(),
+                StockEntry.builder().product(product).quantity(5).type("purchase").build(),
+                StockEntry.builder().product(product).quantity(5).type("RETURN").build(),
+                StockEntry.builder().product(Product.builder().id(999L).build()).quantity(1).type("SALE").build()
+        );
+
+        when(productRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(product));
+
+        // When
+        BatchStockEntryResult result = stockEntryService.addStockEntries(batch);
+
+        // Then
+        assertEquals(2, result.getAccepted());
+        assertEquals(3, result.getRejected());
+        assertEquals(BatchStockEntryResult.ACCEPTED, result.getItems().get(0).getStatus());
+        assertEquals(BatchStockEntryResult.REJECTED, result.getItems().get(1).getStatus());
+        assertTrue(result.getItems().get(1).getMessage().contains("Available: 5, Requested: 10"));
+        assertEquals(BatchStockEntryResult.ACCEPTED, result.getItems().get(2).getStatus());
+        assertEquals("PURCHASE", batch.get(2).getType());
+        assertTrue(result.getItems().get(3).getMessage().contains("Invalid stock entry type"));
+        assertTrue(result.getItems().get(4).getMessage().contains("Product not found"));
+        assertEquals(10, product.getQuantity()); // 20 - 15 + 5
+        verify(stockEntryRepository).saveAll(argThat(entries -> entries.spliterator().getExactSizeIfKnown() == 2));
+        verify(productRepository, never()).decrementQuantity(anyLong(), anyInt());
     }
 
     @Test
@@ -183,6 +228,158 @@ class StockEntryServiceImplTest {
         });
     }
 
+    @Test
+    void updateStockEntry_ShouldReverseOldEntryAndApplyNewOne() {
+        // Given
+        Product otherProduct = Product.builder()
+                .id(2L)
+                .name("Other Product")
+                .quantity(10)
+                .price(20.0)
+                .build();
+
+        StockEntry update = StockEntry.builder()
+                .product(otherProduct)
+                .quantity(4)
+                .type("SALE")
+                .date(LocalDateTime.now())
+                .build();
+
+        when(stockEntryRepository.findById(1L)).thenReturn(Optional.of(stockEntry));
+        when(productRepository.decrementQuantity(1L, 5)).thenReturn(1);
+        when(productRepository.decrementQuantity(2L, 4)).thenReturn(1);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findById(2L)).thenReturn(Optional.of(otherProduct));
+        when(stockEntryRepository.save(any(StockEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        StockEntry result = stockEntryService.updateStockEntry(1L, update);
+
+        // Then
+        assertEquals(otherProduct, result.getProduct());
+        assertEquals(4, result.getQuantity());
+        assertEquals("SALE", result.getType());
+        verify(productRepository).decrementQuantity(1L, 5); // undo the old purchase
+        verify(productRepository).decrementQuantity(2L, 4); // apply the new sale
+        verify(eventPublisher).publishEvent(new StockLevelChangedEvent(List.of(
+                new StockLevelChangedEvent.Change(1L, 25, 20),
+                new StockLevelChangedEvent.Change(2L, 14, 10))));
+    }
+
+    @Test
+    void updateStockEntry_ShouldLockProductsInIdOrder_WhenMovingToLowerId() {
+        // Given: a sale of product 2 moved to product 1
+        Product otherProduct = Product.builder().id(2L).name("Other Product").quantity(10).price(20.0).build();
+        StockEntry existing = StockEntry.builder()
+                .id(2L).product(otherProduct).quantity(4).type("SALE").date(LocalDateTime.now()).build();
+        StockEntry update = StockEntry.builder()
+                .product(product).quantity(3).type("SALE").date(LocalDateTime.now()).build();
+
+        when(stockEntryRepository.findById(2L)).thenReturn(Optional.of(existing));
+        when(productRepository.decrementQuantity(1L, 3)).thenReturn(1);
+        when(productRepository.incrementQuantity(2L, 4)).thenReturn(1);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findById(2L)).thenReturn(Optional.of(otherProduct));
+        when(stockEntryRepository.save(any(StockEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        stockEntryService.updateStockEntry(2L, update);
+
+        // Then: product 1 is updated (and locked) before product 2
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).decrementQuantity(1L, 3);
+        inOrder.verify(productRepository).incrementQuantity(2L, 4);
+    }
+
+    @Test
+    void updateStockEntry_ShouldNotTouchSecondProduct_WhenFirstInIdOrderLacksStock() {
+        // Given: the new sale on product 1 exceeds its stock
+        Product otherProduct = Product.builder().id(2L).name("Other Product").quantity(10).price(20.0).build();
+        StockEntry existing = StockEntry.builder()
+                .id(2L).product(otherProduct).quantity(4).type("SALE").date(LocalDateTime.now()).build();
+        StockEntry update = StockEntry.builder()
+                .product(product).quantity(30).type("SALE").date(LocalDateTime.now()).build();
+
+        when(stockEntryRepository.findById(2L)).thenReturn(Optional.of(existing));
+        when(productRepository.decrementQuantity(1L, 30)).thenReturn(0);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> stockEntryService.updateStockEntry(2L, update));
+        verify(productRepository, never()).incrementQuantity(anyLong(), anyInt());
+        verify(stockEntryRepository, never()).save(any(StockEntry.class));
+    }
+
+    @Test
+    void updateStockEntry_ShouldThrowException_WhenNewSaleExceedsStock() {
+        // Given
+        StockEntry update = StockEntry.builder()
+                .product(product)
+                .quantity(50)
+                .type("SALE")
+                .build();
+
+        when(stockEntryRepository.findById(1L)).thenReturn(Optional.of(stockEntry));
+        when(productRepository.decrementQuantity(1L, 55)).thenReturn(0); // undo purchase of 5, sell 50
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> {
+            stockEntryService.updateStockEntry(1L, update);
+        });
+        verify(stockEntryRepository, never()).save(any(StockEntry.class));
+    }
+
+    @Test
+    void updateStockEntry_ShouldApplyNetChange_WhenPurchaseHasBeenPartlySold() {
+        // Given: the purchase of 5 has been partly sold, so undoing it outright would fail
+        product.setQuantity(2);
+        StockEntry update = StockEntry.builder()
+                .product(product)
+                .quantity(15)
+                .type("PURCHASE")
+                .date(LocalDateTime.now())
+                .build();
+
+        when(stockEntryRepository.findById(1L)).thenReturn(Optional.of(stockEntry));
+        when(productRepository.incrementQuantity(1L, 10)).thenReturn(1);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(stockEntryRepository.save(any(StockEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        StockEntry result = stockEntryService.updateStockEntry(1L, update);
+
+        // Then
+        assertEquals(15, result.getQuantity());
+        verify(productRepository).incrementQuantity(1L, 10);
+        verify(productRepository, never()).decrementQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    void updateStockEntry_ShouldNotTouchStock_WhenOnlyDateChanges() {
+        // Given
+        product.setQuantity(2);
+        LocalDateTime newDate = stockEntry.getDate().minusDays(3);
+        StockEntry update = StockEntry.builder()
+                .product(product)
+                .quantity(5)
+                .type("PURCHASE")
+                .date(newDate)
+                .build();
+
+        when(stockEntryRepository.findById(1L)).thenReturn(Optional.of(stockEntry));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(stockEntryRepository.save(any(StockEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        StockEntry result = stockEntryService.updateStockEntry(1L, update);
+
+        // Then
+        assertEquals(newDate, result.getDate());
+        verify(productRepository, never()).incrementQuantity(anyLong(), anyInt());
+        verify(productRepository, never()).decrementQuantity(anyLong(), anyInt());
+    }
+
     @Test
     void deleteStockEntry_Sale_ShouldRestoreProductQuantity() {
         // Given
@@ -193,15 +390,38 @@ class StockEntryServiceImplTest {
                 .type("SALE")
                 .build();
 
+        Product afterRestore = Product.builder()
+                .id(1L)
+                .name("Test Product")
+                .quantity(31) // another write landed since the entry was loaded
+                .price(100.0)
+                .build();
+
         when(stockEntryRepository.findById(1L)).thenReturn(Optional.of(saleEntry));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.incrementQuantity(1L, 5)).thenReturn(1);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(afterRestore));
 
         // When
         stockEntryService.deleteStockEntry(1L);
 
         // Then
-        assertEquals(25, product.getQuantity()); // 20 + 5 (restored)
-        verify(productRepository).save(product);
+        verify(productRepository).incrementQuantity(1L, 5); // 5 units restored
         verify(stockEntryRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new StockLevelChangedEvent(List.of(
+                new StockLevelChangedEvent.Change(1L, 26, 31))));
+    }
+
+    @Test
+    void deleteStockEntry_Purchase_ShouldThrowException_WhenStockAlreadySold() {
+        // Given
+        when(stockEntryRepository.findById(1L)).thenReturn(Optional.of(stockEntry));
+        when(productRepository.decrementQuantity(1L, 5)).thenReturn(0);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> {
+            stockEntryService.deleteStockEntry(1L);
+        });
+        verify(stockEntryRepository, never()).deleteById(anyLong());
     }
 }
@@ -0,0 +1,136 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.DTO.StockImportResult;
+import com.example.Inventory.Management.Entity.ImportCheckpoint;
+import com.example.Inventory.Management.Entity.Product;
+import com.example.Inventory.Management.Repository.ImportCheckpointRepository;
+import com.example.Inventory.Management.Repository.ProductRepository;
+import com.example.Inventory.Management.Repository.StockEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "inventory.import.chunk-size=5")
+class StockImportServiceTest {
+
+    @Autowired
+    private StockImportService stockImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockEntryRepository stockEntryRepository;
+
+    @Autowired
+    private ImportCheckpointRepository checkpointRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(Product.builder()
+                .name("Imported Widget " + System.nanoTime())
+                .price(5.0)
+                .quantity(40)
+                .build());
+    }
+
+    @Test
+    void importStockHistory_Ndjson_ShouldImportValidLinesAndReportRejected() {
+        // Given
+        String body = ndjsonLines(12)
+                + "{\"product\":\"No Such Product\",\"type\":\"SALE\",\"quantity\":1,\"date\":\"2024-01-01\"}\n"
+                + "not json\n";
+
+        // When
+        StockImportResult result = stockImportService.importStockHistory(null, "ndjson", stream(body));
+
+        // Then
+        assertEquals(ImportCheckpoint.COMPLETED, result.getStatus());
+        assertEquals(12, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(12, stockEntryRepository.findByProduct_Id(product.getId()).size());
+        // History import leaves the current quantity alone
+        assertEquals(40, productRepository.findById(product.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void importStockHistory_Csv_ShouldResolveProductsByNameOrId() {
+        // Given
+        String body = "date,product,productId,type,quantity\n"
+                + "2024-02-01,\"" + product.getName() + "\",,SALE,3\n"
+                + "2024-02-02T09:30:00,," + product.getId() + ",purchase,10\n";
+
+        // When
+        StockImportResult result = stockImportService.importStockHistory(null, "csv", stream(body));
+
+        // Then
+        assertEquals(2, result.getImported());
+        assertEquals(0, result.getRejected());
+    }
+
+    @Test
+    void importStockHistory_ShouldResumeFromLastCommittedChunk() {
+        // Given: the first attempt dies after 8 lines, i.e. after one committed chunk of 5
+        String body = ndjsonLines(12);
+        String importId = "resume-" + System.nanoTime();
+
+        RuntimeException failure = assertThrows(RuntimeException.class, () ->
+                stockImportService.importStockHistory(importId, "ndjson", failingAfter(body, 8)));
+        assertTrue(failure.getMessage().contains(importId));
+        ImportCheckpoint checkpoint = checkpointRepository.findById(importId).orElseThrow();
+        assertEquals(ImportCheckpoint.FAILED, checkpoint.getStatus());
+        assertEquals(5, checkpoint.getLinesProcessed());
+
+        // When
+        StockImportResult result = stockImportService.importStockHistory(importId, "ndjson", stream(body));
+
+        // Then: the committed lines are not imported twice
+        assertEquals(5, result.getResumedFromLine());
+        assertEquals(12, result.getImported());
+        assertEquals(12, stockEntryRepository.findByProduct_Id(product.getId()).size());
+    }
+
+    private String ndjsonLines(int count) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            body.append(String.format(
+                    "{\"productId\":%d,\"type\":\"SALE\",\"quantity\":%d,\"date\":\"2024-01-%02dT10:00:00\"}%n",
+                    product.getId(), i, i));
+        }
+        return body.toString();
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private InputStream failingAfter(String body, int lines) {
+        String[] all = body.split("\n");
+        StringBuilder head = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            head.append(all[i]).append('\n');
+        }
+        InputStream delegate = stream(head.toString());
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                int b = delegate.read();
+                if (b < 0) {
+                    throw new IOException("connection reset");
+                }
+                return b;
+            }
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.Inventory.Management.Service;
+
+import com.example.Inventory.Management.Config.MLConfig;
+import com.example.Inventory.Management.DTO.ProductDto;
+import com.example.Inventory.Management.Entity.ProductSalesStats;
+import com.example.Inventory.Management.Service.ML.InventoryPolicy;
+import com.example.Inventory.Management.Service.ML.LinearRegressionPredictionService;
+import com.example.Inventory.Management.Service.ML.TimeSeriesKernel;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesKernelTest {
+
+    @Test
+    void countingSortByDay_ShouldMatchStableSort() {
+        // Given: unsorted sales with repeated days
+        Random random = new Random(42);
+        int n = 5_000;
+        int[] days = new int[n];
+        Integer[] expected = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            days[i] = 19_000 + random.nextInt(400);
+            expected[i] = i;
+        }
+        Arrays.sort(expected, Comparator.comparingInt(i -> days[i]));
+
+        // When
+        int[] order = new int[n];
+        TimeSeriesKernel.countingSortByDay(days, n, order, TimeSeriesKernel.workspace());
+
+        // Then
+        assertArrayEquals(Arrays.stream(expected).mapToInt(Integer::intValue).toArray(), order);
+    }
+
+    @Test
+    void countingSortByDay_ShouldSortStablyAcrossExtremeDayRanges() {
+        // Given: a few client-supplied days spanning almost the whole int range
+        int[] days = {Integer.MAX_VALUE, 19_000, Integer.MIN_VALUE, 19_000, -5, Integer.MAX_VALUE};
+        int[] order = new int[days.length];
+
+        // When
+        TimeSeriesKernel.countingSortByDay(days, days.length, order, TimeSeriesKernel.workspace());
+
+        // Then: by day, ties in input order
+        assertArrayEquals(new int[]{2, 4, 1, 3, 0, 5}, order);
+    }
+
+    @Test
+    void fitFromSums_ShouldMatchTwoPassLeastSquares() {
+        // Given
+        double[] y = {5, 3, 7, 4, 6, 8, 2, 9, 5};
+        int n = y.length;
+        double sumX = 0, sumX2 = 0, sumY = 0, sumXY = 0, sumY2 = 0;
+        for (int i = 0; i < n; i++) {
+            double x = i + 1;
+            sumX += x;
+            sumX2 += x * x;
+            sumY += y[i];
+            sumXY += x * y[i];
+            sumY2 += y[i] * y[i];
+        }
+
+        // When
+        TimeSeriesKernel.LineFit fit = TimeSeriesKernel.fitFromSums(n, sumX, sumX2, sumY, sumXY, sumY2,
+                new TimeSeriesKernel.LineFit());
+
+        // Then: compare with the textbook two-pass computation
+        double meanX = (n + 1) / 2.0, meanY = 0;
+        for (double v : y) meanY += v / n;
+        double sxy = 0, sxx = 0;
+        for (int i = 0; i < n; i++) {
+            sxy += (i + 1 - meanX) * (y[i] - meanY);
+            sxx += (i + 1 - meanX) * (i + 1 - meanX);
+        }
+        double slope = sxy / sxx, intercept = meanY - slope * meanX;
+        double rss = 0, tss = 0;
+        for (int i = 0; i < n; i++) {
+            double r = y[i] - (intercept + slope * (i + 1));
+            rss += r * r;
+            tss += (y[i] - meanY) * (y[i] - meanY);
+        }
+        assertEquals(intercept, fit.predict(0), 1e-9);
+        assertEquals(intercept + slope, fit.predict(1), 1e-9);
+        assertEquals(rss, fit.getResidualSumSquares(), 1e-9);
+        assertEquals(1 - rss / tss, fit.getRSquared(), 1e-9);
+        assertEquals(rss / n, fit.residualVariance(), 1e-9);
+    }
+
+    @Test
+    void forecasts_ShouldAllocateLittleBeyondTheirResult() {
+        // Given
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        LinearRegressionPredictionService service = new LinearRegressionPredictionService(null, null, new MLConfig(),
+                new InventoryPolicy(new MLConfig()));
+        ProductDto product = ProductDto.builder().id(1L).name("Kernel").price(10.0).quantity(40).build();
+        ProductSalesStats stats = ProductSalesStats.builder().productId(1L).build();
+        for (int day = 0; day < 365; day++) {
+            stats.setEntryCount(stats.getEntryCount() + 1);
+            stats.addSale(19_000 + day, 3 + day % 5);
+        }
+        // A batch of one year of ledger days, as SalesStatisticsService.recordEntries sorts them
+        int[] days = new int[365];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = 19_000 + (i * 7) % 365;
+        }
+        int[] order = new int[days.length];
+        TimeSeriesKernel.Workspace workspace = TimeSeriesKernel.workspace();
+        TimeSeriesKernel.LineFit fit = new TimeSeriesKernel.LineFit();
+        for (int i = 0; i < 20_000; i++) {
+            service.predictInventoryWithLinearRegression(product, stats, 30);
+            TimeSeriesKernel.fitFromSums(stats.getDayCount(), stats.sumX(), stats.sumX2(),
+                    stats.getSumY(), stats.getSumXY(), stats.getSumY2(), fit);
+            TimeSeriesKernel.countingSortByDay(days, days.length, order, workspace);
+        }
+
+        // When
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            TimeSeriesKernel.fitFromSums(stats.getDayCount(), stats.sumX(), stats.sumX2(),
+                    stats.getSumY(), stats.getSumXY(), stats.getSumY2(), fit);
+            TimeSeriesKernel.countingSortByDay(days, days.length, order, workspace);
+        }
+        long kernelBytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+        before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            service.predictInventoryWithLinearRegression(product, stats, 30);
+        }
+        long forecastBytes = (threads.getCurrentThreadAllocatedBytes() - before) / 10_000;
+
+        // Then: fitting and sorting allocate nothing; a forecast allocates about its result object. The
+        // bound leaves room for escape analysis failing under JIT profiles from other tests,
+        // and is still well below one copy of the 365-day history
+        assertTrue(kernelBytes < 64 * 1024, "kernel allocated " + kernelBytes + " bytes in total");
+        assertTrue(forecastBytes < 1024, "forecast allocated " + forecastBytes + " bytes per call");
+    }
+}